@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Installs the event store module and both services, builds target/benchmarks.jar and runs it,
+# writing JMH's JSON report to results/<timestamp>-<commit>.json so runs can be compared over
+# time. Extra arguments go straight to JMH, e.g. a benchmark regex or -p entries=1000.
+#
+#   ./run.sh                              # everything
+#   ./run.sh StreakCalculation -f 2       # one class, two forks
+set -euo pipefail
+
+cd "$(dirname "$0")"
+RESULTS="$PWD/results"
+mkdir -p "$RESULTS"
+
+for service in event-store goal-service user-service; do
+  mvn -B -q -f "../$service/pom.xml" install -DskipTests
+done
+mvn -B -q package
+
+report="$RESULTS/$(date -u +%Y%m%dT%H%M%SZ)-$(git rev-parse --short HEAD).json"
+java -cp target/benchmarks.jar com.achievesync.benchmarks.EventPayloadSizes
+java -jar target/benchmarks.jar -rf json -rff "$report" "$@"
+echo "Results written to $report"
@@ -0,0 +1,113 @@
+package com.achievesync.benchmarks;
+
+import com.achievesync.goalservice.aggregate.GoalAggregate;
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import com.achievesync.userservice.aggregate.UserAggregate;
+import com.achievesync.userservice.event.ConsistencyPointsAwardedEvent;
+import com.achievesync.userservice.event.UserCreatedEvent;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Loads an aggregate from a stream of the given length, the path every command on an uncached
+ * aggregate takes. Events come from an in-memory store, so this measures Axon's handler
+ * dispatch and the aggregates' event sourcing handlers without database or serializer cost.
+ * Snapshots every 100 events keep production streams at or below that length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregateRehydrationBenchmark {
+
+    private static final String GOAL_ID = "goal-1";
+    private static final String USER_ID = "user-1";
+
+    @Param({"1", "10", "100", "1000"})
+    private int events;
+
+    private EmbeddedEventStore eventStore;
+    private EventSourcingRepository<GoalAggregate> goalRepository;
+    private EventSourcingRepository<UserAggregate> userRepository;
+
+    @Setup
+    public void setUp() {
+        eventStore = EmbeddedEventStore.builder()
+            .storageEngine(new InMemoryEventStorageEngine())
+            .build();
+        goalRepository = EventSourcingRepository.builder(GoalAggregate.class).eventStore(eventStore).build();
+        userRepository = EventSourcingRepository.builder(UserAggregate.class).eventStore(eventStore).build();
+
+        Instant now = Instant.now();
+        List<DomainEventMessage<?>> stream = new ArrayList<>(events * 2);
+        stream.add(goalEvent(0, new GoalCreatedEvent(GOAL_ID, USER_ID, "Run every day",
+            LocalDate.now().plusMonths(3), now, "health", List.of("running", "daily"))));
+        stream.add(userEvent(0, new UserCreatedEvent(USER_ID, "Benchmark User", "bench@example.com", now,
+            "$2a$10$abcdefghijklmnopqrstuuJ0y8Qz1M5pSgRrYhVq2ZcNn4e7dKxWm")));
+        for (int i = 1; i < events; i++) {
+            stream.add(goalEvent(i, new GoalProgressUpdatedEvent(GOAL_ID, i % 100, "Day " + i, now)));
+            stream.add(userEvent(i, new ConsistencyPointsAwardedEvent(USER_ID, 10, i * 10, "streak", now)));
+        }
+        eventStore.publish(stream);
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventStore.shutDown();
+    }
+
+    @Benchmark
+    public Object loadGoal() {
+        return load(goalRepository, GOAL_ID, GoalAggregate::getProgressPercentage);
+    }
+
+    @Benchmark
+    public Object loadUser() {
+        return load(userRepository, USER_ID, UserAggregate::getTotalConsistencyPoints);
+    }
+
+    // Loading needs a unit of work; rolling it back leaves nothing behind between invocations
+    private static <A> Object load(EventSourcingRepository<A> repository, String id, Function<A, ?> read) {
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        try {
+            return repository.load(id).invoke(read);
+        } finally {
+            unitOfWork.rollback();
+        }
+    }
+
+    private static DomainEventMessage<?> goalEvent(long sequence, Object payload) {
+        return new GenericDomainEventMessage<>("GoalAggregate", GOAL_ID, sequence, payload);
+    }
+
+    private static DomainEventMessage<?> userEvent(long sequence, Object payload) {
+        return new GenericDomainEventMessage<>("UserAggregate", USER_ID, sequence, payload);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.achievesync.benchmarks;
+
+import org.axonframework.serialization.Serializer;
+
+import java.util.List;
+
+/**
+ * Prints the stored payload size of each event class as JSON and as protobuf, the figure the
+ * event table's growth follows. run.sh prints it ahead of the JMH run.
+ */
+public class EventPayloadSizes {
+
+    private static final List<String> EVENT_TYPES = List.of(
+        "GoalCreatedEvent", "GoalProgressUpdatedEvent", "GoalCompletedEvent",
+        "UserCreatedEvent", "UserProfileUpdatedEvent", "ConsistencyPointsAwardedEvent");
+
+    public static void main(String[] args) {
+        System.out.printf("%-32s %8s %9s %7s%n", "Payload bytes per event", "jackson", "protobuf", "ratio");
+        for (String eventType : EVENT_TYPES) {
+            int json = payloadBytes("jackson", eventType);
+            int binary = payloadBytes("protobuf", eventType);
+            System.out.printf("%-32s %8d %9d %7.2f%n", eventType, json, binary, (double) binary / json);
+        }
+    }
+
+    private static int payloadBytes(String format, String eventType) {
+        Serializer serializer = EventSerializationBenchmark.serializer(format, eventType);
+        Object event = EventSerializationBenchmark.sampleEvent(eventType);
+        return serializer.serialize(event, byte[].class).getData().length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.achievesync.benchmarks;
+
+import com.achievesync.goalservice.event.GoalCompletedEvent;
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a stored goal history, one GoalCreatedEvent, a run of progress updates and a
+ * GoalCompletedEvent, by deserializing every payload as a processor replay or aggregate load
+ * does. Reported per event, so the formats compare directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventReplayBenchmark {
+
+    private static final int HISTORY_SIZE = 1_000;
+
+    @Param({"jackson", "protobuf"})
+    private String format;
+
+    private Serializer serializer;
+    private List<SerializedObject<byte[]>> history;
+
+    @Setup
+    public void setUp() {
+        serializer = EventSerializationBenchmark.serializer(format, "GoalProgressUpdatedEvent");
+        String goalId = "3f1c9a52-7d1e-4b8a-9c3e-2a6f5d8b1e04";
+        Instant start = Instant.parse("2024-01-01T08:00:00Z");
+        history = new ArrayList<>(HISTORY_SIZE);
+        history.add(serializer.serialize(new GoalCreatedEvent(goalId, "user-1", "Run 5k three times a week",
+            LocalDate.of(2024, 12, 31), start, "health", List.of("running", "cardio")), byte[].class));
+        for (int i = 1; i < HISTORY_SIZE - 1; i++) {
+            history.add(serializer.serialize(new GoalProgressUpdatedEvent(goalId, i * 100.0 / HISTORY_SIZE,
+                "Felt good today", start.plusSeconds(i * 3_600L)), byte[].class));
+        }
+        history.add(serializer.serialize(new GoalCompletedEvent(goalId, "user-1",
+            start.plusSeconds(HISTORY_SIZE * 3_600L)), byte[].class));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HISTORY_SIZE)
+    public void replay(Blackhole blackhole) {
+        for (SerializedObject<byte[]> stored : history) {
+            blackhole.consume(serializer.deserialize(stored));
+        }
+    }
+}
\ No newline at end of file
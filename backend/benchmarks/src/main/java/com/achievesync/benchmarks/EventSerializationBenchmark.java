@@ -0,0 +1,107 @@
+package com.achievesync.benchmarks;
+
+import com.achievesync.goalservice.event.GoalCompletedEvent;
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import com.achievesync.userservice.event.ConsistencyPointsAwardedEvent;
+import com.achievesync.userservice.event.UserCreatedEvent;
+import com.achievesync.userservice.event.UserProfileUpdatedEvent;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.achievesync.goalservice.config.EventSerializerConfig.goalEventSerializer;
+import static com.achievesync.userservice.config.EventSerializerConfig.userEventSerializer;
+
+/**
+ * Serializes and deserializes each event class the way the event store does, as JSON through
+ * Axon's JacksonSerializer over an ObjectMapper built with Spring Boot's defaults, and as
+ * protobuf through each service's event serializer. Payload sizes are printed by
+ * EventPayloadSizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    @Param({
+        "GoalCreatedEvent", "GoalProgressUpdatedEvent", "GoalCompletedEvent",
+        "UserCreatedEvent", "UserProfileUpdatedEvent", "ConsistencyPointsAwardedEvent"
+    })
+    private String eventType;
+
+    @Param({"jackson", "protobuf"})
+    private String format;
+
+    private Serializer serializer;
+    private Object event;
+    private SerializedObject<byte[]> serialized;
+
+    @Setup
+    public void setUp() {
+        serializer = serializer(format, eventType);
+        event = sampleEvent(eventType);
+        serialized = serializer.serialize(event, byte[].class);
+    }
+
+    @Benchmark
+    public SerializedObject<byte[]> serialize() {
+        return serializer.serialize(event, byte[].class);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    static Serializer serializer(String format, String eventType) {
+        JacksonSerializer jackson = JacksonSerializer.builder()
+            .objectMapper(Jackson2ObjectMapperBuilder.json().build())
+            .build();
+        return switch (format) {
+            case "jackson" -> jackson;
+            case "protobuf" -> eventType.startsWith("Goal")
+                ? goalEventSerializer(jackson, true)
+                : userEventSerializer(jackson, true);
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    static Object sampleEvent(String type) {
+        Instant now = Instant.now();
+        return switch (type) {
+            case "GoalCreatedEvent" -> new GoalCreatedEvent("3f1c9a52-7d1e-4b8a-9c3e-2a6f5d8b1e04", "user-1",
+                "Run 5k three times a week", LocalDate.now().plusMonths(3), now, "health", List.of("running", "cardio"));
+            case "GoalProgressUpdatedEvent" -> new GoalProgressUpdatedEvent("3f1c9a52-7d1e-4b8a-9c3e-2a6f5d8b1e04",
+                42.5, "Felt good today", now);
+            case "GoalCompletedEvent" -> new GoalCompletedEvent("3f1c9a52-7d1e-4b8a-9c3e-2a6f5d8b1e04", "user-1", now);
+            case "UserCreatedEvent" -> new UserCreatedEvent("user-1", "Benchmark User", "bench@example.com", now,
+                "$2a$10$abcdefghijklmnopqrstuuJ0y8Qz1M5pSgRrYhVq2ZcNn4e7dKxWm");
+            case "UserProfileUpdatedEvent" -> new UserProfileUpdatedEvent("user-1", "Benchmark User",
+                "bench@example.com", now);
+            case "ConsistencyPointsAwardedEvent" -> new ConsistencyPointsAwardedEvent("user-1", 10, 250,
+                "7 day streak", now);
+            default -> throw new IllegalArgumentException("Unknown event type " + type);
+        };
+    }
+}
\ No newline at end of file
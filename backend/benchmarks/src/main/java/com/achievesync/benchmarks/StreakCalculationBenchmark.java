@@ -0,0 +1,88 @@
+package com.achievesync.benchmarks;
+
+import com.achievesync.goalservice.projection.GoalProgressProjection;
+import com.achievesync.goalservice.service.EpochDayStreakEngine;
+import com.achievesync.goalservice.service.StreakCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streak calculation over a goal's progress history, either newest first as the goal_progress
+ * index returns it or shuffled: through StreakCalculationService from projections, and
+ * through EpochDayStreakEngine from epoch days. The engine sorts in place, so each call first
+ * copies the days into a preallocated buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreakCalculationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int entries;
+
+    @Param({"newest-first", "shuffled"})
+    private String order;
+
+    private final StreakCalculationService service = new StreakCalculationService();
+    private List<GoalProgressProjection> history;
+    private int[] epochDays;
+    private int[] buffer;
+    private int today;
+
+    // Mostly one or two updates a day with the odd missed day, ending today
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        history = new ArrayList<>(entries);
+        Instant timestamp = Instant.now();
+        for (int i = 0; i < entries; i++) {
+            history.add(new GoalProgressProjection("goal-1", i % 100, null, timestamp));
+            int roll = random.nextInt(10);
+            Duration step = roll < 3 ? Duration.ofHours(3) : roll < 9 ? Duration.ofDays(1) : Duration.ofDays(2);
+            timestamp = timestamp.minus(step);
+        }
+        if (order.equals("shuffled")) {
+            Collections.shuffle(history, random);
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        epochDays = history.stream()
+            .mapToInt(progress -> EpochDayStreakEngine.epochDay(progress.getUpdateTimestamp(), zone))
+            .toArray();
+        buffer = new int[entries];
+        today = (int) LocalDate.now(zone).toEpochDay();
+    }
+
+    @Benchmark
+    public StreakCalculationService.StreakData calculateStreak() {
+        return service.calculateStreak(history);
+    }
+
+    @Benchmark
+    public StreakCalculationService.StreakData calculateFromEpochDays() {
+        System.arraycopy(epochDays, 0, buffer, 0, entries);
+        return EpochDayStreakEngine.calculate(buffer, entries, today);
+    }
+}
\ No newline at end of file
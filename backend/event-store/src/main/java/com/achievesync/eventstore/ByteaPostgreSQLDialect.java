@@ -0,0 +1,48 @@
+package com.achievesync.eventstore;
+
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.dialect.DatabaseVersion;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.jdbc.BinaryJdbcType;
+
+import java.sql.Types;
+
+/**
+ * PostgreSQL dialect that stores @Lob byte arrays, Axon's event payloads, metadata and tokens,
+ * inline as bytea instead of as large objects referenced by an oid. Reading an event then costs
+ * no large-object lookup, and deleting one leaves no orphaned large object behind.
+ */
+public class ByteaPostgreSQLDialect extends PostgreSQLDialect {
+
+    public ByteaPostgreSQLDialect() {
+        super();
+    }
+
+    public ByteaPostgreSQLDialect(DialectResolutionInfo info) {
+        super(info);
+    }
+
+    public ByteaPostgreSQLDialect(DatabaseVersion version) {
+        super(version);
+    }
+
+    @Override
+    protected String columnType(int sqlTypeCode) {
+        return sqlTypeCode == SqlTypes.BLOB ? "bytea" : super.columnType(sqlTypeCode);
+    }
+
+    @Override
+    protected String castType(int sqlTypeCode) {
+        return sqlTypeCode == SqlTypes.BLOB ? "bytea" : super.castType(sqlTypeCode);
+    }
+
+    @Override
+    public void contributeTypes(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+        super.contributeTypes(typeContributions, serviceRegistry);
+        typeContributions.getTypeConfiguration().getJdbcTypeRegistry()
+            .addDescriptor(Types.BLOB, BinaryJdbcType.INSTANCE);
+    }
+}
\ No newline at end of file
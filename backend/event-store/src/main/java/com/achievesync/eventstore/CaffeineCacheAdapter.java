@@ -0,0 +1,110 @@
+package com.achievesync.eventstore;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.axonframework.common.Registration;
+import org.axonframework.common.caching.AbstractCacheAdapter;
+import org.axonframework.common.caching.Cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Axon {@link Cache} backed by a Caffeine cache, so aggregate caching gets Caffeine's
+ * size- and time-based eviction and its hit/miss statistics.
+ */
+public class CaffeineCacheAdapter extends AbstractCacheAdapter<Cache.EntryListener> {
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
+    private final List<EntryListener> listeners = new CopyOnWriteArrayList<>();
+
+    public CaffeineCacheAdapter(Caffeine<Object, Object> builder) {
+        this.cache = builder
+            .evictionListener((Object key, Object value, RemovalCause cause) -> notify(listener -> listener.onEntryExpired(key)))
+            .build();
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> V get(K key) {
+        Object value = cache.getIfPresent(key);
+        if (value != null) {
+            notify(listener -> listener.onEntryRead(key, value));
+        }
+        return (V) value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object previous = cache.asMap().put(key, value);
+        notify(listener -> {
+            if (previous == null) {
+                listener.onEntryCreated(key, value);
+            } else {
+                listener.onEntryUpdated(key, value);
+            }
+        });
+    }
+
+    @Override
+    public boolean putIfAbsent(Object key, Object value) {
+        boolean added = cache.asMap().putIfAbsent(key, value) == null;
+        if (added) {
+            notify(listener -> listener.onEntryCreated(key, value));
+        }
+        return added;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Object key, Supplier<T> valueSupplier) {
+        return (T) cache.get(key, k -> valueSupplier.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> void computeIfPresent(Object key, UnaryOperator<V> update) {
+        cache.asMap().computeIfPresent(key, (k, value) -> update.apply((V) value));
+    }
+
+    @Override
+    public boolean remove(Object key) {
+        boolean removed = cache.asMap().remove(key) != null;
+        if (removed) {
+            notify(listener -> listener.onEntryRemoved(key));
+        }
+        return removed;
+    }
+
+    @Override
+    public void removeAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return cache.asMap().containsKey(key);
+    }
+
+    @Override
+    protected EntryListener createListenerAdapter(EntryListener cacheEntryListener) {
+        return cacheEntryListener;
+    }
+
+    @Override
+    protected Registration doRegisterListener(EntryListener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    private void notify(Consumer<EntryListener> event) {
+        listeners.forEach(event);
+    }
+}
\ No newline at end of file
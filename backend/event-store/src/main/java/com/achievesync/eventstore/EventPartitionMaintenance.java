@@ -0,0 +1,44 @@
+package com.achievesync.eventstore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps domain_event_entry partitioned ahead of the global index sequence (see
+ * V1__event_store.sql). An event whose global index falls past the last partition can't be
+ * stored, so this creates the partition in use and the next few whenever they are missing.
+ */
+@Component
+public class EventPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int ahead;
+    private final Counter created;
+
+    public EventPartitionMaintenance(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                     @Value("${achievesync.event-partitions.ahead:2}") int ahead) {
+        if (ahead < 1) {
+            throw new IllegalArgumentException("Event partitions ahead must be at least 1, got " + ahead);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.ahead = ahead;
+        this.created = meterRegistry.counter("achievesync.event-partitions.created");
+    }
+
+    // Each partition holds 10,000,000 global indexes, so an hourly check is far ahead of demand
+    @Scheduled(cron = "${achievesync.event-partitions.cron:0 15 * * * *}")
+    public void maintain() {
+        ensurePartitions();
+    }
+
+    public int ensurePartitions() {
+        Integer count = jdbcTemplate.queryForObject("select ensure_domain_event_partitions(?)", Integer.class, ahead);
+        int partitions = count != null ? count : 0;
+        created.increment(partitions);
+        return partitions;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.achievesync.eventstore;
+
+import org.axonframework.eventhandling.EventBusSpanFactory;
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.EventStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("!test")
+@Import(EventStoreNotificationListener.class)
+public class EventStoreConfig {
+
+    // Replaces the embedded event store Axon's auto-configuration would create with one that
+    // EventStoreNotificationListener wakes, so polling storage is only the fallback
+    @Bean
+    public NotifiedEventStore eventStore(EventStorageEngine storageEngine,
+                                         org.axonframework.config.Configuration configuration,
+                                         @Value("${achievesync.event-notifications.poll-interval:10s}") Duration pollInterval) {
+        return new NotifiedEventStore(EmbeddedEventStore.builder()
+            .storageEngine(storageEngine)
+            .messageMonitor(configuration.messageMonitor(EventStore.class, "eventStore"))
+            .spanFactory(configuration.getComponent(EventBusSpanFactory.class))
+            .fetchDelay(pollInterval.toMillis()));
+    }
+}
\ No newline at end of file
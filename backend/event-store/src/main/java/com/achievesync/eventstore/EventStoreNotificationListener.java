@@ -0,0 +1,135 @@
+package com.achievesync.eventstore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Listens on one connection for the notification Postgres sends when events are committed to
+ * domain_event_entry (see V3__event_notifications.sql) and wakes the event store, so tracking
+ * processors see events stored by any instance within milliseconds. While the connection is
+ * down the store falls back to polling; on reconnecting it is woken once for anything missed.
+ * The same connection delivers {@link ProjectionChanges} to their subscribers, which are told on
+ * reconnecting that changes may have been missed. The connection is opened outside the
+ * connection pool, as it is held for as long as the service runs. Set
+ * achievesync.event-notifications.enabled to false to rely on polling alone, with projection
+ * changes then delivered on the instance that made them only.
+ */
+@Component
+@ConditionalOnProperty(name = "achievesync.event-notifications.enabled", matchIfMissing = true)
+public class EventStoreNotificationListener {
+
+    static final String CHANNEL = "domain_event_appended";
+
+    // How long a wait for notifications lasts before checking whether the listener is stopping
+    private static final int WAIT_MILLIS = 1000;
+
+    private final DataSourceProperties dataSource;
+    private final NotifiedEventStore eventStore;
+    private final ProjectionChanges projectionChanges;
+    private final Duration reconnectDelay;
+    private final Counter received;
+    private final Counter failures;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public EventStoreNotificationListener(DataSourceProperties dataSource, NotifiedEventStore eventStore,
+                                          ProjectionChanges projectionChanges, MeterRegistry meterRegistry,
+                                          @Value("${achievesync.event-notifications.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.eventStore = eventStore;
+        this.projectionChanges = projectionChanges;
+        this.reconnectDelay = reconnectDelay;
+        this.received = meterRegistry.counter("achievesync.event-notifications.received");
+        this.failures = meterRegistry.counter("achievesync.event-notifications.failures");
+        this.thread = new Thread(this::listen, "event-store-listener");
+        this.thread.setDaemon(true);
+    }
+
+    // Once every bean is initialized, so a subscriber's startup state never races its changes
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(WAIT_MILLIS * 2L);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword())) {
+                connection.setAutoCommit(true);
+                Set<String> listening = new HashSet<>();
+                listenTo(connection, Set.of(CHANNEL), listening);
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                eventStore.eventsAppended();
+                while (running) {
+                    listenTo(connection, projectionChanges.channels(), listening);
+                    PGNotification[] batch = notifications.getNotifications(WAIT_MILLIS);
+                    if (batch != null && batch.length > 0) {
+                        received.increment(batch.length);
+                        dispatch(batch);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                failures.increment();
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Channels subscribed to after connecting are picked up on the next wait; whatever changed
+    // before listening began counts as missed
+    private void listenTo(Connection connection, Set<String> channels, Set<String> listening) throws SQLException {
+        for (String channel : channels) {
+            if (listening.add(channel)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + channel);
+                }
+                projectionChanges.missed(channel);
+            }
+        }
+    }
+
+    private void dispatch(PGNotification[] batch) {
+        boolean eventsAppended = false;
+        for (PGNotification notification : batch) {
+            if (CHANNEL.equals(notification.getName())) {
+                eventsAppended = true;
+            } else {
+                projectionChanges.deliver(notification.getName(), notification.getParameter());
+            }
+        }
+        if (eventsAppended) {
+            eventStore.eventsAppended();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.achievesync.eventstore;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.axonframework.common.DateTimeUtils;
+
+import java.time.Instant;
+
+/**
+ * Stores the ISO-8601 string Axon keeps in an event entry's timeStamp as a native timestamp
+ * column. Applied to Axon's DomainEventEntry and SnapshotEventEntry in META-INF/orm.xml, so
+ * queries on timeStamp, such as creating a tracking token at a point in time, compare instants
+ * instead of strings.
+ */
+@Converter
+public class EventTimestampConverter implements AttributeConverter<String, Instant> {
+
+    @Override
+    public Instant convertToDatabaseColumn(String timeStamp) {
+        return timeStamp != null ? DateTimeUtils.parseInstant(timeStamp) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Instant timeStamp) {
+        return timeStamp != null ? DateTimeUtils.formatInstant(timeStamp) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.achievesync.eventstore;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventsourcing.SnapshotTrigger;
+import org.axonframework.eventsourcing.SnapshotTriggerDefinition;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Wraps a snapshot trigger definition and records how many events were replayed each time
+ * an aggregate is loaded from the event store, excluding the snapshot itself.
+ */
+public class MeteredSnapshotTriggerDefinition implements SnapshotTriggerDefinition {
+
+    public static final String METRIC_NAME = "axon.aggregate.load.events";
+
+    private final SnapshotTriggerDefinition delegate;
+    private final DistributionSummary eventsReplayed;
+
+    public MeteredSnapshotTriggerDefinition(SnapshotTriggerDefinition delegate, MeterRegistry meterRegistry,
+                                            Class<?> aggregateType) {
+        this.delegate = delegate;
+        this.eventsReplayed = DistributionSummary.builder(METRIC_NAME)
+            .description("Events replayed to rehydrate an aggregate on load")
+            .tag("aggregate", aggregateType.getSimpleName())
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public SnapshotTrigger prepareTrigger(@Nonnull Class<?> aggregateType) {
+        return new MeteredSnapshotTrigger(delegate.prepareTrigger(aggregateType), aggregateType, eventsReplayed);
+    }
+
+    @Override
+    public SnapshotTrigger reconfigure(@Nonnull Class<?> aggregateType, @Nonnull SnapshotTrigger trigger) {
+        if (trigger instanceof MeteredSnapshotTrigger metered) {
+            metered.delegate = delegate.reconfigure(aggregateType, metered.delegate);
+            return metered;
+        }
+        return new MeteredSnapshotTrigger(delegate.reconfigure(aggregateType, trigger), aggregateType, eventsReplayed);
+    }
+
+    private static class MeteredSnapshotTrigger implements SnapshotTrigger {
+
+        private SnapshotTrigger delegate;
+        private final Class<?> aggregateType;
+        private final DistributionSummary eventsReplayed;
+        private boolean initializing = true;
+        private long replayed;
+
+        MeteredSnapshotTrigger(SnapshotTrigger delegate, Class<?> aggregateType, DistributionSummary eventsReplayed) {
+            this.delegate = delegate;
+            this.aggregateType = aggregateType;
+            this.eventsReplayed = eventsReplayed;
+        }
+
+        @Override
+        public void eventHandled(@Nonnull EventMessage<?> msg) {
+            if (initializing && !aggregateType.equals(msg.getPayloadType())) {
+                replayed++;
+            }
+            delegate.eventHandled(msg);
+        }
+
+        @Override
+        public void initializationFinished() {
+            if (initializing) {
+                initializing = false;
+                eventsReplayed.record(replayed);
+            }
+            delegate.initializationFinished();
+        }
+    }
+}
\ No newline at end of file
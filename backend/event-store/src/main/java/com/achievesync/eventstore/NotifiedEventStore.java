@@ -0,0 +1,24 @@
+package com.achievesync.eventstore;
+
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+
+import java.util.Collections;
+
+/**
+ * Embedded event store its tracking processors can be woken on, when events are stored by
+ * another instance, as they are when this one commits events. Until woken they poll storage at
+ * the fetch delay.
+ */
+public class NotifiedEventStore extends EmbeddedEventStore {
+
+    public NotifiedEventStore(Builder builder) {
+        super(builder);
+    }
+
+    /**
+     * Makes the store read storage for new events now, if it is waiting for them.
+     */
+    public void eventsAppended() {
+        afterCommit(Collections.emptyList());
+    }
+}
\ No newline at end of file
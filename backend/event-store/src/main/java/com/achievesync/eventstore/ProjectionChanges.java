@@ -0,0 +1,86 @@
+package com.achievesync.eventstore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Tells every instance about changes a projection handler commits, so state kept in memory
+ * beside the projection tables, such as caches, follows them. Pooled processors spread a
+ * projection's segments over the instances, so the instance that writes a change is often not
+ * the one holding that state. With event notifications on, a change is sent with Postgres NOTIFY
+ * from within the handler's transaction and reaches every instance, this one included, through
+ * {@link EventStoreNotificationListener} once it is committed and readable. Otherwise it is
+ * delivered on this instance alone, after the handler's unit of work commits.
+ */
+public class ProjectionChanges {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean notify;
+    private final Counter failures;
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    public ProjectionChanges(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, boolean notify) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notify = notify;
+        this.failures = meterRegistry.counter("achievesync.projection-changes.failures");
+    }
+
+    /**
+     * Calls onChange with the payload of each change published on the channel, and onMissed
+     * whenever changes may have been missed, that is each time the listener starts listening on
+     * the channel. A channel is a Postgres identifier and should be subscribed to at startup.
+     */
+    public void subscribe(String channel, Consumer<String> onChange, Runnable onMissed) {
+        subscriptions.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>())
+            .add(new Subscription(onChange, onMissed));
+    }
+
+    // Payloads must stay under Postgres's 8000 byte limit; identical ones published in one
+    // transaction are delivered once
+    public void publish(String channel, String payload) {
+        if (notify) {
+            jdbcTemplate.queryForList("select pg_notify(?, ?)", channel, payload);
+        } else if (CurrentUnitOfWork.isStarted()) {
+            CurrentUnitOfWork.get().afterCommit(unitOfWork -> deliver(channel, payload));
+        } else {
+            deliver(channel, payload);
+        }
+    }
+
+    Set<String> channels() {
+        return subscriptions.keySet();
+    }
+
+    void deliver(String channel, String payload) {
+        for (Subscription subscription : subscriptions.getOrDefault(channel, List.of())) {
+            run(() -> subscription.onChange().accept(payload));
+        }
+    }
+
+    void missed(String channel) {
+        for (Subscription subscription : subscriptions.getOrDefault(channel, List.of())) {
+            run(subscription.onMissed());
+        }
+    }
+
+    // One failing subscriber neither stops the others nor the listener delivering to them
+    private void run(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            failures.increment();
+        }
+    }
+
+    private record Subscription(Consumer<String> onChange, Runnable onMissed) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.achievesync.eventstore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class ProjectionChangesConfig {
+
+    // Sent through Postgres whenever the listener is there to receive them
+    @Bean
+    public ProjectionChanges projectionChanges(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                               @Value("${achievesync.event-notifications.enabled:true}") boolean notify) {
+        return new ProjectionChanges(jdbcTemplate, meterRegistry, notify);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.achievesync.eventstore;
+
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.axonframework.config.ConfigurerModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Opt-in virtual-thread mode, active with spring.threads.virtual.enabled=true on a Java 21+
+ * runtime and ignored otherwise. Spring Boot moves Tomcat onto virtual threads; this class
+ * does the same for gRPC calls, in services with a gRPC server, and the event processor
+ * coordinators. Axon's command and query buses run handlers on the calling thread, so handlers
+ * follow whichever entry point called them.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Configuration
+    @ConditionalOnClass(GrpcServerConfigurer.class)
+    static class GrpcServerThreads {
+
+        @Bean
+        public GrpcServerConfigurer virtualThreadGrpcServerConfigurer() {
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("grpc-");
+            return serverBuilder -> serverBuilder.executor(executor);
+        }
+    }
+
+    // Only the coordinator can be swapped: the Spring Boot autoconfiguration always builds the
+    // worker pool of a property-configured pooled processor itself. Workers are bounded by the
+    // segment count anyway, so extra virtual workers would not add projection throughput.
+    @Bean
+    public ConfigurerModule virtualThreadCoordinators() {
+        VirtualThreadTaskExecutor threads = new VirtualThreadTaskExecutor("event-coordinator-");
+        return configurer -> configurer.eventProcessing(processing ->
+            processing.registerPooledStreamingEventProcessorConfiguration((config, builder) -> {
+                ScheduledExecutorService coordinator =
+                    Executors.newSingleThreadScheduledExecutor(threads.getVirtualThreadFactory());
+                config.onShutdown(coordinator::shutdown);
+                return builder.coordinatorExecutor(coordinator);
+            }));
+    }
+}
\ No newline at end of file
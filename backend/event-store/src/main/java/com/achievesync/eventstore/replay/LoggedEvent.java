@@ -0,0 +1,20 @@
+package com.achievesync.eventstore.replay;
+
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.GenericDomainEventEntry;
+
+import java.time.Instant;
+
+/**
+ * A domain_event_entry row as it is kept in the {@link ReplayLog}, with the payload and metadata
+ * still serialized.
+ */
+public record LoggedEvent(long globalIndex, String type, String aggregateIdentifier, long sequenceNumber,
+                          String eventIdentifier, Instant timestamp, String payloadType, String payloadRevision,
+                          byte[] payload, byte[] metaData) {
+
+    DomainEventData<byte[]> toEventData() {
+        return new GenericDomainEventEntry<>(type, aggregateIdentifier, sequenceNumber, eventIdentifier,
+            timestamp, payloadType, payloadRevision, payload, metaData);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,401 @@
+package com.achievesync.eventstore.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * A local, append-only copy of the event stream that processors replay from instead of paging
+ * through domain_event_entry (see {@link ReplayLogEventStorageEngine}). Records are
+ * length-prefixed and checksummed, in global index order, and are read through memory-mapped
+ * windows of the file, so a replay parses events straight out of the page cache without a read
+ * call per event. Appends are fsynced; a record torn by a crash is cut off when the log is opened.
+ */
+public class ReplayLog implements AutoCloseable {
+
+    static final String FILE_NAME = "events.log";
+
+    private static final int MAGIC = 0x41524C47;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    // Where every this many records starts is kept in memory, to find where a replay begins
+    private static final int INDEX_INTERVAL = 1024;
+    private static final long WINDOW_BYTES = 256L << 20;
+
+    private final Path file;
+    private FileChannel channel;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private ReplayLog(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the log in the given directory, which is created on the first append.
+     */
+    public static ReplayLog open(Path directory) {
+        ReplayLog log = new ReplayLog(directory.resolve(FILE_NAME));
+        if (Files.exists(log.file)) {
+            try {
+                log.recover();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open replay log " + log.file, e);
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Global index of the last logged event, or -1 if the log is empty.
+     */
+    long lastGlobalIndex() {
+        return snapshot.lastGlobalIndex;
+    }
+
+    /**
+     * Appends events, which must be in global index order. Events at or before the last logged
+     * one are skipped, so appending a batch again is harmless.
+     */
+    synchronized void append(List<LoggedEvent> events) {
+        long logged = snapshot.lastGlobalIndex;
+        List<LoggedEvent> pending = events.stream()
+            .filter(event -> event.globalIndex() > logged)
+            .toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            Snapshot current = snapshot;
+            if (channel == null) {
+                Files.createDirectories(file.getParent());
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+                writeFully(header, 0);
+                current = new Snapshot(FILE_HEADER_BYTES, -1, 0, new long[16], new long[16], 0);
+            }
+
+            long position = current.size;
+            long recordCount = current.recordCount;
+            long[] keys = current.keys;
+            long[] offsets = current.offsets;
+            int indexed = current.indexed;
+            CRC32 crc = new CRC32();
+            for (LoggedEvent event : pending) {
+                ByteBuffer body = encode(event);
+                crc.reset();
+                crc.update(body.duplicate());
+                ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES)
+                    .putInt(body.remaining()).putInt((int) crc.getValue()).flip();
+                if (recordCount % INDEX_INTERVAL == 0) {
+                    if (indexed == keys.length) {
+                        keys = Arrays.copyOf(keys, indexed * 2);
+                        offsets = Arrays.copyOf(offsets, indexed * 2);
+                    }
+                    keys[indexed] = event.globalIndex();
+                    offsets[indexed] = position;
+                    indexed++;
+                }
+                writeFully(header, position);
+                writeFully(body, position + RECORD_HEADER_BYTES);
+                position += RECORD_HEADER_BYTES + (long) body.limit();
+                recordCount++;
+            }
+            channel.force(false);
+            snapshot = new Snapshot(position, pending.get(pending.size() - 1).globalIndex(), recordCount,
+                keys, offsets, indexed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to replay log " + file, e);
+        }
+    }
+
+    /**
+     * Drops every logged event. The file is unlinked rather than truncated, so a replay still
+     * reading it keeps its mapping.
+     */
+    synchronized void discard() {
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            Files.deleteIfExists(file);
+            snapshot = Snapshot.EMPTY;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to discard replay log " + file, e);
+        }
+    }
+
+    /**
+     * Logged events with a global index above the given one, in global index order. The reader
+     * sees the log as it is now; events appended later are left to the database.
+     */
+    synchronized Reader readAfter(long globalIndex) {
+        Snapshot current = snapshot;
+        if (current.lastGlobalIndex <= globalIndex) {
+            return new Reader(null, 0, 0, globalIndex);
+        }
+        int slot = Arrays.binarySearch(current.keys, 0, current.indexed, globalIndex);
+        int start = slot >= 0 ? slot : -slot - 2;
+        long from = start >= 0 ? current.offsets[start] : FILE_HEADER_BYTES;
+        try {
+            return new Reader(FileChannel.open(file, StandardOpenOption.READ), from, current.size, globalIndex);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read replay log " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Finds the end of the last whole record, cuts off anything after it and rebuilds the index
+    private void recover() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        if (fileSize < FILE_HEADER_BYTES || channel.read(header, 0) < FILE_HEADER_BYTES
+            || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            channel.close();
+            channel = null;
+            Files.delete(file);
+            return;
+        }
+
+        long[] keys = new long[16];
+        long[] offsets = new long[16];
+        int indexed = 0;
+        long recordCount = 0;
+        long lastGlobalIndex = -1;
+        long position = FILE_HEADER_BYTES;
+        Window window = new Window(channel, fileSize);
+        while (position + RECORD_HEADER_BYTES <= fileSize) {
+            int at = window.map(position, RECORD_HEADER_BYTES);
+            int length = window.buffer.getInt(at);
+            int checksum = window.buffer.getInt(at + 4);
+            if (length <= 0 || position + RECORD_HEADER_BYTES + length > fileSize) {
+                break;
+            }
+            at = window.map(position, RECORD_HEADER_BYTES + length);
+            ByteBuffer body = window.buffer.slice(at + RECORD_HEADER_BYTES, length);
+            // Appends are fsynced in order, so only the last record written can be torn; checking
+            // every record here would read the whole log at startup
+            if (position + RECORD_HEADER_BYTES + length == fileSize && !matches(body, checksum)) {
+                break;
+            }
+            long globalIndex = body.getLong(0);
+            if (recordCount % INDEX_INTERVAL == 0) {
+                if (indexed == keys.length) {
+                    keys = Arrays.copyOf(keys, indexed * 2);
+                    offsets = Arrays.copyOf(offsets, indexed * 2);
+                }
+                keys[indexed] = globalIndex;
+                offsets[indexed] = position;
+                indexed++;
+            }
+            lastGlobalIndex = globalIndex;
+            recordCount++;
+            position += RECORD_HEADER_BYTES + length;
+        }
+        if (position < fileSize) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+        snapshot = new Snapshot(position, lastGlobalIndex, recordCount, keys, offsets, indexed);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    private static boolean matches(ByteBuffer body, int checksum) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue() == checksum;
+    }
+
+    private static ByteBuffer encode(LoggedEvent event) {
+        byte[] type = utf8(event.type());
+        byte[] aggregateIdentifier = utf8(event.aggregateIdentifier());
+        byte[] eventIdentifier = utf8(event.eventIdentifier());
+        byte[] payloadType = utf8(event.payloadType());
+        byte[] payloadRevision = utf8(event.payloadRevision());
+        int length = 8 + 8 + 8 + 4 + 4 * 7
+            + lengthOf(type) + lengthOf(aggregateIdentifier) + lengthOf(eventIdentifier) + lengthOf(payloadType)
+            + lengthOf(payloadRevision) + lengthOf(event.payload()) + lengthOf(event.metaData());
+        ByteBuffer body = ByteBuffer.allocate(length)
+            .putLong(event.globalIndex())
+            .putLong(event.sequenceNumber())
+            .putLong(event.timestamp().getEpochSecond())
+            .putInt(event.timestamp().getNano());
+        putBytes(body, type);
+        putBytes(body, aggregateIdentifier);
+        putBytes(body, eventIdentifier);
+        putBytes(body, payloadType);
+        putBytes(body, payloadRevision);
+        putBytes(body, event.payload());
+        putBytes(body, event.metaData());
+        return body.flip();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int lengthOf(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private record Snapshot(long size, long lastGlobalIndex, long recordCount, long[] keys, long[] offsets,
+                            int indexed) {
+
+        static final Snapshot EMPTY = new Snapshot(FILE_HEADER_BYTES, -1, 0, new long[16], new long[16], 0);
+    }
+
+    /**
+     * A read-only mapping of part of the log, moved along as records are read.
+     */
+    private static final class Window {
+        private final FileChannel channel;
+        private final long end;
+        private MappedByteBuffer buffer;
+        private long start;
+
+        private Window(FileChannel channel, long end) {
+            this.channel = channel;
+            this.end = end;
+        }
+
+        // Maps the window so it covers [position, position + length) and returns where that starts in it
+        int map(long position, int length) throws IOException {
+            if (buffer == null || position < start || position + length > start + buffer.capacity()) {
+                start = position;
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(end - position, Math.max(WINDOW_BYTES, length)));
+            }
+            return (int) (position - start);
+        }
+    }
+
+    /**
+     * Reads records straight from the mapped file. Closing it releases the file, not the events
+     * already read.
+     */
+    final class Reader implements Iterator<LoggedEvent>, AutoCloseable {
+
+        private final FileChannel readChannel;
+        private final Window window;
+        private final long end;
+        private final long after;
+        private long position;
+        private LoggedEvent next;
+
+        private Reader(FileChannel readChannel, long from, long end, long after) {
+            this.readChannel = readChannel;
+            this.window = readChannel != null ? new Window(readChannel, end) : null;
+            this.position = from;
+            this.end = end;
+            this.after = after;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && window != null && position < end) {
+                    int at = window.map(position, RECORD_HEADER_BYTES);
+                    int length = window.buffer.getInt(at);
+                    int checksum = window.buffer.getInt(at + 4);
+                    at = window.map(position, RECORD_HEADER_BYTES + length);
+                    ByteBuffer body = window.buffer.slice(at + RECORD_HEADER_BYTES, length);
+                    if (!matches(body, checksum)) {
+                        throw new IllegalStateException("Replay log " + file + " is corrupt at offset " + position);
+                    }
+                    position += RECORD_HEADER_BYTES + length;
+                    if (body.getLong(0) > after) {
+                        next = decode(body);
+                    }
+                }
+                return next != null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read replay log " + file, e);
+            }
+        }
+
+        @Override
+        public LoggedEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LoggedEvent event = next;
+            next = null;
+            return event;
+        }
+
+        @Override
+        public void close() {
+            if (readChannel != null) {
+                try {
+                    readChannel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private LoggedEvent decode(ByteBuffer body) {
+            long globalIndex = body.getLong();
+            long sequenceNumber = body.getLong();
+            Instant timestamp = Instant.ofEpochSecond(body.getLong(), body.getInt());
+            return new LoggedEvent(globalIndex, string(body), string(body), sequenceNumber, string(body), timestamp,
+                string(body), string(body), bytes(body), bytes(body));
+        }
+
+        private String string(ByteBuffer body) {
+            byte[] bytes = bytes(body);
+            return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+        }
+
+        private byte[] bytes(ByteBuffer body) {
+            int length = body.getInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            body.get(bytes);
+            return bytes;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.achievesync.eventstore.replay;
+
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.EventUtils;
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.TrackedDomainEventData;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.WrappedToken;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.upcasting.event.EventUpcaster;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Event storage engine that serves processors far behind the head of the event stream, such as
+ * one replaying to rebuild its projection, from the {@link ReplayLog} instead of the database.
+ * Opening such a stream first brings the log up to date, then reads the logged events and reads
+ * the database only for what was stored after them. Everything else goes to the database.
+ */
+public class ReplayLogEventStorageEngine implements EventStorageEngine {
+
+    private final EventStorageEngine delegate;
+    private final ReplayLog replayLog;
+    private final ReplayLogExporter exporter;
+    private final Serializer eventSerializer;
+    private final EventUpcaster upcasterChain;
+    private final long minLag;
+
+    public ReplayLogEventStorageEngine(EventStorageEngine delegate, ReplayLog replayLog, ReplayLogExporter exporter,
+                                       Serializer eventSerializer, EventUpcaster upcasterChain, long minLag) {
+        this.delegate = delegate;
+        this.replayLog = replayLog;
+        this.exporter = exporter;
+        this.eventSerializer = eventSerializer;
+        this.upcasterChain = upcasterChain;
+        this.minLag = minLag;
+    }
+
+    @Override
+    public void appendEvents(List<? extends EventMessage<?>> events) {
+        delegate.appendEvents(events);
+    }
+
+    @Override
+    public void storeSnapshot(DomainEventMessage<?> snapshot) {
+        delegate.storeSnapshot(snapshot);
+    }
+
+    @Override
+    public Optional<DomainEventMessage<?>> readSnapshot(String aggregateIdentifier) {
+        return delegate.readSnapshot(aggregateIdentifier);
+    }
+
+    @Override
+    public DomainEventStream readEvents(String aggregateIdentifier, long firstSequenceNumber) {
+        return delegate.readEvents(aggregateIdentifier, firstSequenceNumber);
+    }
+
+    @Override
+    public Stream<? extends TrackedEventMessage<?>> readEvents(TrackingToken trackingToken, boolean mayBlock) {
+        TrackingToken start = WrappedToken.unwrapLowerBound(trackingToken);
+        // Events in a token's gaps may be committed after the log was written, so only a
+        // gapless position can be continued from the log
+        if (start != null && !(start instanceof GapAwareTrackingToken gapAware && gapAware.getGaps().isEmpty())) {
+            return delegate.readEvents(trackingToken, mayBlock);
+        }
+        long after = start != null ? start.position().orElse(-1) : -1;
+        exporter.export(after, minLag, Instant.now());
+        if (replayLog.lastGlobalIndex() <= after) {
+            return delegate.readEvents(trackingToken, mayBlock);
+        }
+        ReplayIterator events = new ReplayIterator(replayLog.readAfter(after), start, mayBlock);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(events, Spliterator.ORDERED), false)
+            .onClose(events::close);
+    }
+
+    @Override
+    public Optional<Long> lastSequenceNumberFor(String aggregateIdentifier) {
+        return delegate.lastSequenceNumberFor(aggregateIdentifier);
+    }
+
+    @Override
+    public TrackingToken createTailToken() {
+        return delegate.createTailToken();
+    }
+
+    @Override
+    public TrackingToken createHeadToken() {
+        return delegate.createHeadToken();
+    }
+
+    @Override
+    public TrackingToken createTokenAt(Instant dateTime) {
+        return delegate.createTokenAt(dateTime);
+    }
+
+    /**
+     * Logged events, each with a token advanced to its global index, then the database stream
+     * from the last of them on.
+     */
+    private final class ReplayIterator implements Iterator<TrackedEventMessage<?>>, AutoCloseable {
+
+        private final ReplayLog.Reader logged;
+        private final boolean mayBlock;
+        private final Deque<TrackedEventMessage<?>> ready = new ArrayDeque<>();
+        private TrackingToken lastToken;
+        private Stream<? extends TrackedEventMessage<?>> tail;
+        private Iterator<? extends TrackedEventMessage<?>> tailEvents;
+
+        private ReplayIterator(ReplayLog.Reader logged, TrackingToken start, boolean mayBlock) {
+            this.logged = logged;
+            this.lastToken = start;
+            this.mayBlock = mayBlock;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (ready.isEmpty() && logged.hasNext()) {
+                LoggedEvent event = logged.next();
+                lastToken = lastToken instanceof GapAwareTrackingToken gapAware
+                    ? gapAware.advanceTo(event.globalIndex(), 0)
+                    : GapAwareTrackingToken.newInstance(event.globalIndex(), Collections.emptySortedSet());
+                EventUtils.upcastAndDeserializeTrackedEvents(
+                    Stream.of(new TrackedDomainEventData<>(lastToken, event.toEventData())),
+                    eventSerializer, upcasterChain).forEach(ready::add);
+            }
+            if (!ready.isEmpty()) {
+                return true;
+            }
+            if (tailEvents == null) {
+                logged.close();
+                tail = delegate.readEvents(lastToken, mayBlock);
+                tailEvents = tail.iterator();
+            }
+            return tailEvents.hasNext();
+        }
+
+        @Override
+        public TrackedEventMessage<?> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return !ready.isEmpty() ? ready.poll() : tailEvents.next();
+        }
+
+        @Override
+        public void close() {
+            logged.close();
+            if (tail != null) {
+                tail.close();
+            }
+        }
+    }
+}
\ No newline at end of file
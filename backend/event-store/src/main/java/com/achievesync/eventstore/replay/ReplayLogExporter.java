@@ -0,0 +1,122 @@
+package com.achievesync.eventstore.replay;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Copies events from domain_event_entry to the {@link ReplayLog}, in pages of batch-size rows
+ * read by global index. Only events older than the settle time are copied: global indexes are
+ * handed out before commit, so a newer event may still be committed below the latest one, and
+ * the log must not skip past it. Tracking processors make the same assumption with their gap
+ * timeout.
+ */
+@Component
+public class ReplayLogExporter {
+
+    private static final String SELECT_EVENTS = """
+        select global_index, type, aggregate_identifier, sequence_number, event_identifier, time_stamp,
+               payload_type, payload_revision, payload, meta_data
+        from domain_event_entry
+        where global_index > ? and global_index <= ?
+        order by global_index
+        limit ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReplayLog replayLog;
+    private final Duration settle;
+    private final int batchSize;
+    private final Timer duration;
+    private final Counter exported;
+
+    public ReplayLogExporter(JdbcTemplate jdbcTemplate, ReplayLog replayLog, MeterRegistry meterRegistry,
+                             @Value("${achievesync.replay-log.settle:1m}") Duration settle,
+                             @Value("${achievesync.replay-log.batch-size:10000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Replay log batch-size must be positive, got " + batchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.replayLog = replayLog;
+        this.settle = settle;
+        this.batchSize = batchSize;
+        this.duration = meterRegistry.timer("achievesync.replay-log.export.duration");
+        this.exported = meterRegistry.counter("achievesync.replay-log.exported");
+    }
+
+    /**
+     * Brings the log up to date with every settled event, if that adds at least {@code minEvents}
+     * events past {@code globalIndex}, and returns how many events were exported. A log that is
+     * ahead of the database, or disagrees with it, is thrown away and exported again.
+     */
+    public synchronized long export(long globalIndex, long minEvents, Instant now) {
+        long logged = replayLog.lastGlobalIndex();
+        if (logged >= 0 && !matchesDatabase(logged)) {
+            replayLog.discard();
+            logged = -1;
+        }
+        Long settled = jdbcTemplate.queryForObject(
+            "select max(global_index) from domain_event_entry where global_index > ? and time_stamp < ?",
+            Long.class, logged, OffsetDateTime.ofInstant(now.minus(settle), ZoneOffset.UTC));
+        if (settled == null || settled - Math.max(logged, globalIndex) < minEvents) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            long count = 0;
+            List<LoggedEvent> batch;
+            do {
+                batch = jdbcTemplate.query(SELECT_EVENTS, (rs, row) -> loggedEvent(rs),
+                    replayLog.lastGlobalIndex(), settled, batchSize);
+                replayLog.append(batch);
+                exported.increment(batch.size());
+                count += batch.size();
+            } while (batch.size() == batchSize);
+            return count;
+        } finally {
+            sample.stop(duration);
+        }
+    }
+
+    // The log's last event is still the one the database has at that global index. A row that is
+    // gone, archived since, is no disagreement
+    private boolean matchesDatabase(long logged) {
+        Long latest = jdbcTemplate.queryForObject("select max(global_index) from domain_event_entry", Long.class);
+        if (latest == null || latest < logged) {
+            return false;
+        }
+        List<String> eventIdentifier = jdbcTemplate.queryForList(
+            "select event_identifier from domain_event_entry where global_index = ?", String.class, logged);
+        if (eventIdentifier.isEmpty()) {
+            return true;
+        }
+        try (ReplayLog.Reader reader = replayLog.readAfter(logged - 1)) {
+            return reader.hasNext() && reader.next().eventIdentifier().equals(eventIdentifier.get(0));
+        }
+    }
+
+    private static LoggedEvent loggedEvent(ResultSet rs) throws SQLException {
+        return new LoggedEvent(
+            rs.getLong("global_index"),
+            rs.getString("type"),
+            rs.getString("aggregate_identifier"),
+            rs.getLong("sequence_number"),
+            rs.getString("event_identifier"),
+            rs.getObject("time_stamp", OffsetDateTime.class).toInstant(),
+            rs.getString("payload_type"),
+            rs.getString("payload_revision"),
+            rs.getBytes("payload"),
+            rs.getBytes("meta_data"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.achievesync.eventstore;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.axonframework.common.caching.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CaffeineCacheAdapterTest {
+
+    private CaffeineCacheAdapter cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineCacheAdapter(Caffeine.newBuilder().maximumSize(100).recordStats());
+    }
+
+    @Test
+    void testPutGetAndRemove() {
+        cache.put("aggregate123", "aggregate");
+
+        assertTrue(cache.containsKey("aggregate123"));
+        assertEquals("aggregate", cache.get("aggregate123"));
+        assertTrue(cache.remove("aggregate123"));
+        assertFalse(cache.remove("aggregate123"));
+        assertNull(cache.get("aggregate123"));
+    }
+
+    @Test
+    void testPutIfAbsentKeepsExistingEntry() {
+        assertTrue(cache.putIfAbsent("aggregate123", "first"));
+        assertFalse(cache.putIfAbsent("aggregate123", "second"));
+
+        assertEquals("first", cache.get("aggregate123"));
+    }
+
+    @Test
+    void testRecordsHitsAndMisses() {
+        cache.put("aggregate123", "aggregate");
+
+        cache.get("aggregate123");
+        cache.get("aggregate456");
+
+        assertEquals(1, cache.getNativeCache().stats().hitCount());
+        assertEquals(1, cache.getNativeCache().stats().missCount());
+    }
+
+    @Test
+    void testNotifiesRegisteredListeners() {
+        Cache.EntryListener listener = mock(Cache.EntryListener.class);
+        cache.registerCacheEntryListener(listener);
+
+        cache.put("aggregate123", "first");
+        cache.put("aggregate123", "second");
+        cache.get("aggregate123");
+        cache.remove("aggregate123");
+
+        verify(listener).onEntryCreated("aggregate123", "first");
+        verify(listener).onEntryUpdated("aggregate123", "second");
+        verify(listener).onEntryRead("aggregate123", "second");
+        verify(listener).onEntryRemoved("aggregate123");
+    }
+}
\ No newline at end of file
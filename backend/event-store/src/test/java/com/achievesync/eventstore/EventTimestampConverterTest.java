@@ -0,0 +1,36 @@
+package com.achievesync.eventstore;
+
+import org.axonframework.common.DateTimeUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventTimestampConverterTest {
+
+    private final EventTimestampConverter converter = new EventTimestampConverter();
+
+    @Test
+    void testStoresAxonTimestampAsInstant() {
+        Instant timestamp = Instant.parse("2024-03-10T08:15:30.123Z");
+
+        assertEquals(timestamp, converter.convertToDatabaseColumn(DateTimeUtils.formatInstant(timestamp)));
+    }
+
+    @Test
+    void testReadsInstantBackInAxonFormat() {
+        Instant timestamp = Instant.parse("2024-03-10T08:15:30.123Z");
+
+        String stored = converter.convertToEntityAttribute(timestamp);
+
+        assertEquals(DateTimeUtils.formatInstant(timestamp), stored);
+        assertEquals(timestamp, DateTimeUtils.parseInstant(stored));
+    }
+
+    @Test
+    void testNullStaysNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
\ No newline at end of file
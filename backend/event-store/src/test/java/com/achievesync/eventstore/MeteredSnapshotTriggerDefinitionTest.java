@@ -0,0 +1,91 @@
+package com.achievesync.eventstore;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventsourcing.SnapshotTrigger;
+import org.axonframework.eventsourcing.SnapshotTriggerDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredSnapshotTriggerDefinitionTest {
+
+    @Mock
+    private SnapshotTriggerDefinition delegateDefinition;
+
+    @Mock
+    private SnapshotTrigger delegateTrigger;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredSnapshotTriggerDefinition definition;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(delegateDefinition.prepareTrigger(TestAggregate.class)).thenReturn(delegateTrigger);
+        definition = new MeteredSnapshotTriggerDefinition(delegateDefinition, meterRegistry, TestAggregate.class);
+    }
+
+    @Test
+    void testRecordsEventsReplayedOnLoad() {
+        SnapshotTrigger trigger = definition.prepareTrigger(TestAggregate.class);
+
+        trigger.eventHandled(progressEvent(0));
+        trigger.eventHandled(progressEvent(1));
+        trigger.eventHandled(progressEvent(2));
+        trigger.initializationFinished();
+
+        DistributionSummary summary = eventsReplayed();
+        assertEquals(1, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+        verify(delegateTrigger, times(3)).eventHandled(any());
+        verify(delegateTrigger).initializationFinished();
+    }
+
+    @Test
+    void testSnapshotIsNotCountedAsReplayedEvent() {
+        SnapshotTrigger trigger = definition.prepareTrigger(TestAggregate.class);
+
+        trigger.eventHandled(new GenericDomainEventMessage<>("TestAggregate", "aggregate123", 99, new TestAggregate()));
+        trigger.eventHandled(progressEvent(100));
+        trigger.initializationFinished();
+
+        assertEquals(1.0, eventsReplayed().totalAmount());
+    }
+
+    @Test
+    void testEventsAppliedAfterLoadAreNotRecorded() {
+        SnapshotTrigger trigger = definition.prepareTrigger(TestAggregate.class);
+
+        trigger.eventHandled(progressEvent(0));
+        trigger.initializationFinished();
+        trigger.eventHandled(progressEvent(1));
+
+        DistributionSummary summary = eventsReplayed();
+        assertEquals(1, summary.count());
+        assertEquals(1.0, summary.totalAmount());
+        verify(delegateTrigger, times(2)).eventHandled(any());
+    }
+
+    private DistributionSummary eventsReplayed() {
+        return meterRegistry.get(MeteredSnapshotTriggerDefinition.METRIC_NAME)
+            .tag("aggregate", "TestAggregate")
+            .summary();
+    }
+
+    private static GenericDomainEventMessage<String> progressEvent(long sequenceNumber) {
+        return new GenericDomainEventMessage<>("TestAggregate", "aggregate123", sequenceNumber, "progress");
+    }
+
+    // Snapshots carry the aggregate itself as their payload
+    static class TestAggregate {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.achievesync.eventstore;
+
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventhandling.TrackingEventStream;
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotifiedEventStoreTest {
+
+    private InMemoryEventStorageEngine storageEngine;
+    private NotifiedEventStore eventStore;
+
+    @BeforeEach
+    void setUp() {
+        storageEngine = new InMemoryEventStorageEngine();
+        // Never polls within the test, so events stored behind its back only arrive when woken
+        eventStore = new NotifiedEventStore(EmbeddedEventStore.builder()
+            .storageEngine(storageEngine)
+            .fetchDelay(1)
+            .timeUnit(TimeUnit.HOURS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventStore.shutDown();
+    }
+
+    @Test
+    void testEventsStoredElsewhereArriveWhenWoken() throws Exception {
+        storageEngine.appendEvents(event(0));
+        try (TrackingEventStream stream = eventStore.openStream(null)) {
+            assertEquals(0, ((GenericDomainEventMessage<?>) stream.nextAvailable()).getSequenceNumber());
+            assertFalse(stream.hasNextAvailable(200, TimeUnit.MILLISECONDS));
+
+            storageEngine.appendEvents(event(1));
+            assertFalse(stream.hasNextAvailable(200, TimeUnit.MILLISECONDS));
+
+            eventStore.eventsAppended();
+            assertTrue(stream.hasNextAvailable(5, TimeUnit.SECONDS));
+            assertEquals("goal123", stream.nextAvailable().getPayload());
+        }
+    }
+
+    private static GenericDomainEventMessage<String> event(long sequenceNumber) {
+        return new GenericDomainEventMessage<>("GoalAggregate", "goal123", sequenceNumber, "goal123");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.achievesync.eventstore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionChangesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProjectionChanges changes;
+    private List<String> delivered;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        changes = new ProjectionChanges(null, meterRegistry, false);
+        delivered = new ArrayList<>();
+        changes.subscribe("goal_changed", delivered::add, () -> delivered.add("missed"));
+    }
+
+    @Test
+    void testChangesArriveOnceCommitted() {
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        changes.publish("goal_changed", "goal123");
+        assertTrue(delivered.isEmpty());
+
+        unitOfWork.commit();
+        assertEquals(List.of("goal123"), delivered);
+    }
+
+    @Test
+    void testRolledBackChangesAreNotDelivered() {
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        changes.publish("goal_changed", "goal123");
+        unitOfWork.rollback();
+
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void testFailingSubscriberDoesNotStopTheOthers() {
+        changes.subscribe("goal_changed", payload -> {
+            throw new IllegalStateException("subscriber failed");
+        }, () -> { });
+        List<String> later = new ArrayList<>();
+        changes.subscribe("goal_changed", later::add, () -> { });
+
+        changes.publish("goal_changed", "goal123");
+        changes.publish("user_changed", "user123");
+        changes.missed("goal_changed");
+
+        assertEquals(List.of("goal123", "missed"), delivered);
+        assertEquals(List.of("goal123"), later);
+        assertEquals(1.0, meterRegistry.get("achievesync.projection-changes.failures").counter().count());
+    }
+}
\ No newline at end of file
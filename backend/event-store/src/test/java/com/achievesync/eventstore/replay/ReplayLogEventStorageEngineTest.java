@@ -0,0 +1,129 @@
+package com.achievesync.eventstore.replay;
+
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventhandling.GenericTrackedDomainEventMessage;
+import org.axonframework.eventhandling.ReplayToken;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.axonframework.serialization.upcasting.event.NoOpEventUpcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplayLogEventStorageEngineTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-15T10:00:00Z");
+
+    @Mock
+    private EventStorageEngine delegate;
+
+    @Mock
+    private ReplayLogExporter exporter;
+
+    @TempDir
+    Path directory;
+
+    private final Serializer serializer = JacksonSerializer.defaultSerializer();
+    private ReplayLog replayLog;
+    private ReplayLogEventStorageEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        replayLog = ReplayLog.open(directory);
+        engine = new ReplayLogEventStorageEngine(delegate, replayLog, exporter, serializer,
+            NoOpEventUpcaster.INSTANCE, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replayLog.close();
+    }
+
+    @Test
+    void replayReadsTheLogThenTheDatabaseAfterIt() {
+        replayLog.append(List.of(
+            logged(1, "goal-1", 0, new Created("goal-1", "Run 5k")),
+            logged(2, "goal-1", 1, new Completed("goal-1"))));
+        doReturn(Stream.of(tracked(3, "goal-2", 0, new Created("goal-2", "Swim"))))
+            .when(delegate).readEvents(gapAware(2), false);
+
+        List<? extends TrackedEventMessage<?>> events;
+        try (Stream<? extends TrackedEventMessage<?>> stream = engine.readEvents(
+                ReplayToken.createReplayToken(gapAware(40)), false)) {
+            events = stream.toList();
+        }
+
+        verify(exporter).export(eq(-1L), eq(10L), any());
+        assertEquals(List.of(1L, 2L, 3L), events.stream()
+            .map(event -> event.trackingToken().position().getAsLong()).toList());
+        assertEquals("goal-1", ((Created) events.get(0).getPayload()).id());
+        assertInstanceOf(Completed.class, events.get(1).getPayload());
+        assertEquals("goal-2", ((Created) events.get(2).getPayload()).id());
+    }
+
+    @Test
+    void processorPastTheLogReadsTheDatabase() {
+        replayLog.append(List.of(logged(1, "goal-1", 0, new Completed("goal-1"))));
+        TrackingToken token = gapAware(5);
+        Stream<TrackedEventMessage<?>> hot = Stream.empty();
+        doReturn(hot).when(delegate).readEvents(token, true);
+
+        assertSame(hot, engine.readEvents(token, true));
+        verify(exporter).export(eq(5L), eq(10L), any());
+    }
+
+    @Test
+    void tokenWithGapsReadsTheDatabase() {
+        replayLog.append(List.of(logged(1, "goal-1", 0, new Completed("goal-1"))));
+        TrackingToken withGap = GapAwareTrackingToken.newInstance(4, new TreeSet<>(List.of(1L)));
+        Stream<TrackedEventMessage<?>> hot = Stream.empty();
+        doReturn(hot).when(delegate).readEvents(withGap, false);
+
+        assertSame(hot, engine.readEvents(withGap, false));
+        verifyNoInteractions(exporter);
+    }
+
+    private LoggedEvent logged(long globalIndex, String aggregateId, long sequenceNumber, Object payload) {
+        SerializedObject<byte[]> serialized = serializer.serialize(payload, byte[].class);
+        return new LoggedEvent(globalIndex, "GoalAggregate", aggregateId, sequenceNumber, "event-" + globalIndex, NOW,
+            serialized.getType().getName(), serialized.getType().getRevision(), serialized.getData(),
+            serializer.serialize(MetaData.emptyInstance(), byte[].class).getData());
+    }
+
+    private static TrackedEventMessage<?> tracked(long globalIndex, String aggregateId, long sequenceNumber, Object payload) {
+        return new GenericTrackedDomainEventMessage<>(gapAware(globalIndex),
+            new GenericDomainEventMessage<>("GoalAggregate", aggregateId, sequenceNumber, payload));
+    }
+
+    private static GapAwareTrackingToken gapAware(long index) {
+        return GapAwareTrackingToken.newInstance(index, Collections.emptySortedSet());
+    }
+
+    record Created(String id, String name) {
+    }
+
+    record Completed(String id) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.achievesync.eventstore.replay;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayLogExporterTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-15T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ReplayLog replayLog;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplayLogExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+            create table domain_event_entry (global_index bigint primary key, sequence_number bigint not null,
+                time_stamp timestamp(6) with time zone not null, meta_data varbinary(1024), payload varbinary(1024) not null,
+                aggregate_identifier varchar(255) not null, event_identifier varchar(255) not null,
+                payload_revision varchar(255), payload_type varchar(255) not null, type varchar(255))""");
+        replayLog = ReplayLog.open(directory);
+        meterRegistry = new SimpleMeterRegistry();
+        exporter = new ReplayLogExporter(jdbcTemplate, replayLog, meterRegistry, Duration.ofMinutes(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replayLog.close();
+        database.shutdown();
+    }
+
+    @Test
+    void settledEventsAreExportedInPages() {
+        for (long i = 1; i <= 5; i++) {
+            event(i, "event-" + i, NOW.minus(Duration.ofHours(1)));
+        }
+        // Still inside the settle time, so it is left to the database
+        event(6, "event-6", NOW.minusSeconds(10));
+
+        assertEquals(5, exporter.export(-1, 1, NOW));
+
+        assertEquals(5, replayLog.lastGlobalIndex());
+        List<LoggedEvent> logged = readAll();
+        assertEquals("event-1", logged.get(0).eventIdentifier());
+        assertEquals("payload-1", new String(logged.get(0).payload(), StandardCharsets.UTF_8));
+        assertEquals(NOW.minus(Duration.ofHours(1)), logged.get(0).timestamp());
+        assertEquals(5.0, meterRegistry.counter("achievesync.replay-log.exported").count());
+
+        // Once settled, only what is new is exported
+        assertEquals(1, exporter.export(-1, 1, NOW.plus(Duration.ofMinutes(5))));
+        assertEquals(6, replayLog.lastGlobalIndex());
+    }
+
+    @Test
+    void nothingIsExportedForAProcessorCloseToTheHead() {
+        for (long i = 1; i <= 5; i++) {
+            event(i, "event-" + i, NOW.minus(Duration.ofHours(1)));
+        }
+
+        assertEquals(0, exporter.export(2, 10, NOW));
+        assertEquals(-1, replayLog.lastGlobalIndex());
+    }
+
+    @Test
+    void logTheDatabaseDisagreesWithIsExportedAgain() {
+        for (long i = 1; i <= 3; i++) {
+            event(i, "event-" + i, NOW.minus(Duration.ofHours(1)));
+        }
+        exporter.export(-1, 1, NOW);
+
+        // The database was recreated since
+        jdbcTemplate.update("delete from domain_event_entry");
+        event(1, "other-1", NOW.minus(Duration.ofHours(1)));
+        event(2, "other-2", NOW.minus(Duration.ofHours(1)));
+        event(3, "other-3", NOW.minus(Duration.ofHours(1)));
+
+        assertEquals(3, exporter.export(-1, 1, NOW));
+        assertEquals(List.of("other-1", "other-2", "other-3"),
+            readAll().stream().map(LoggedEvent::eventIdentifier).toList());
+    }
+
+    private void event(long globalIndex, String eventIdentifier, Instant timestamp) {
+        jdbcTemplate.update("""
+            insert into domain_event_entry (global_index, sequence_number, time_stamp, payload,
+                aggregate_identifier, event_identifier, payload_type, type)
+            values (?, ?, ?, ?, ?, ?, ?, ?)""",
+            globalIndex, 0, OffsetDateTime.ofInstant(timestamp, ZoneOffset.UTC),
+            ("payload-" + globalIndex).getBytes(StandardCharsets.UTF_8), "goal-" + globalIndex, eventIdentifier,
+            "GoalEvent", "GoalAggregate");
+    }
+
+    private List<LoggedEvent> readAll() {
+        List<LoggedEvent> events = new ArrayList<>();
+        try (ReplayLog.Reader reader = replayLog.readAfter(-1)) {
+            reader.forEachRemaining(events::add);
+        }
+        return events;
+    }
+}
\ No newline at end of file
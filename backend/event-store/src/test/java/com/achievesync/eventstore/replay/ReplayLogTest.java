@@ -0,0 +1,129 @@
+package com.achievesync.eventstore.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayLogTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void eventsAreReadBackAfterAGlobalIndex() {
+        try (ReplayLog log = ReplayLog.open(directory)) {
+            log.append(List.of(event(1, "goal-a", 0), event(2, "goal-b", 0), event(4, "goal-a", 1)));
+
+            List<LoggedEvent> events = readAfter(log, 1);
+
+            assertEquals(List.of(2L, 4L), events.stream().map(LoggedEvent::globalIndex).toList());
+            LoggedEvent last = events.get(1);
+            assertEquals("goal-a", last.aggregateIdentifier());
+            assertEquals(1, last.sequenceNumber());
+            assertEquals("GoalAggregate", last.type());
+            assertEquals(START.plusSeconds(4), last.timestamp());
+            assertEquals("payload-4", new String(last.payload(), StandardCharsets.UTF_8));
+            assertNull(last.payloadRevision());
+            assertArrayEquals("{}".getBytes(StandardCharsets.UTF_8), last.metaData());
+            assertEquals(4, log.lastGlobalIndex());
+        }
+    }
+
+    @Test
+    void appendingEventsAlreadyLoggedIsHarmless() {
+        try (ReplayLog log = ReplayLog.open(directory)) {
+            log.append(List.of(event(1, "goal-a", 0), event(2, "goal-a", 1)));
+            log.append(List.of(event(2, "goal-a", 1), event(3, "goal-a", 2)));
+
+            assertEquals(List.of(1L, 2L, 3L), readAfter(log, -1).stream().map(LoggedEvent::globalIndex).toList());
+        }
+    }
+
+    @Test
+    void replayStartsPartWayThroughALargeLog() {
+        try (ReplayLog log = ReplayLog.open(directory)) {
+            log.append(LongStream.rangeClosed(1, 5000).mapToObj(i -> event(i * 2, "goal-" + i, 0)).toList());
+
+            List<LoggedEvent> events = readAfter(log, 7001);
+
+            assertEquals(1500, events.size());
+            assertEquals(7002, events.get(0).globalIndex());
+        }
+        try (ReplayLog reopened = ReplayLog.open(directory)) {
+            assertEquals(10000, reopened.lastGlobalIndex());
+            assertEquals(4002, readAfter(reopened, 4000).get(0).globalIndex());
+        }
+    }
+
+    @Test
+    void tornRecordIsCutOffWhenTheLogIsOpened() throws Exception {
+        try (ReplayLog log = ReplayLog.open(directory)) {
+            log.append(List.of(event(1, "goal-a", 0), event(2, "goal-a", 1)));
+        }
+        Path file = directory.resolve(ReplayLog.FILE_NAME);
+        long whole = Files.size(file);
+        // A crash part way through the next record, and one through the last record's body
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putInt(100).putInt(0).flip(), whole);
+        }
+
+        try (ReplayLog log = ReplayLog.open(directory)) {
+            assertEquals(2, log.lastGlobalIndex());
+            assertEquals(whole, Files.size(file));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), whole - 3);
+        }
+        try (ReplayLog log = ReplayLog.open(directory)) {
+            assertEquals(1, log.lastGlobalIndex());
+            log.append(List.of(event(2, "goal-a", 1), event(3, "goal-a", 2)));
+            assertEquals(List.of(1L, 2L, 3L), readAfter(log, -1).stream().map(LoggedEvent::globalIndex).toList());
+        }
+    }
+
+    @Test
+    void discardedLogStartsOverWhileOpenReadersFinish() {
+        try (ReplayLog log = ReplayLog.open(directory)) {
+            log.append(List.of(event(1, "goal-a", 0), event(2, "goal-a", 1)));
+            try (ReplayLog.Reader reader = log.readAfter(-1)) {
+                assertEquals(1, reader.next().globalIndex());
+
+                log.discard();
+                log.append(List.of(event(7, "goal-b", 0)));
+
+                assertEquals(2, reader.next().globalIndex());
+                assertFalse(reader.hasNext());
+            }
+            assertEquals(List.of(7L), readAfter(log, -1).stream().map(LoggedEvent::globalIndex).toList());
+        }
+    }
+
+    private static LoggedEvent event(long globalIndex, String aggregateIdentifier, long sequenceNumber) {
+        return new LoggedEvent(globalIndex, "GoalAggregate", aggregateIdentifier, sequenceNumber,
+            "event-" + globalIndex, START.plusSeconds(globalIndex), "GoalEvent", null,
+            ("payload-" + globalIndex).getBytes(StandardCharsets.UTF_8), "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<LoggedEvent> readAfter(ReplayLog log, long globalIndex) {
+        List<LoggedEvent> events = new ArrayList<>();
+        try (ReplayLog.Reader reader = log.readAfter(globalIndex)) {
+            reader.forEachRemaining(events::add);
+        }
+        return events;
+    }
+}
\ No newline at end of file
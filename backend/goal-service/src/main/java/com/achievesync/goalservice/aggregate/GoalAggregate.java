@@ -35,6 +35,9 @@ public class GoalAggregate {
         // Required by Axon
     }
 
+    // The owner's zone is recorded on the events so the streak projection buckets days the same
+    // way on every replay, whatever the user's zone is by then. It is resolved before dispatch
+    // (see GoalTimeZoneInterceptor), so handling a command never calls the user service
     @CommandHandler
     public GoalAggregate(CreateGoalCommand command) {
         AggregateLifecycle.apply(new GoalCreatedEvent(
@@ -44,7 +47,8 @@ public class GoalAggregate {
             command.getTargetDate(),
             Instant.now(),
             command.getCategory(),
-            command.getTags()
+            command.getTags(),
+            command.getTimeZone()
         ));
     }
 
@@ -58,7 +62,8 @@ public class GoalAggregate {
             command.getGoalId(),
             command.getProgressPercentage(),
             command.getNotes(),
-            Instant.now()
+            command.getRecordedAt() != null ? command.getRecordedAt() : Instant.now(),
+            command.getTimeZone()
         ));
     }
 
@@ -0,0 +1,201 @@
+package com.achievesync.goalservice.archive;
+
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.EventUtils;
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.TrackedDomainEventData;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.WrappedToken;
+import org.axonframework.eventsourcing.EventStreamUtils;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.upcasting.event.EventUpcaster;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Event storage engine that keeps recent events in the database and reads archived ones from the
+ * {@link EventArchive}. Writes and snapshots go to the database only. Loading an aggregate reads
+ * its archived events first and the rest from the database; a processor reading from before the
+ * newest archived event gets both merged by global index, so a replay sees the full history.
+ */
+public class ArchiveFallbackEventStorageEngine implements EventStorageEngine {
+
+    private final EventStorageEngine delegate;
+    private final EventArchive archive;
+    private final Serializer eventSerializer;
+    private final EventUpcaster upcasterChain;
+
+    public ArchiveFallbackEventStorageEngine(EventStorageEngine delegate, EventArchive archive,
+                                             Serializer eventSerializer, EventUpcaster upcasterChain) {
+        this.delegate = delegate;
+        this.archive = archive;
+        this.eventSerializer = eventSerializer;
+        this.upcasterChain = upcasterChain;
+    }
+
+    @Override
+    public void appendEvents(List<? extends EventMessage<?>> events) {
+        delegate.appendEvents(events);
+    }
+
+    @Override
+    public void storeSnapshot(DomainEventMessage<?> snapshot) {
+        delegate.storeSnapshot(snapshot);
+    }
+
+    @Override
+    public Optional<DomainEventMessage<?>> readSnapshot(String aggregateIdentifier) {
+        return delegate.readSnapshot(aggregateIdentifier);
+    }
+
+    @Override
+    public DomainEventStream readEvents(String aggregateIdentifier, long firstSequenceNumber) {
+        List<ArchivedEvent> archived = archive.readAggregate(aggregateIdentifier, firstSequenceNumber);
+        if (archived.isEmpty()) {
+            return delegate.readEvents(aggregateIdentifier, firstSequenceNumber);
+        }
+        long next = archived.get(archived.size() - 1).sequenceNumber() + 1;
+        return DomainEventStream.concat(
+            EventStreamUtils.upcastAndDeserializeDomainEvents(
+                archived.stream().map(ArchivedEvent::toEventData), eventSerializer, upcasterChain),
+            delegate.readEvents(aggregateIdentifier, next));
+    }
+
+    @Override
+    public Stream<? extends TrackedEventMessage<?>> readEvents(TrackingToken trackingToken, boolean mayBlock) {
+        TrackingToken start = WrappedToken.unwrapLowerBound(trackingToken);
+        long after = start != null ? start.position().orElse(-1) : -1;
+        OptionalLong lastArchived = archive.lastGlobalIndex();
+        if (lastArchived.isEmpty() || lastArchived.getAsLong() <= after) {
+            return delegate.readEvents(trackingToken, mayBlock);
+        }
+        Stream<? extends TrackedEventMessage<?>> hot = delegate.readEvents(trackingToken, mayBlock);
+        Iterator<TrackedEventMessage<?>> merged = new MergingIterator(hot.iterator(), archive.readAfter(after), start);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+            .onClose(hot::close);
+    }
+
+    @Override
+    public Optional<Long> lastSequenceNumberFor(String aggregateIdentifier) {
+        Optional<Long> hot = delegate.lastSequenceNumberFor(aggregateIdentifier);
+        if (hot.isPresent()) {
+            return hot;
+        }
+        OptionalLong archived = archive.lastSequenceNumberFor(aggregateIdentifier);
+        return archived.isPresent() ? Optional.of(archived.getAsLong()) : Optional.empty();
+    }
+
+    @Override
+    public TrackingToken createTailToken() {
+        return earliest(delegate.createTailToken(), archive.firstGlobalIndex());
+    }
+
+    @Override
+    public TrackingToken createHeadToken() {
+        TrackingToken hot = delegate.createHeadToken();
+        OptionalLong lastArchived = archive.lastGlobalIndex();
+        if (lastArchived.isPresent() && (hot == null || hot.position().orElse(-1) < lastArchived.getAsLong())) {
+            return GapAwareTrackingToken.newInstance(lastArchived.getAsLong(), Collections.emptySortedSet());
+        }
+        return hot;
+    }
+
+    @Override
+    public TrackingToken createTokenAt(Instant dateTime) {
+        return earliest(delegate.createTokenAt(dateTime), archive.firstGlobalIndexAtOrAfter(dateTime));
+    }
+
+    // A token positioned just before the archived event, if that comes before the database's token
+    private static TrackingToken earliest(TrackingToken hot, OptionalLong firstArchived) {
+        if (firstArchived.isEmpty() || (hot != null && hot.position().orElse(-1) < firstArchived.getAsLong())) {
+            return hot;
+        }
+        return GapAwareTrackingToken.newInstance(firstArchived.getAsLong() - 1, Collections.emptySortedSet());
+    }
+
+    /**
+     * Merges the database stream with archived events by global index. Database events keep the
+     * tokens the delegate gave them; archived events get a token advanced to their global index.
+     * An event still in both, because its rows were not yet deleted after archiving, is read from
+     * the database.
+     */
+    private final class MergingIterator implements Iterator<TrackedEventMessage<?>> {
+
+        private final Iterator<? extends TrackedEventMessage<?>> hot;
+        private final Iterator<ArchivedEvent> archived;
+        private final Deque<TrackedEventMessage<?>> ready = new ArrayDeque<>();
+        private TrackedEventMessage<?> nextHot;
+        private ArchivedEvent nextArchived;
+        private TrackingToken lastToken;
+
+        private MergingIterator(Iterator<? extends TrackedEventMessage<?>> hot, Iterator<ArchivedEvent> archived,
+                                TrackingToken start) {
+            this.hot = hot;
+            this.archived = archived;
+            this.lastToken = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (ready.isEmpty()) {
+                if (nextHot == null && hot.hasNext()) {
+                    nextHot = hot.next();
+                }
+                if (nextArchived == null && archived.hasNext()) {
+                    nextArchived = archived.next();
+                }
+                if (nextHot == null && nextArchived == null) {
+                    return false;
+                }
+                long hotIndex = nextHot != null ? nextHot.trackingToken().position().orElse(Long.MAX_VALUE) : Long.MAX_VALUE;
+                if (nextArchived != null && nextArchived.globalIndex() < hotIndex) {
+                    ArchivedEvent event = nextArchived;
+                    nextArchived = null;
+                    lastToken = tokenAt(lastToken, event.globalIndex());
+                    EventUtils.upcastAndDeserializeTrackedEvents(
+                        Stream.of(new TrackedDomainEventData<>(lastToken, event.toEventData())),
+                        eventSerializer, upcasterChain).forEach(ready::add);
+                } else {
+                    if (nextArchived != null && nextArchived.globalIndex() == hotIndex) {
+                        nextArchived = null;
+                    }
+                    ready.add(nextHot);
+                    lastToken = nextHot.trackingToken();
+                    nextHot = null;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public TrackedEventMessage<?> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return ready.poll();
+        }
+
+        private TrackingToken tokenAt(TrackingToken previous, long globalIndex) {
+            if (previous instanceof GapAwareTrackingToken gapAware && gapAware.getIndex() < globalIndex) {
+                return gapAware.advanceTo(globalIndex, 0);
+            }
+            return GapAwareTrackingToken.newInstance(globalIndex, Collections.emptySortedSet());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.achievesync.goalservice.archive;
+
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.GenericDomainEventEntry;
+
+import java.time.Instant;
+
+/**
+ * A domain_event_entry row as it is kept in an archive segment: the serialized payload and
+ * metadata exactly as stored, so the event serializer and upcasters read it back unchanged.
+ */
+public record ArchivedEvent(long globalIndex, String type, String aggregateIdentifier, long sequenceNumber,
+                            String eventIdentifier, Instant timestamp, String payloadType, String payloadRevision,
+                            byte[] payload, byte[] metaData) {
+
+    DomainEventData<byte[]> toEventData() {
+        return new GenericDomainEventEntry<>(type, aggregateIdentifier, sequenceNumber, eventIdentifier,
+            timestamp, payloadType, payloadRevision, payload, metaData);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.achievesync.goalservice.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cold storage for domain events moved out of domain_event_entry by {@link GoalEventArchiver}: a
+ * directory of immutable {@link EventSegment}s. An event may end up in more than one segment if
+ * archiving is interrupted between writing a segment and deleting its rows, so reads drop
+ * repeated events. Instances may share the directory: each names its segments with its own
+ * writer id, and reads pick up segments other instances have added since.
+ */
+public class EventArchive implements AutoCloseable {
+
+    private static final Pattern INDEX_FILE = Pattern.compile(
+        "(segment-(\\d+)(?:-[0-9a-f-]+)?)" + Pattern.quote(EventSegment.INDEX_SUFFIX));
+    // Directory modification times are only as fine as the file system's clock tick, so one
+    // this recent may hide a segment added after the scan
+    private static final Duration SETTLE = Duration.ofSeconds(1);
+
+    private final Path directory;
+    private final String writer = UUID.randomUUID().toString();
+    private final List<EventSegment> segments = new CopyOnWriteArrayList<>();
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+    private long lastNumber;
+    private volatile FileTime scanned;
+
+    private EventArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the archive in the given directory, which is created on the first append.
+     */
+    public static EventArchive open(Path directory) {
+        EventArchive archive = new EventArchive(directory);
+        archive.refresh();
+        return archive;
+    }
+
+    /**
+     * Writes events, which must be in global index order, as a new segment.
+     */
+    synchronized void append(List<ArchivedEvent> events, int eventsPerBlock) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create event archive " + directory, e);
+        }
+        refresh();
+        long number = lastNumber + 1;
+        add(EventSegment.write(directory, EventSegment.name(number, writer), events, eventsPerBlock), number);
+    }
+
+    // Opens the segments added to the directory since the last scan, which is repeated only once
+    // the directory has changed
+    private void refresh() {
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(directory);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event archive " + directory, e);
+        }
+        if (modified.equals(scanned)) {
+            return;
+        }
+        synchronized (this) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(file -> INDEX_FILE.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .filter(matcher -> !names.contains(matcher.group(1)))
+                    .sorted(Comparator.comparingLong(matcher -> Long.parseLong(matcher.group(2))))
+                    .forEach(matcher -> add(EventSegment.open(directory, matcher.group(1)), Long.parseLong(matcher.group(2))));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open event archive " + directory, e);
+            }
+            scanned = modified.toInstant().isBefore(Instant.now().minus(SETTLE)) ? modified : null;
+        }
+    }
+
+    private void add(EventSegment segment, long number) {
+        segments.add(segment);
+        names.add(segment.name());
+        lastNumber = Math.max(lastNumber, number);
+    }
+
+    OptionalLong firstGlobalIndex() {
+        refresh();
+        return segments.stream().mapToLong(EventSegment::firstGlobalIndex).min();
+    }
+
+    OptionalLong lastGlobalIndex() {
+        refresh();
+        return segments.stream().mapToLong(EventSegment::lastGlobalIndex).max();
+    }
+
+    OptionalLong firstGlobalIndexAtOrAfter(Instant dateTime) {
+        refresh();
+        return segments.stream()
+            .map(segment -> segment.firstGlobalIndexAtOrAfter(dateTime))
+            .filter(OptionalLong::isPresent)
+            .mapToLong(OptionalLong::getAsLong)
+            .min();
+    }
+
+    OptionalLong lastSequenceNumberFor(String aggregateIdentifier) {
+        refresh();
+        return segments.stream()
+            .map(segment -> segment.lastSequenceNumberFor(aggregateIdentifier))
+            .filter(OptionalLong::isPresent)
+            .mapToLong(OptionalLong::getAsLong)
+            .max();
+    }
+
+    /**
+     * Archived events of the aggregate from the given sequence number on, in sequence order.
+     */
+    List<ArchivedEvent> readAggregate(String aggregateIdentifier, long firstSequenceNumber) {
+        refresh();
+        List<ArchivedEvent> events = new ArrayList<>();
+        for (EventSegment segment : segments) {
+            events.addAll(segment.readAggregate(aggregateIdentifier, firstSequenceNumber));
+        }
+        events.sort(Comparator.comparingLong(ArchivedEvent::sequenceNumber));
+        List<ArchivedEvent> distinct = new ArrayList<>(events.size());
+        for (ArchivedEvent event : events) {
+            if (distinct.isEmpty() || distinct.get(distinct.size() - 1).sequenceNumber() != event.sequenceNumber()) {
+                distinct.add(event);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Archived events with a global index above the given one, in global index order. Segments
+     * overlap in global index, since each holds whole aggregates, so they are merged.
+     */
+    Iterator<ArchivedEvent> readAfter(long globalIndex) {
+        refresh();
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparingLong((Cursor cursor) -> cursor.head.globalIndex()));
+        for (EventSegment segment : segments) {
+            if (segment.lastGlobalIndex() > globalIndex) {
+                Iterator<ArchivedEvent> events = segment.readAfter(globalIndex);
+                if (events.hasNext()) {
+                    cursors.add(new Cursor(events.next(), events));
+                }
+            }
+        }
+        return new Iterator<>() {
+            private long lastGlobalIndex = globalIndex;
+
+            @Override
+            public boolean hasNext() {
+                while (!cursors.isEmpty() && cursors.peek().head.globalIndex() <= lastGlobalIndex) {
+                    advance(cursors.poll());
+                }
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public ArchivedEvent next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Cursor cursor = cursors.poll();
+                ArchivedEvent event = cursor.head;
+                lastGlobalIndex = event.globalIndex();
+                advance(cursor);
+                return event;
+            }
+
+            private void advance(Cursor cursor) {
+                if (cursor.rest.hasNext()) {
+                    cursor.head = cursor.rest.next();
+                    cursors.add(cursor);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        segments.forEach(EventSegment::close);
+    }
+
+    private static final class Cursor {
+        private ArchivedEvent head;
+        private final Iterator<ArchivedEvent> rest;
+
+        private Cursor(ArchivedEvent head, Iterator<ArchivedEvent> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,436 @@
+package com.achievesync.goalservice.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * One archive segment: a data file of deflate-compressed blocks holding events in global index
+ * order, and an index file with the block table and, per aggregate, its sequence number range
+ * and the blocks holding its events. A segment is written once and never modified. The index
+ * file is renamed into place last, so a data file without one is an unfinished write. Segment
+ * names include their writer's id, so a rename never lands on another writer's files.
+ */
+final class EventSegment implements AutoCloseable {
+
+    static final String DATA_SUFFIX = ".events";
+    static final String INDEX_SUFFIX = ".index";
+
+    private static final int MAGIC = 0x41534547;
+    private static final int VERSION = 1;
+    private static final int BLOCK_ENTRY_BYTES = 8 + 4 + 4 + 4 + 8 + 8 + 8 + 8;
+
+    private final String name;
+    private final FileChannel data;
+    private final List<Block> blocks;
+    private final MappedByteBuffer index;
+    private final int aggregateCount;
+    private final int aggregateOffsets;
+    private final int aggregateEntries;
+
+    private EventSegment(String name, FileChannel data, List<Block> blocks, MappedByteBuffer index,
+                         int aggregateCount, int aggregateOffsets, int aggregateEntries) {
+        this.name = name;
+        this.data = data;
+        this.blocks = blocks;
+        this.index = index;
+        this.aggregateCount = aggregateCount;
+        this.aggregateOffsets = aggregateOffsets;
+        this.aggregateEntries = aggregateEntries;
+    }
+
+    static String name(long number, String writer) {
+        return String.format("segment-%06d-%s", number, writer);
+    }
+
+    /**
+     * Writes events, which must be in global index order, as the segment {@code name} and opens it.
+     */
+    static EventSegment write(Path directory, String name, List<ArchivedEvent> events, int eventsPerBlock) {
+        Path dataFile = directory.resolve(name + DATA_SUFFIX);
+        Path indexFile = directory.resolve(name + INDEX_SUFFIX);
+        Path dataTemp = directory.resolve(name + DATA_SUFFIX + ".tmp");
+        Path indexTemp = directory.resolve(name + INDEX_SUFFIX + ".tmp");
+
+        List<Block> blocks = new ArrayList<>();
+        Map<String, AggregateRange> aggregates = new TreeMap<>();
+        try {
+            try (FileChannel channel = FileChannel.open(dataTemp, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                long offset = 0;
+                for (int from = 0; from < events.size(); from += eventsPerBlock) {
+                    List<ArchivedEvent> chunk = events.subList(from, Math.min(events.size(), from + eventsPerBlock));
+                    byte[] raw = encode(chunk);
+                    byte[] compressed = compress(raw);
+                    writeFully(channel, ByteBuffer.wrap(compressed));
+
+                    long minTimestamp = Long.MAX_VALUE;
+                    long maxTimestamp = Long.MIN_VALUE;
+                    for (ArchivedEvent event : chunk) {
+                        long millis = event.timestamp().toEpochMilli();
+                        minTimestamp = Math.min(minTimestamp, millis);
+                        maxTimestamp = Math.max(maxTimestamp, millis);
+                        aggregates.computeIfAbsent(event.aggregateIdentifier(), id -> new AggregateRange())
+                            .add(event.sequenceNumber(), blocks.size());
+                    }
+                    blocks.add(new Block(offset, compressed.length, raw.length, chunk.size(),
+                        chunk.get(0).globalIndex(), chunk.get(chunk.size() - 1).globalIndex(), minTimestamp, maxTimestamp));
+                    offset += compressed.length;
+                }
+                channel.force(true);
+            }
+
+            try (FileChannel channel = FileChannel.open(indexTemp, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                writeFully(channel, ByteBuffer.wrap(encodeIndex(blocks, aggregates)));
+                channel.force(true);
+            }
+
+            Files.move(dataTemp, dataFile, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(indexTemp, indexFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive segment " + dataFile, e);
+        }
+        return open(directory, name);
+    }
+
+    static EventSegment open(Path directory, String name) {
+        Path dataFile = directory.resolve(name + DATA_SUFFIX);
+        Path indexFile = directory.resolve(name + INDEX_SUFFIX);
+        try (FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+            if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+                throw new IllegalStateException("Not an archive segment index: " + indexFile);
+            }
+            int blockCount = index.getInt(8);
+            List<Block> blocks = new ArrayList<>(blockCount);
+            int position = 12;
+            for (int i = 0; i < blockCount; i++, position += BLOCK_ENTRY_BYTES) {
+                blocks.add(new Block(index.getLong(position), index.getInt(position + 8), index.getInt(position + 12),
+                    index.getInt(position + 16), index.getLong(position + 20), index.getLong(position + 28),
+                    index.getLong(position + 36), index.getLong(position + 44)));
+            }
+            int aggregateCount = index.getInt(position);
+            int aggregateOffsets = position + 4;
+            int aggregateEntries = aggregateOffsets + 4 * aggregateCount;
+            return new EventSegment(name, FileChannel.open(dataFile, StandardOpenOption.READ), List.copyOf(blocks),
+                index, aggregateCount, aggregateOffsets, aggregateEntries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open archive segment " + indexFile, e);
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    long firstGlobalIndex() {
+        return blocks.get(0).firstGlobalIndex();
+    }
+
+    long lastGlobalIndex() {
+        return blocks.get(blocks.size() - 1).lastGlobalIndex();
+    }
+
+    /**
+     * Global index of the first block holding an event at or after the given time. Events are
+     * only roughly in time order, so this may point somewhat earlier than the exact event.
+     */
+    OptionalLong firstGlobalIndexAtOrAfter(Instant dateTime) {
+        long millis = dateTime.toEpochMilli();
+        return blocks.stream()
+            .filter(block -> block.maxTimestamp() >= millis)
+            .mapToLong(Block::firstGlobalIndex)
+            .findFirst();
+    }
+
+    OptionalLong lastSequenceNumberFor(String aggregateIdentifier) {
+        int entry = findAggregate(aggregateIdentifier);
+        return entry < 0 ? OptionalLong.empty() : OptionalLong.of(index.getLong(entry + 8));
+    }
+
+    /**
+     * Events of the aggregate from the given sequence number on, in sequence order.
+     */
+    List<ArchivedEvent> readAggregate(String aggregateIdentifier, long firstSequenceNumber) {
+        int entry = findAggregate(aggregateIdentifier);
+        if (entry < 0 || index.getLong(entry + 8) < firstSequenceNumber) {
+            return List.of();
+        }
+        List<ArchivedEvent> events = new ArrayList<>();
+        int blockCount = index.getInt(entry + 16);
+        for (int i = 0; i < blockCount; i++) {
+            for (ArchivedEvent event : readBlock(blocks.get(index.getInt(entry + 20 + 4 * i)))) {
+                if (event.aggregateIdentifier().equals(aggregateIdentifier)
+                    && event.sequenceNumber() >= firstSequenceNumber) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Events with a global index above the given one, in global index order, decompressed a
+     * block at a time as the iterator advances.
+     */
+    Iterator<ArchivedEvent> readAfter(long globalIndex) {
+        return new Iterator<>() {
+            private int nextBlock = 0;
+            private Iterator<ArchivedEvent> current = List.<ArchivedEvent>of().iterator();
+            private ArchivedEvent next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (current.hasNext()) {
+                        ArchivedEvent candidate = current.next();
+                        if (candidate.globalIndex() > globalIndex) {
+                            next = candidate;
+                        }
+                    } else if (nextBlock < blocks.size()) {
+                        Block block = blocks.get(nextBlock++);
+                        if (block.lastGlobalIndex() > globalIndex) {
+                            current = readBlock(block).iterator();
+                        }
+                    } else {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public ArchivedEvent next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ArchivedEvent event = next;
+                next = null;
+                return event;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            data.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Binary search over the aggregate table, which is sorted by identifier. Returns the position
+     * of the aggregate's entry past its identifier, or -1.
+     */
+    private int findAggregate(String aggregateIdentifier) {
+        int low = 0;
+        int high = aggregateCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = aggregateEntries + index.getInt(aggregateOffsets + 4 * mid);
+            int idLength = index.getShort(entry) & 0xFFFF;
+            byte[] id = new byte[idLength];
+            index.get(entry + 2, id);
+            int comparison = new String(id, StandardCharsets.UTF_8).compareTo(aggregateIdentifier);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return entry + 2 + idLength;
+            }
+        }
+        return -1;
+    }
+
+    private List<ArchivedEvent> readBlock(Block block) {
+        try {
+            ByteBuffer compressed = ByteBuffer.allocate(block.length());
+            while (compressed.hasRemaining()) {
+                if (data.read(compressed, block.offset() + compressed.position()) < 0) {
+                    throw new IOException("Archive segment " + name + " is truncated");
+                }
+            }
+            Inflater inflater = new Inflater();
+            byte[] raw = new byte[block.rawLength()];
+            try {
+                inflater.setInput(compressed.array());
+                inflater.inflate(raw);
+            } finally {
+                inflater.end();
+            }
+            return decode(raw, block.eventCount());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Archive segment " + name + " is corrupt", e);
+        }
+    }
+
+    private static byte[] encode(List<ArchivedEvent> events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (ArchivedEvent event : events) {
+            out.writeLong(event.globalIndex());
+            out.writeLong(event.sequenceNumber());
+            out.writeLong(event.timestamp().getEpochSecond());
+            out.writeInt(event.timestamp().getNano());
+            writeString(out, event.type());
+            writeString(out, event.aggregateIdentifier());
+            writeString(out, event.eventIdentifier());
+            writeString(out, event.payloadType());
+            writeString(out, event.payloadRevision());
+            writeBytes(out, event.payload());
+            writeBytes(out, event.metaData());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedEvent> decode(byte[] raw, int eventCount) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        List<ArchivedEvent> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            long globalIndex = in.readLong();
+            long sequenceNumber = in.readLong();
+            Instant timestamp = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            events.add(new ArchivedEvent(globalIndex, readString(in), readString(in), sequenceNumber,
+                readString(in), timestamp, readString(in), readString(in), readBytes(in), readBytes(in)));
+        }
+        return events;
+    }
+
+    private static byte[] encodeIndex(List<Block> blocks, Map<String, AggregateRange> aggregates) throws IOException {
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream entriesOut = new DataOutputStream(entries);
+        int[] offsets = new int[aggregates.size()];
+        int i = 0;
+        for (Map.Entry<String, AggregateRange> aggregate : aggregates.entrySet()) {
+            offsets[i++] = entriesOut.size();
+            byte[] id = aggregate.getKey().getBytes(StandardCharsets.UTF_8);
+            entriesOut.writeShort(id.length);
+            entriesOut.write(id);
+            AggregateRange range = aggregate.getValue();
+            entriesOut.writeLong(range.firstSequenceNumber);
+            entriesOut.writeLong(range.lastSequenceNumber);
+            entriesOut.writeInt(range.blocks.size());
+            for (int block : range.blocks) {
+                entriesOut.writeInt(block);
+            }
+        }
+        entriesOut.flush();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(blocks.size());
+        for (Block block : blocks) {
+            out.writeLong(block.offset());
+            out.writeInt(block.length());
+            out.writeInt(block.rawLength());
+            out.writeInt(block.eventCount());
+            out.writeLong(block.firstGlobalIndex());
+            out.writeLong(block.lastGlobalIndex());
+            out.writeLong(block.minTimestamp());
+            out.writeLong(block.maxTimestamp());
+        }
+        out.writeInt(offsets.length);
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        entries.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // Segments are written once and read rarely, so they are compressed as far as deflate goes
+    private static byte[] compress(byte[] raw) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private record Block(long offset, int length, int rawLength, int eventCount, long firstGlobalIndex,
+                         long lastGlobalIndex, long minTimestamp, long maxTimestamp) {
+    }
+
+    private static final class AggregateRange {
+        private long firstSequenceNumber = Long.MAX_VALUE;
+        private long lastSequenceNumber = Long.MIN_VALUE;
+        private final List<Integer> blocks = new ArrayList<>();
+
+        void add(long sequenceNumber, int block) {
+            firstSequenceNumber = Math.min(firstSequenceNumber, sequenceNumber);
+            lastSequenceNumber = Math.max(lastSequenceNumber, sequenceNumber);
+            if (blocks.isEmpty() || blocks.get(blocks.size() - 1) != block) {
+                blocks.add(block);
+            }
+        }
+    }
+}
\ No newline at end of file
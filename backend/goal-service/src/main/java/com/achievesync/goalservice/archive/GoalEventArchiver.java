@@ -0,0 +1,181 @@
+package com.achievesync.goalservice.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Moves the events of goals completed a while ago from domain_event_entry to the
+ * {@link EventArchive}, so the hot table only holds goals that can still change. A completed goal
+ * rejects every command, so its event stream is final. Goals are archived a segment at a time:
+ * their events are written to a new segment, then their rows are deleted. If a run dies in
+ * between, the next one archives those goals again and reads drop the repeated events. One
+ * instance archives at a time, under a Postgres advisory lock; the others skip the run.
+ */
+@Component
+public class GoalEventArchiver {
+
+    // Key of the session-level advisory lock held for a run
+    private static final long LOCK_KEY = "goal_event_archiver".hashCode();
+
+    private static final String SELECT_GOALS = """
+        select g.goal_id from goals g
+        where g.status = 'COMPLETED' and g.updated_at < :cutoff and g.goal_id > :after
+          and exists (select 1 from domain_event_entry e where e.aggregate_identifier = g.goal_id)
+        order by g.goal_id
+        limit :limit""";
+
+    private static final String SELECT_EVENTS = """
+        select global_index, type, aggregate_identifier, sequence_number, event_identifier, time_stamp,
+               payload_type, payload_revision, payload, meta_data
+        from domain_event_entry
+        where aggregate_identifier in (:goalIds)
+        order by global_index""";
+
+    private static final String DELETE_EVENTS = """
+        delete from domain_event_entry
+        where aggregate_identifier in (:goalIds) and global_index <= :lastGlobalIndex""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EventArchive archive;
+    private final EventProcessingConfiguration eventProcessing;
+    private final Duration after;
+    private final int goalsPerSegment;
+    private final int eventsPerBlock;
+    private final Timer duration;
+    private final Counter goalsArchived;
+    private final Counter eventsArchived;
+
+    public GoalEventArchiver(NamedParameterJdbcTemplate jdbcTemplate, EventArchive archive,
+                             EventProcessingConfiguration eventProcessing, MeterRegistry meterRegistry,
+                             @Value("${achievesync.event-archive.after:30d}") Duration after,
+                             @Value("${achievesync.event-archive.goals-per-segment:1000}") int goalsPerSegment,
+                             @Value("${achievesync.event-archive.events-per-block:1024}") int eventsPerBlock) {
+        if (goalsPerSegment < 1 || eventsPerBlock < 1) {
+            throw new IllegalArgumentException("Event archive goals-per-segment and events-per-block must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = archive;
+        this.eventProcessing = eventProcessing;
+        this.after = after;
+        this.goalsPerSegment = goalsPerSegment;
+        this.eventsPerBlock = eventsPerBlock;
+        this.duration = meterRegistry.timer("achievesync.event-archive.duration");
+        this.goalsArchived = meterRegistry.counter("achievesync.event-archive.goals");
+        this.eventsArchived = meterRegistry.counter("achievesync.event-archive.events");
+    }
+
+    @Scheduled(cron = "${achievesync.event-archive.cron:0 30 2 * * *}")
+    public void archive() {
+        archive(Instant.now());
+    }
+
+    /**
+     * Archives every goal completed before {@code now} minus the configured delay and returns how
+     * many were archived. Does nothing while one of this instance's processors is replaying or
+     * catching up, since those may still be reading the rows it would delete, or while another
+     * instance is archiving.
+     */
+    public long archive(Instant now) {
+        if (!processorsCaughtUp()) {
+            return 0;
+        }
+        // The lock is held by the connection taken here, while the run uses others
+        return jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                return 0L;
+            }
+            try {
+                return archiveGoals(now);
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+    }
+
+    private long archiveGoals(Instant now) {
+        Timer.Sample sample = Timer.start();
+        try {
+            OffsetDateTime cutoff = OffsetDateTime.ofInstant(now.minus(after), ZoneOffset.UTC);
+            long count = 0;
+            String lastGoalId = "";
+            List<String> goalIds;
+            do {
+                goalIds = jdbcTemplate.queryForList(SELECT_GOALS, new MapSqlParameterSource()
+                    .addValue("cutoff", cutoff)
+                    .addValue("after", lastGoalId)
+                    .addValue("limit", goalsPerSegment), String.class);
+                if (!goalIds.isEmpty()) {
+                    archiveSegment(goalIds);
+                    count += goalIds.size();
+                    lastGoalId = goalIds.get(goalIds.size() - 1);
+                }
+            } while (goalIds.size() == goalsPerSegment);
+            return count;
+        } finally {
+            sample.stop(duration);
+        }
+    }
+
+    private void archiveSegment(List<String> goalIds) {
+        MapSqlParameterSource goals = new MapSqlParameterSource("goalIds", goalIds);
+        List<ArchivedEvent> events = jdbcTemplate.query(SELECT_EVENTS, goals, (rs, row) -> archivedEvent(rs));
+        if (events.isEmpty()) {
+            return;
+        }
+        archive.append(events, eventsPerBlock);
+        jdbcTemplate.update(DELETE_EVENTS, goals.addValue("lastGlobalIndex",
+            events.get(events.size() - 1).globalIndex()));
+        goalsArchived.increment(goalIds.size());
+        eventsArchived.increment(events.size());
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select " + function + "(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean processorsCaughtUp() {
+        return eventProcessing.eventProcessors().values().stream()
+            .filter(StreamingEventProcessor.class::isInstance)
+            .map(StreamingEventProcessor.class::cast)
+            .flatMap(processor -> processor.processingStatus().values().stream())
+            .allMatch(status -> status.isCaughtUp() && !status.isReplaying() && !status.isErrorState());
+    }
+
+    private static ArchivedEvent archivedEvent(ResultSet rs) throws SQLException {
+        return new ArchivedEvent(
+            rs.getLong("global_index"),
+            rs.getString("type"),
+            rs.getString("aggregate_identifier"),
+            rs.getLong("sequence_number"),
+            rs.getString("event_identifier"),
+            rs.getObject("time_stamp", OffsetDateTime.class).toInstant(),
+            rs.getString("payload_type"),
+            rs.getString("payload_revision"),
+            rs.getBytes("payload"),
+            rs.getBytes("meta_data"));
+    }
+}
\ No newline at end of file
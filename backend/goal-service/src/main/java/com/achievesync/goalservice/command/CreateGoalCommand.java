@@ -13,18 +13,30 @@ public class CreateGoalCommand {
     private final LocalDate targetDate;
     private final String category;
     private final List<String> tags;
+    // The owner's zone, resolved before dispatch; null when it could not be looked up
+    private final String timeZone;
 
     public CreateGoalCommand(String goalId, String userId, String description, LocalDate targetDate) {
         this(goalId, userId, description, targetDate, null, null);
     }
 
     public CreateGoalCommand(String goalId, String userId, String description, LocalDate targetDate, String category, List<String> tags) {
+        this(goalId, userId, description, targetDate, category, tags, null);
+    }
+
+    public CreateGoalCommand(String goalId, String userId, String description, LocalDate targetDate, String category,
+                             List<String> tags, String timeZone) {
         this.goalId = goalId;
         this.userId = userId;
         this.description = description;
         this.targetDate = targetDate;
         this.category = category;
         this.tags = tags;
+        this.timeZone = timeZone;
+    }
+
+    public CreateGoalCommand withTimeZone(String timeZone) {
+        return new CreateGoalCommand(goalId, userId, description, targetDate, category, tags, timeZone);
     }
 
     public String getGoalId() { return goalId; }
@@ -33,4 +45,5 @@ public class CreateGoalCommand {
     public LocalDate getTargetDate() { return targetDate; }
     public String getCategory() { return category; }
     public List<String> getTags() { return tags; }
+    public String getTimeZone() { return timeZone; }
 }
\ No newline at end of file
@@ -2,19 +2,39 @@ package com.achievesync.goalservice.command;
 
 import org.axonframework.modelling.command.TargetAggregateIdentifier;
 
+import java.time.Instant;
+
 public class UpdateGoalProgressCommand {
     @TargetAggregateIdentifier
     private final String goalId;
     private final double progressPercentage;
     private final String notes;
+    // When the client recorded the update, such as an entry synced after being offline; null
+    // means now
+    private final Instant recordedAt;
+    // The owner's zone, resolved before dispatch; null when it could not be looked up
+    private final String timeZone;
 
     public UpdateGoalProgressCommand(String goalId, double progressPercentage, String notes) {
+        this(goalId, progressPercentage, notes, null, null);
+    }
+
+    public UpdateGoalProgressCommand(String goalId, double progressPercentage, String notes, Instant recordedAt,
+                                     String timeZone) {
         this.goalId = goalId;
         this.progressPercentage = progressPercentage;
         this.notes = notes;
+        this.recordedAt = recordedAt;
+        this.timeZone = timeZone;
+    }
+
+    public UpdateGoalProgressCommand withTimeZone(String timeZone) {
+        return new UpdateGoalProgressCommand(goalId, progressPercentage, notes, recordedAt, timeZone);
     }
 
     public String getGoalId() { return goalId; }
     public double getProgressPercentage() { return progressPercentage; }
     public String getNotes() { return notes; }
+    public Instant getRecordedAt() { return recordedAt; }
+    public String getTimeZone() { return timeZone; }
 }
\ No newline at end of file
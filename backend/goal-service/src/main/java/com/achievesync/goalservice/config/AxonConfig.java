@@ -1,28 +1,62 @@
 package com.achievesync.goalservice.config;
 
-import org.axonframework.eventhandling.EventBus;
-import org.axonframework.eventhandling.SimpleEventBus;
+import com.achievesync.eventstore.CaffeineCacheAdapter;
+import com.achievesync.eventstore.MeteredSnapshotTriggerDefinition;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.axonframework.common.caching.Cache;
+import org.axonframework.eventsourcing.EventCountSnapshotTriggerDefinition;
 import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.eventsourcing.SnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.Snapshotter;
 import org.axonframework.eventsourcing.eventstore.EventStore;
 import org.axonframework.modelling.command.Repository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import com.achievesync.goalservice.aggregate.GoalAggregate;
 
+import java.time.Duration;
+
 @Configuration
 @Profile("!test")
 public class AxonConfig {
 
     @Bean
-    public Repository<GoalAggregate> goalAggregateRepository(EventStore eventStore) {
+    public SnapshotTriggerDefinition goalSnapshotTriggerDefinition(Snapshotter snapshotter,
+                                                                   MeterRegistry meterRegistry,
+                                                                   @Value("${achievesync.snapshot.threshold:100}") int threshold) {
+        return new MeteredSnapshotTriggerDefinition(
+            new EventCountSnapshotTriggerDefinition(snapshotter, threshold),
+            meterRegistry,
+            GoalAggregate.class
+        );
+    }
+
+    // Keeps recently used aggregates in memory; Axon evicts an entry when its unit of work
+    // rolls back, including on a concurrency conflict with another node
+    @Bean
+    public Cache goalAggregateCache(MeterRegistry meterRegistry,
+                                    @Value("${achievesync.aggregate-cache.maximum-size:10000}") long maximumSize,
+                                    @Value("${achievesync.aggregate-cache.expire-after-access:30m}") Duration expireAfterAccess) {
+        CaffeineCacheAdapter cache = new CaffeineCacheAdapter(Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .recordStats());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), "goalAggregateCache");
+        return cache;
+    }
+
+    @Bean
+    public Repository<GoalAggregate> goalAggregateRepository(EventStore eventStore,
+                                                            SnapshotTriggerDefinition goalSnapshotTriggerDefinition,
+                                                            Cache goalAggregateCache) {
         return EventSourcingRepository.builder(GoalAggregate.class)
                 .eventStore(eventStore)
+                .snapshotTriggerDefinition(goalSnapshotTriggerDefinition)
+                .cache(goalAggregateCache)
                 .build();
     }
-    
-    @Bean
-    public EventBus eventBus() {
-        return SimpleEventBus.builder().build();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.achievesync.goalservice.config;
+
+import com.achievesync.goalservice.service.GoalTimeZoneInterceptor;
+import org.axonframework.commandhandling.CommandBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the dispatch interceptors on the command bus, so they see commands from every
+ * gateway and run on the sending thread before the command is handled.
+ */
+@Configuration
+public class CommandInterceptorConfig {
+
+    @Autowired
+    public void registerDispatchInterceptors(CommandBus commandBus, GoalTimeZoneInterceptor goalTimeZoneInterceptor) {
+        commandBus.registerDispatchInterceptor(goalTimeZoneInterceptor);
+    }
+}
\ No newline at end of file
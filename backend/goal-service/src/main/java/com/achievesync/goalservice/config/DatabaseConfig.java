@@ -7,7 +7,13 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableJpaRepositories(basePackages = "com.achievesync.goalservice.projection")
-@EntityScan(basePackages = "com.achievesync.goalservice.projection")
+@EntityScan(basePackages = {
+    "com.achievesync.goalservice.projection",
+    // Axon's event store and token entities, which an explicit @EntityScan would otherwise hide
+    "org.axonframework.eventsourcing.eventstore.jpa",
+    "org.axonframework.eventhandling.tokenstore.jpa",
+    "org.axonframework.modelling.saga.repository.jpa"
+})
 @EnableTransactionManagement
 public class DatabaseConfig {
     // JPA configuration will be handled by Spring Boot auto-configuration
@@ -0,0 +1,59 @@
+package com.achievesync.goalservice.config;
+
+import com.achievesync.goalservice.archive.ArchiveFallbackEventStorageEngine;
+import com.achievesync.goalservice.archive.EventArchive;
+import com.achievesync.eventstore.replay.ReplayLog;
+import com.achievesync.eventstore.replay.ReplayLogEventStorageEngine;
+import com.achievesync.eventstore.replay.ReplayLogExporter;
+import org.axonframework.common.jpa.EntityManagerProvider;
+import org.axonframework.common.jdbc.PersistenceExceptionResolver;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.jpa.JpaEventStorageEngine;
+import org.axonframework.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+@Configuration
+public class EventArchiveConfig {
+
+    @Bean(destroyMethod = "close")
+    public EventArchive eventArchive(@Value("${achievesync.event-archive.directory:event-archive}") Path directory) {
+        return EventArchive.open(directory);
+    }
+
+    // Replaces the engine Axon's JPA auto-configuration would create with the same engine behind
+    // the replay log and the archive, so processors far behind replay from the local log and
+    // aggregates and processors also see archived events
+    @Bean
+    @Profile("!test")
+    public EventStorageEngine eventStorageEngine(Serializer defaultSerializer,
+                                                 @Qualifier("eventSerializer") Serializer eventSerializer,
+                                                 PersistenceExceptionResolver persistenceExceptionResolver,
+                                                 org.axonframework.config.Configuration configuration,
+                                                 EntityManagerProvider entityManagerProvider,
+                                                 TransactionManager transactionManager,
+                                                 EventArchive eventArchive,
+                                                 ReplayLog replayLog,
+                                                 ReplayLogExporter replayLogExporter,
+                                                 @Value("${achievesync.replay-log.min-lag:10000}") long replayMinLag) {
+        JpaEventStorageEngine hot = JpaEventStorageEngine.builder()
+            .snapshotSerializer(defaultSerializer)
+            .upcasterChain(configuration.upcasterChain())
+            .persistenceExceptionResolver(persistenceExceptionResolver)
+            .eventSerializer(eventSerializer)
+            .snapshotFilter(configuration.snapshotFilter())
+            .entityManagerProvider(entityManagerProvider)
+            .transactionManager(transactionManager)
+            .build();
+        EventStorageEngine replaying = new ReplayLogEventStorageEngine(hot, replayLog, replayLogExporter,
+            eventSerializer, configuration.upcasterChain(), replayMinLag);
+        return new ArchiveFallbackEventStorageEngine(replaying, eventArchive, eventSerializer,
+            configuration.upcasterChain());
+    }
+}
\ No newline at end of file
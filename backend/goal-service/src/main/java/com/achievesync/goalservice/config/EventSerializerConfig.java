@@ -0,0 +1,155 @@
+package com.achievesync.goalservice.config;
+
+import com.achievesync.events.GoalEventsProto.GoalCompleted;
+import com.achievesync.events.GoalEventsProto.GoalCreated;
+import com.achievesync.events.GoalEventsProto.GoalProgressUpdated;
+import com.achievesync.events.GoalEventsProto.Tags;
+import com.achievesync.eventstore.ProtobufEventSerializer;
+import com.achievesync.goalservice.event.GoalCompletedEvent;
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.Timestamp;
+import org.axonframework.serialization.RevisionResolver;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Stores goal events as protobuf (see goal-events.proto under backend/shared) instead of JSON.
+ * Replaces the event serializer that axon.serializer.events would configure; the general and
+ * message serializers are unchanged.
+ */
+@Configuration
+public class EventSerializerConfig {
+
+    @Bean
+    @Qualifier("eventSerializer")
+    public Serializer eventSerializer(ObjectMapper objectMapper, RevisionResolver revisionResolver,
+                                      @Value("${achievesync.event-serializer.binary-writes:true}") boolean binaryWrites) {
+        return goalEventSerializer(JacksonSerializer.builder()
+            .revisionResolver(revisionResolver)
+            .objectMapper(objectMapper)
+            .build(), binaryWrites);
+    }
+
+    public static ProtobufEventSerializer goalEventSerializer(Serializer delegate, boolean binaryWrites) {
+        return ProtobufEventSerializer.builder()
+            .delegate(delegate)
+            .binaryWrites(binaryWrites)
+            .register(GoalCreatedEvent.class, GoalCreated.parser(),
+                EventSerializerConfig::toProto, EventSerializerConfig::fromProto)
+            .register(GoalProgressUpdatedEvent.class, GoalProgressUpdated.parser(),
+                EventSerializerConfig::toProto, EventSerializerConfig::fromProto)
+            .register(GoalCompletedEvent.class, GoalCompleted.parser(),
+                EventSerializerConfig::toProto, EventSerializerConfig::fromProto)
+            .build();
+    }
+
+    private static GoalCreated toProto(GoalCreatedEvent event) {
+        GoalCreated.Builder builder = GoalCreated.newBuilder();
+        if (event.getGoalId() != null) {
+            builder.setGoalId(event.getGoalId());
+        }
+        if (event.getUserId() != null) {
+            builder.setUserId(event.getUserId());
+        }
+        if (event.getDescription() != null) {
+            builder.setDescription(event.getDescription());
+        }
+        if (event.getTargetDate() != null) {
+            builder.setTargetDate(event.getTargetDate().toEpochDay());
+        }
+        if (event.getCreatedAt() != null) {
+            builder.setCreatedAt(toTimestamp(event.getCreatedAt()));
+        }
+        if (event.getCategory() != null) {
+            builder.setCategory(event.getCategory());
+        }
+        if (event.getTags() != null) {
+            builder.setTags(Tags.newBuilder().addAllValues(event.getTags()));
+        }
+        if (event.getTimeZone() != null) {
+            builder.setTimeZone(event.getTimeZone());
+        }
+        return builder.build();
+    }
+
+    private static GoalCreatedEvent fromProto(GoalCreated message) {
+        return new GoalCreatedEvent(
+            message.hasGoalId() ? message.getGoalId() : null,
+            message.hasUserId() ? message.getUserId() : null,
+            message.hasDescription() ? message.getDescription() : null,
+            message.hasTargetDate() ? LocalDate.ofEpochDay(message.getTargetDate()) : null,
+            message.hasCreatedAt() ? toInstant(message.getCreatedAt()) : null,
+            message.hasCategory() ? message.getCategory() : null,
+            message.hasTags() ? List.copyOf(message.getTags().getValuesList()) : null,
+            message.hasTimeZone() ? message.getTimeZone() : null
+        );
+    }
+
+    private static GoalProgressUpdated toProto(GoalProgressUpdatedEvent event) {
+        GoalProgressUpdated.Builder builder = GoalProgressUpdated.newBuilder()
+            .setProgressPercentage(event.getProgressPercentage());
+        if (event.getGoalId() != null) {
+            builder.setGoalId(event.getGoalId());
+        }
+        if (event.getNotes() != null) {
+            builder.setNotes(event.getNotes());
+        }
+        if (event.getUpdatedAt() != null) {
+            builder.setUpdatedAt(toTimestamp(event.getUpdatedAt()));
+        }
+        if (event.getTimeZone() != null) {
+            builder.setTimeZone(event.getTimeZone());
+        }
+        return builder.build();
+    }
+
+    private static GoalProgressUpdatedEvent fromProto(GoalProgressUpdated message) {
+        return new GoalProgressUpdatedEvent(
+            message.hasGoalId() ? message.getGoalId() : null,
+            message.getProgressPercentage(),
+            message.hasNotes() ? message.getNotes() : null,
+            message.hasUpdatedAt() ? toInstant(message.getUpdatedAt()) : null,
+            message.hasTimeZone() ? message.getTimeZone() : null
+        );
+    }
+
+    private static GoalCompleted toProto(GoalCompletedEvent event) {
+        GoalCompleted.Builder builder = GoalCompleted.newBuilder();
+        if (event.getGoalId() != null) {
+            builder.setGoalId(event.getGoalId());
+        }
+        if (event.getUserId() != null) {
+            builder.setUserId(event.getUserId());
+        }
+        if (event.getCompletedAt() != null) {
+            builder.setCompletedAt(toTimestamp(event.getCompletedAt()));
+        }
+        return builder.build();
+    }
+
+    private static GoalCompletedEvent fromProto(GoalCompleted message) {
+        return new GoalCompletedEvent(
+            message.hasGoalId() ? message.getGoalId() : null,
+            message.hasUserId() ? message.getUserId() : null,
+            message.hasCompletedAt() ? toInstant(message.getCompletedAt()) : null
+        );
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+}
\ No newline at end of file
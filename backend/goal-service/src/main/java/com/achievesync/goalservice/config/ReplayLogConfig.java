@@ -0,0 +1,20 @@
+package com.achievesync.goalservice.config;
+
+import com.achievesync.eventstore.replay.ReplayLog;
+import com.achievesync.eventstore.replay.ReplayLogExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.nio.file.Path;
+
+@Configuration
+@Import(ReplayLogExporter.class)
+public class ReplayLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplayLog replayLog(@Value("${achievesync.replay-log.directory:replay-log}") Path directory) {
+        return ReplayLog.open(directory);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.achievesync.goalservice.config;
+
+import com.achievesync.eventstore.EventPartitionMaintenance;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs such as the streak expiry sweep. Each job reads its cron from
+ * configuration, and a cron of "-" turns it off.
+ */
+@Configuration
+@EnableScheduling
+@Import(EventPartitionMaintenance.class)
+public class SchedulingConfig {
+}
\ No newline at end of file
@@ -3,15 +3,30 @@ package com.achievesync.goalservice.controller;
 import com.achievesync.goalservice.command.CompleteGoalCommand;
 import com.achievesync.goalservice.command.CreateGoalCommand;
 import com.achievesync.goalservice.command.UpdateGoalProgressCommand;
+import com.achievesync.goalservice.projection.GoalPage;
+import com.achievesync.goalservice.projection.GoalProgressProjection;
 import com.achievesync.goalservice.projection.GoalProjection;
+import com.achievesync.goalservice.projection.GoalStatus;
+import com.achievesync.goalservice.projection.GoalStreakProjection;
+import com.achievesync.goalservice.query.FindGoalProgressQuery;
 import com.achievesync.goalservice.query.FindGoalQuery;
-import com.achievesync.goalservice.query.FindGoalsByUserQuery;
+import com.achievesync.goalservice.query.FindGoalStreakQuery;
+import com.achievesync.goalservice.query.FindUserGoalsPageQuery;
+import com.achievesync.goalservice.service.BulkProgressService;
+import com.achievesync.goalservice.service.GoalStreamService;
+import com.achievesync.goalservice.service.ProjectionRebuildService;
 import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
 import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -19,15 +34,28 @@ import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/goals")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = GoalController.NEXT_CURSOR_HEADER)
 public class GoalController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // A century of history; more would only push the window start toward Instant's limits
+    static final int MAX_PROGRESS_DAYS = 36_500;
     
     private final CommandGateway commandGateway;
     private final QueryGateway queryGateway;
+    private final ProjectionRebuildService projectionRebuildService;
+    private final BulkProgressService bulkProgressService;
+    private final GoalStreamService goalStreamService;
 
-    public GoalController(CommandGateway commandGateway, QueryGateway queryGateway) {
+    public GoalController(CommandGateway commandGateway, QueryGateway queryGateway,
+                          ProjectionRebuildService projectionRebuildService,
+                          BulkProgressService bulkProgressService,
+                          GoalStreamService goalStreamService) {
         this.commandGateway = commandGateway;
         this.queryGateway = queryGateway;
+        this.projectionRebuildService = projectionRebuildService;
+        this.bulkProgressService = bulkProgressService;
+        this.goalStreamService = goalStreamService;
     }
 
     @PostMapping
@@ -52,12 +80,67 @@ public class GoalController {
                 ResponseEntity.notFound().build());
     }
 
+    // Without limit or cursor the whole listing comes back at once. With a limit, pass the
+    // X-Next-Cursor response header back as ?cursor= to get the next page
     @GetMapping("/user/{userId}")
-    public CompletableFuture<ResponseEntity<List<GoalProjection>>> getUserGoals(@PathVariable String userId) {
+    public CompletableFuture<ResponseEntity<List<GoalProjection>>> getUserGoals(
+            @PathVariable String userId,
+            @RequestParam(required = false) GoalStatus status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + FindUserGoalsPageQuery.UNPAGED) int limit) {
+        FindUserGoalsPageQuery query = new FindUserGoalsPageQuery(
+            userId, status != null ? status.name() : null, category, cursor, limit);
+
+        return queryGateway.query(query, GoalPage.class)
+            .thenApply(page -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.getNextCursor() != null) {
+                    response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+                }
+                return response.body(page.getGoals());
+            });
+    }
+
+    // Live alternative to polling the listing: a "goals" snapshot, then a "goal" event per change
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserGoals(@PathVariable String userId) {
+        return goalStreamService.streamUserGoals(userId);
+    }
+
+    // days=30 is shorthand for from=<now - 30 days>; an explicit from wins
+    @GetMapping("/{goalId}/progress")
+    public CompletableFuture<ResponseEntity<List<GoalProgressProjection>>> getGoalProgress(
+            @PathVariable String goalId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(defaultValue = "0") int limit) {
+        if (days != null && (days < 1 || days > MAX_PROGRESS_DAYS)) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_PROGRESS_DAYS + ", got " + days);
+        }
+        if (from == null && days != null) {
+            from = Instant.now().minus(Duration.ofDays(days));
+        }
+
         return queryGateway.query(
-            new FindGoalsByUserQuery(userId), 
-            org.axonframework.messaging.responsetypes.ResponseTypes.multipleInstancesOf(GoalProjection.class)
-        ).thenApply(goals -> ResponseEntity.ok(goals));
+            new FindGoalProgressQuery(goalId, from, to, limit),
+            ResponseTypes.multipleInstancesOf(GoalProgressProjection.class)
+        ).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{goalId}/streak")
+    public CompletableFuture<ResponseEntity<GoalStreakProjection>> getGoalStreak(@PathVariable String goalId) {
+        return queryGateway.query(new FindGoalStreakQuery(goalId), GoalStreakProjection.class)
+            .thenApply(streak -> streak != null ? 
+                ResponseEntity.ok(streak) : 
+                ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/streaks/rebuild")
+    public CompletableFuture<ResponseEntity<Void>> rebuildStreaks() {
+        return projectionRebuildService.rebuildGoalStreaks()
+            .thenApply(result -> ResponseEntity.accepted().build());
     }
 
     @PutMapping("/{goalId}/progress")
@@ -73,6 +156,23 @@ public class GoalController {
             .thenApply(result -> ResponseEntity.ok().build());
     }
 
+    // Results come back in request order, one per entry, whether or not it was applied
+    @PostMapping("/progress/bulk")
+    public CompletableFuture<ResponseEntity<List<BulkProgressService.ProgressResult>>> updateProgressBulk(
+            @RequestBody BulkProgressRequest request) {
+        List<UpdateGoalProgressCommand> commands = request.getEntries().stream()
+            .map(entry -> new UpdateGoalProgressCommand(
+                entry.getGoalId(),
+                entry.getProgressPercentage(),
+                entry.getNotes(),
+                entry.getRecordedAt(),
+                null))
+            .toList();
+
+        return bulkProgressService.updateProgress(commands)
+            .thenApply(ResponseEntity::ok);
+    }
+
     @PutMapping("/{goalId}/complete")
     public CompletableFuture<ResponseEntity<Void>> completeGoal(@PathVariable String goalId) {
         CompleteGoalCommand command = new CompleteGoalCommand(goalId);
@@ -81,6 +181,12 @@ public class GoalController {
             .thenApply(result -> ResponseEntity.ok().build());
     }
 
+    // Malformed cursors and filters rejected by the query handlers
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
     // Request DTOs
     public static class CreateGoalRequest {
         private String userId;
@@ -104,4 +210,28 @@ public class GoalController {
         public String getNotes() { return notes; }
         public void setNotes(String notes) { this.notes = notes; }
     }
+
+    public static class BulkProgressRequest {
+        private List<BulkProgressEntry> entries = new java.util.ArrayList<>();
+
+        public List<BulkProgressEntry> getEntries() { return entries; }
+        public void setEntries(List<BulkProgressEntry> entries) { this.entries = entries; }
+    }
+
+    public static class BulkProgressEntry {
+        private String goalId;
+        private double progressPercentage;
+        private String notes;
+        // When the client recorded the entry; entries without one count as recorded on arrival
+        private Instant recordedAt;
+
+        public String getGoalId() { return goalId; }
+        public void setGoalId(String goalId) { this.goalId = goalId; }
+        public double getProgressPercentage() { return progressPercentage; }
+        public void setProgressPercentage(double progressPercentage) { this.progressPercentage = progressPercentage; }
+        public String getNotes() { return notes; }
+        public void setNotes(String notes) { this.notes = notes; }
+        public Instant getRecordedAt() { return recordedAt; }
+        public void setRecordedAt(Instant recordedAt) { this.recordedAt = recordedAt; }
+    }
 }
\ No newline at end of file
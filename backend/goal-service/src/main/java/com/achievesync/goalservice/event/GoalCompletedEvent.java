@@ -1,5 +1,7 @@
 package com.achievesync.goalservice.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 import java.time.Instant;
 
 public class GoalCompletedEvent {
@@ -7,6 +9,7 @@ public class GoalCompletedEvent {
     private final String userId;
     private final Instant completedAt;
 
+    @JsonCreator
     public GoalCompletedEvent(String goalId, String userId, Instant completedAt) {
         this.goalId = goalId;
         this.userId = userId;
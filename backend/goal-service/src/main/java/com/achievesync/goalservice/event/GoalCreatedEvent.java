@@ -1,5 +1,7 @@
 package com.achievesync.goalservice.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
@@ -12,12 +14,18 @@ public class GoalCreatedEvent {
     private final Instant createdAt;
     private final String category;
     private final List<String> tags;
+    private final String timeZone;
 
     public GoalCreatedEvent(String goalId, String userId, String description, LocalDate targetDate, Instant createdAt) {
         this(goalId, userId, description, targetDate, createdAt, null, null);
     }
 
     public GoalCreatedEvent(String goalId, String userId, String description, LocalDate targetDate, Instant createdAt, String category, List<String> tags) {
+        this(goalId, userId, description, targetDate, createdAt, category, tags, null);
+    }
+
+    @JsonCreator
+    public GoalCreatedEvent(String goalId, String userId, String description, LocalDate targetDate, Instant createdAt, String category, List<String> tags, String timeZone) {
         this.goalId = goalId;
         this.userId = userId;
         this.description = description;
@@ -25,6 +33,7 @@ public class GoalCreatedEvent {
         this.createdAt = createdAt;
         this.category = category;
         this.tags = tags;
+        this.timeZone = timeZone;
     }
 
     public String getGoalId() { return goalId; }
@@ -34,4 +43,6 @@ public class GoalCreatedEvent {
     public Instant getCreatedAt() { return createdAt; }
     public String getCategory() { return category; }
     public List<String> getTags() { return tags; }
+    // Owner's zone when the goal was created; null on events from before goals recorded it
+    public String getTimeZone() { return timeZone; }
 }
\ No newline at end of file
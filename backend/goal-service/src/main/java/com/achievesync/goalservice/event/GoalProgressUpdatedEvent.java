@@ -1,5 +1,7 @@
 package com.achievesync.goalservice.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 import java.time.Instant;
 
 public class GoalProgressUpdatedEvent {
@@ -7,16 +9,26 @@ public class GoalProgressUpdatedEvent {
     private final double progressPercentage;
     private final String notes;
     private final Instant updatedAt;
+    private final String timeZone;
 
     public GoalProgressUpdatedEvent(String goalId, double progressPercentage, String notes, Instant updatedAt) {
+        this(goalId, progressPercentage, notes, updatedAt, null);
+    }
+
+    @JsonCreator
+    public GoalProgressUpdatedEvent(String goalId, double progressPercentage, String notes, Instant updatedAt,
+                                    String timeZone) {
         this.goalId = goalId;
         this.progressPercentage = progressPercentage;
         this.notes = notes;
         this.updatedAt = updatedAt;
+        this.timeZone = timeZone;
     }
 
     public String getGoalId() { return goalId; }
     public double getProgressPercentage() { return progressPercentage; }
     public String getNotes() { return notes; }
     public Instant getUpdatedAt() { return updatedAt; }
+    // Owner's zone at the update; null when it could not be looked up, and on older events
+    public String getTimeZone() { return timeZone; }
 }
\ No newline at end of file
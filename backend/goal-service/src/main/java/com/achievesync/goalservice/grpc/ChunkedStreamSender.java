@@ -0,0 +1,83 @@
+package com.achievesync.goalservice.grpc;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes a result list to a server stream in fixed-size chunks, pausing whenever the
+ * transport is not ready so a slow client never makes us buffer the whole result set.
+ * Must be created inside the RPC method, since the ready handler can only be set there.
+ */
+class ChunkedStreamSender<T, R> {
+
+    private final StreamObserver<R> responseObserver;
+    private final ServerCallStreamObserver<R> serverCallObserver;
+    private Iterator<R> chunks;
+    private boolean completed;
+
+    ChunkedStreamSender(StreamObserver<R> responseObserver) {
+        this.responseObserver = responseObserver;
+        this.serverCallObserver = responseObserver instanceof ServerCallStreamObserver
+            ? (ServerCallStreamObserver<R>) responseObserver
+            : null;
+        if (serverCallObserver != null) {
+            serverCallObserver.setOnReadyHandler(this::drain);
+            serverCallObserver.setOnCancelHandler(this::cancel);
+        }
+    }
+
+    synchronized void send(List<T> items, int chunkSize, Function<List<T>, R> toChunk) {
+        if (completed) {
+            return;
+        }
+        int size = Math.max(1, chunkSize);
+        int chunkCount = items.isEmpty() ? 1 : (items.size() + size - 1) / size;
+        this.chunks = new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < chunkCount;
+            }
+
+            @Override
+            public R next() {
+                int from = next++ * size;
+                return toChunk.apply(items.subList(from, Math.min(from + size, items.size())));
+            }
+        };
+        drain();
+    }
+
+    synchronized void fail(Throwable error) {
+        if (!completed) {
+            completed = true;
+            responseObserver.onError(error);
+        }
+    }
+
+    private synchronized void drain() {
+        if (chunks == null || completed) {
+            return;
+        }
+        while (chunks.hasNext() && isReady()) {
+            responseObserver.onNext(chunks.next());
+        }
+        if (!chunks.hasNext()) {
+            completed = true;
+            responseObserver.onCompleted();
+        }
+    }
+
+    private synchronized void cancel() {
+        completed = true;
+    }
+
+    private boolean isReady() {
+        return serverCallObserver == null || serverCallObserver.isReady();
+    }
+}
\ No newline at end of file
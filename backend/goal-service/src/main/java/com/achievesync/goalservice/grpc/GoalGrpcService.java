@@ -0,0 +1,341 @@
+package com.achievesync.goalservice.grpc;
+
+import com.achievesync.goalservice.command.CompleteGoalCommand;
+import com.achievesync.goalservice.command.CreateGoalCommand;
+import com.achievesync.goalservice.command.UpdateGoalProgressCommand;
+import com.achievesync.goalservice.projection.GoalPage;
+import com.achievesync.goalservice.projection.GoalProgressProjection;
+import com.achievesync.goalservice.projection.GoalProjection;
+import com.achievesync.goalservice.projection.GoalStatus;
+import com.achievesync.goalservice.projection.GoalStreakProjection;
+import com.achievesync.goalservice.query.FindGoalProgressQuery;
+import com.achievesync.goalservice.query.FindGoalQuery;
+import com.achievesync.goalservice.query.FindGoalStreakQuery;
+import com.achievesync.goalservice.query.FindGoalsByUserQuery;
+import com.achievesync.goalservice.query.FindUserGoalsPageQuery;
+import com.achievesync.grpc.GoalServiceGrpc;
+import com.achievesync.grpc.GoalServiceProto.CreateGoalRequest;
+import com.achievesync.grpc.GoalServiceProto.GoalIdRequest;
+import com.achievesync.grpc.GoalServiceProto.GoalResponse;
+import com.achievesync.grpc.GoalServiceProto.GoalsListResponse;
+import com.achievesync.grpc.GoalServiceProto.ProgressEntry;
+import com.achievesync.grpc.GoalServiceProto.ProgressHistoryRequest;
+import com.achievesync.grpc.GoalServiceProto.ProgressListResponse;
+import com.achievesync.grpc.GoalServiceProto.ProgressRequest;
+import com.achievesync.grpc.GoalServiceProto.ProgressResponse;
+import com.achievesync.grpc.GoalServiceProto.StreakResponse;
+import com.achievesync.grpc.GoalServiceProto.UserGoalsRequest;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.modelling.command.AggregateNotFoundException;
+import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+@GrpcService
+public class GoalGrpcService extends GoalServiceGrpc.GoalServiceImplBase {
+
+    private final CommandGateway commandGateway;
+    private final QueryGateway queryGateway;
+    private final int streamChunkSize;
+
+    public GoalGrpcService(CommandGateway commandGateway, QueryGateway queryGateway,
+                           @Value("${achievesync.grpc.stream-chunk-size:200}") int streamChunkSize) {
+        this.commandGateway = commandGateway;
+        this.queryGateway = queryGateway;
+        this.streamChunkSize = streamChunkSize;
+    }
+
+    @Override
+    public void createGoal(CreateGoalRequest request, StreamObserver<GoalResponse> responseObserver) {
+        LocalDate targetDate;
+        try {
+            targetDate = request.getTargetDate().isEmpty() ? null : LocalDate.parse(request.getTargetDate());
+        } catch (DateTimeParseException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+
+        String goalId = UUID.randomUUID().toString();
+        CreateGoalCommand command = new CreateGoalCommand(
+            goalId,
+            request.getUserId(),
+            request.getDescription(),
+            targetDate,
+            emptyToNull(request.getCategory()),
+            request.getTagsList()
+        );
+
+        // The projection is updated asynchronously, so the response is built from the command
+        complete(commandGateway.send(command), responseObserver, result -> toGoalResponse(command));
+    }
+
+    @Override
+    public void recordProgress(ProgressRequest request, StreamObserver<ProgressResponse> responseObserver) {
+        UpdateGoalProgressCommand command = new UpdateGoalProgressCommand(
+            request.getGoalId(),
+            request.getProgressPercentage(),
+            request.getNotes()
+        );
+
+        complete(commandGateway.send(command), responseObserver, result -> ProgressResponse.newBuilder()
+            .setSuccess(true)
+            .setMessage("Progress recorded")
+            .build());
+    }
+
+    @Override
+    public void completeGoal(GoalIdRequest request, StreamObserver<GoalResponse> responseObserver) {
+        complete(commandGateway.send(new CompleteGoalCommand(request.getGoalId())), responseObserver,
+            result -> GoalResponse.newBuilder()
+                .setGoalId(request.getGoalId())
+                .setStatus(GoalStatus.COMPLETED.name())
+                .setProgressPercentage(100.0)
+                .build());
+    }
+
+    @Override
+    public void getGoal(GoalIdRequest request, StreamObserver<GoalResponse> responseObserver) {
+        complete(findGoal(request.getGoalId()), responseObserver, GoalGrpcService::toGoalResponse);
+    }
+
+    @Override
+    public void getUserGoals(UserGoalsRequest request, StreamObserver<GoalsListResponse> responseObserver) {
+        complete(findUserGoalsPage(request), responseObserver, GoalGrpcService::toGoalsListResponse);
+    }
+
+    @Override
+    public void streamUserGoals(UserGoalsRequest request, StreamObserver<GoalsListResponse> responseObserver) {
+        ChunkedStreamSender<GoalProjection, GoalsListResponse> sender = new ChunkedStreamSender<>(responseObserver);
+        findUserGoals(request).whenComplete((goals, error) -> {
+            if (error != null) {
+                sender.fail(toStatus(error));
+            } else {
+                sender.send(goals, streamChunkSize, chunk -> toGoalsListResponse(chunk, goals.size()));
+            }
+        });
+    }
+
+    @Override
+    public void getGoalProgress(ProgressHistoryRequest request, StreamObserver<ProgressListResponse> responseObserver) {
+        complete(findProgress(request), responseObserver, GoalGrpcService::toProgressListResponse);
+    }
+
+    @Override
+    public void streamGoalProgress(ProgressHistoryRequest request, StreamObserver<ProgressListResponse> responseObserver) {
+        ChunkedStreamSender<GoalProgressProjection, ProgressListResponse> sender =
+            new ChunkedStreamSender<>(responseObserver);
+        findProgress(request).whenComplete((entries, error) -> {
+            if (error != null) {
+                sender.fail(toStatus(error));
+            } else {
+                sender.send(entries, streamChunkSize, GoalGrpcService::toProgressListResponse);
+            }
+        });
+    }
+
+    @Override
+    public void getGoalStreak(GoalIdRequest request, StreamObserver<StreakResponse> responseObserver) {
+        CompletableFuture<GoalStreakProjection> streak =
+            queryGateway.query(new FindGoalStreakQuery(request.getGoalId()), GoalStreakProjection.class)
+                .thenApply(result -> requireFound(result, request.getGoalId()));
+        complete(streak, responseObserver, GoalGrpcService::toStreakResponse);
+    }
+
+    private CompletableFuture<GoalProjection> findGoal(String goalId) {
+        return queryGateway.query(new FindGoalQuery(goalId), GoalProjection.class)
+            .thenApply(goal -> requireFound(goal, goalId));
+    }
+
+    private CompletableFuture<GoalPage> findUserGoalsPage(UserGoalsRequest request) {
+        return queryGateway.query(
+            new FindUserGoalsPageQuery(
+                request.getUserId(),
+                emptyToNull(request.getStatus()),
+                emptyToNull(request.getCategory()),
+                emptyToNull(request.getCursor()),
+                request.getLimit()),
+            GoalPage.class
+        );
+    }
+
+    private CompletableFuture<List<GoalProjection>> findUserGoals(UserGoalsRequest request) {
+        return queryGateway.query(
+            new FindGoalsByUserQuery(request.getUserId()),
+            ResponseTypes.multipleInstancesOf(GoalProjection.class)
+        ).thenApply(goals -> goals.stream()
+            .filter(goal -> request.getStatus().isEmpty() || goal.getStatus().name().equals(request.getStatus()))
+            .filter(goal -> request.getCategory().isEmpty() || request.getCategory().equals(goal.getCategory()))
+            .toList());
+    }
+
+    private CompletableFuture<List<GoalProgressProjection>> findProgress(ProgressHistoryRequest request) {
+        FindGoalProgressQuery query;
+        try {
+            query = new FindGoalProgressQuery(
+                request.getGoalId(),
+                request.getFrom().isEmpty() ? null : Instant.parse(request.getFrom()),
+                request.getTo().isEmpty() ? null : Instant.parse(request.getTo()),
+                request.getLimit());
+        } catch (DateTimeParseException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return queryGateway.query(query, ResponseTypes.multipleInstancesOf(GoalProgressProjection.class));
+    }
+
+    private static <T, R> void complete(CompletableFuture<T> future, StreamObserver<R> responseObserver,
+                                        Function<T, R> mapper) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                responseObserver.onError(toStatus(error));
+                return;
+            }
+            R response;
+            try {
+                response = mapper.apply(result);
+            } catch (RuntimeException e) {
+                responseObserver.onError(toStatus(e));
+                return;
+            }
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        });
+    }
+
+    private static <T> T requireFound(T result, String goalId) {
+        if (result == null) {
+            throw new GoalNotFoundException(goalId);
+        }
+        return result;
+    }
+
+    static Throwable toStatus(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof GoalNotFoundException || cause instanceof AggregateNotFoundException) {
+            return Status.NOT_FOUND.withDescription(cause.getMessage()).asRuntimeException();
+        }
+        if (cause instanceof IllegalArgumentException || cause instanceof DateTimeParseException) {
+            return Status.INVALID_ARGUMENT.withDescription(cause.getMessage()).asRuntimeException();
+        }
+        if (cause instanceof IllegalStateException) {
+            return Status.FAILED_PRECONDITION.withDescription(cause.getMessage()).asRuntimeException();
+        }
+        return Status.INTERNAL.withDescription(cause.getMessage()).withCause(cause).asRuntimeException();
+    }
+
+    static GoalResponse toGoalResponse(CreateGoalCommand command) {
+        GoalResponse.Builder builder = GoalResponse.newBuilder()
+            .setGoalId(command.getGoalId())
+            .setUserId(command.getUserId())
+            .setDescription(command.getDescription())
+            .setStatus(GoalStatus.PENDING.name())
+            .setProgressPercentage(0.0);
+        if (command.getTargetDate() != null) {
+            builder.setTargetDate(command.getTargetDate().toString());
+        }
+        if (command.getCategory() != null) {
+            builder.setCategory(command.getCategory());
+        }
+        if (command.getTags() != null) {
+            builder.addAllTags(command.getTags());
+        }
+        return builder.build();
+    }
+
+    static GoalResponse toGoalResponse(GoalProjection goal) {
+        GoalResponse.Builder builder = GoalResponse.newBuilder()
+            .setGoalId(goal.getGoalId())
+            .setUserId(goal.getUserId())
+            .setDescription(goal.getDescription())
+            .setStatus(goal.getStatus().name())
+            .setProgressPercentage(goal.getProgressPercentage());
+        if (goal.getTargetDate() != null) {
+            builder.setTargetDate(goal.getTargetDate().toString());
+        }
+        if (goal.getCreatedAt() != null) {
+            builder.setCreatedAt(goal.getCreatedAt().toString());
+        }
+        if (goal.getUpdatedAt() != null) {
+            builder.setUpdatedAt(goal.getUpdatedAt().toString());
+        }
+        if (goal.getCategory() != null) {
+            builder.setCategory(goal.getCategory());
+        }
+        if (goal.getTags() != null) {
+            builder.addAllTags(goal.getTags());
+        }
+        return builder.build();
+    }
+
+    // total_count counts every matching goal, not just this page; next_cursor says whether
+    // another page follows
+    static GoalsListResponse toGoalsListResponse(GoalPage page) {
+        GoalsListResponse response = toGoalsListResponse(page.getGoals(), (int) page.getTotalCount());
+        return page.getNextCursor() == null
+            ? response
+            : response.toBuilder().setNextCursor(page.getNextCursor()).build();
+    }
+
+    static GoalsListResponse toGoalsListResponse(List<GoalProjection> goals, int totalCount) {
+        GoalsListResponse.Builder builder = GoalsListResponse.newBuilder().setTotalCount(totalCount);
+        goals.forEach(goal -> builder.addGoals(toGoalResponse(goal)));
+        return builder.build();
+    }
+
+    static ProgressListResponse toProgressListResponse(List<GoalProgressProjection> entries) {
+        ProgressListResponse.Builder builder = ProgressListResponse.newBuilder();
+        for (GoalProgressProjection entry : entries) {
+            ProgressEntry.Builder progress = ProgressEntry.newBuilder()
+                .setGoalId(entry.getGoalId())
+                .setProgressPercentage(entry.getProgressPercentage());
+            if (entry.getProgressId() != null) {
+                progress.setProgressId(entry.getProgressId());
+            }
+            if (entry.getNotes() != null) {
+                progress.setNotes(entry.getNotes());
+            }
+            if (entry.getUpdateTimestamp() != null) {
+                progress.setTimestamp(entry.getUpdateTimestamp().toString());
+            }
+            builder.addProgressEntries(progress);
+        }
+        return builder.build();
+    }
+
+    static StreakResponse toStreakResponse(GoalStreakProjection streak) {
+        StreakResponse.Builder builder = StreakResponse.newBuilder()
+            .setGoalId(streak.getGoalId())
+            .setCurrentStreakDays(streak.getCurrentStreakDays())
+            .setLongestStreakDays(streak.getLongestStreakDays())
+            .setIsStreakActive(streak.isStreakActive());
+        if (streak.getLastStreakUpdate() != null) {
+            builder.setLastStreakUpdate(streak.getLastStreakUpdate().toString());
+        }
+        return builder.build();
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    static class GoalNotFoundException extends RuntimeException {
+        GoalNotFoundException(String goalId) {
+            super("Goal not found: " + goalId);
+        }
+    }
+}
\ No newline at end of file
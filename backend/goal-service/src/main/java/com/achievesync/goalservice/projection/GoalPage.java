@@ -0,0 +1,23 @@
+package com.achievesync.goalservice.projection;
+
+import java.util.List;
+
+public class GoalPage {
+    private final List<GoalProjection> goals;
+    private final String nextCursor;
+    private final long totalCount;
+
+    public GoalPage(List<GoalProjection> goals, String nextCursor, long totalCount) {
+        this.goals = goals;
+        this.nextCursor = nextCursor;
+        this.totalCount = totalCount;
+    }
+
+    public List<GoalProjection> getGoals() { return goals; }
+
+    // Null on the last page
+    public String getNextCursor() { return nextCursor; }
+
+    // Goals matching the query's filters across all pages
+    public long getTotalCount() { return totalCount; }
+}
\ No newline at end of file
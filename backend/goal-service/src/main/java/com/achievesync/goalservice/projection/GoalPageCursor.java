@@ -0,0 +1,40 @@
+package com.achievesync.goalservice.projection;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last goal of a page, as (updated_at, goal_id). Clients see it as an
+ * opaque URL-safe string.
+ */
+record GoalPageCursor(Instant updatedAt, String goalId) {
+
+    static GoalPageCursor after(GoalProjection goal) {
+        return new GoalPageCursor(goal.getUpdatedAt(), goal.getGoalId());
+    }
+
+    String encode() {
+        String value = updatedAt + "|" + goalId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static GoalPageCursor decode(String cursor) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        int separator = value.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new GoalPageCursor(Instant.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
\ No newline at end of file
@@ -1,14 +1,21 @@
 package com.achievesync.goalservice.projection;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
-@Table(name = "goal_progress")
-public class GoalProgressProjection {
+@Table(name = "goal_progress", indexes = {
+    @Index(name = "idx_goal_progress_goal_time", columnList = "goal_id, update_timestamp DESC")
+})
+public class GoalProgressProjection implements Persistable<String> {
     
+    // The projection keys each entry by the event that recorded it, so a replay over
+    // existing rows finds them rather than inserting them again
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "progress_id")
     private String progressId;
     
@@ -24,9 +31,13 @@ public class GoalProgressProjection {
     @Column(name = "update_timestamp")
     private Instant updateTimestamp;
 
+    @Transient
+    private boolean isNew;
+
     public GoalProgressProjection() {}
 
     public GoalProgressProjection(String goalId, double progressPercentage, String notes, Instant updateTimestamp) {
+        this.progressId = UUID.randomUUID().toString();
         this.goalId = goalId;
         this.progressPercentage = progressPercentage;
         this.notes = notes;
@@ -56,4 +67,18 @@ public class GoalProgressProjection {
     
     public Instant getUpdateTimestamp() { return updateTimestamp; }
     public void setUpdateTimestamp(Instant updateTimestamp) { this.updateTimestamp = updateTimestamp; }
+
+    @Override
+    @JsonIgnore
+    public String getId() { return progressId; }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() { return isNew; }
+
+    void markNew() { this.isNew = true; }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() { this.isNew = false; }
 }
\ No newline at end of file
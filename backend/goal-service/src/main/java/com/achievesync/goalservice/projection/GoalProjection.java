@@ -1,12 +1,17 @@
 package com.achievesync.goalservice.projection;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
 import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "goals")
-public class GoalProjection {
+@Table(name = "goals", indexes = {
+    @Index(name = "idx_goals_user_updated", columnList = "user_id, updated_at DESC, goal_id DESC")
+})
+public class GoalProjection implements Persistable<String> {
     
     @Id
     @Column(name = "goal_id")
@@ -42,6 +47,11 @@ public class GoalProjection {
     @Column(name = "tag")
     private java.util.List<String> tags = new java.util.ArrayList<>();
 
+    // Lets save() persist a goal created from an event instead of merging it, which would
+    // first SELECT the row by its assigned id
+    @Transient
+    private boolean isNew;
+
     public GoalProjection() {}
 
     // Getters and Setters
@@ -74,4 +84,18 @@ public class GoalProjection {
     
     public java.util.List<String> getTags() { return tags; }
     public void setTags(java.util.List<String> tags) { this.tags = tags; }
+
+    @Override
+    @JsonIgnore
+    public String getId() { return goalId; }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() { return isNew; }
+
+    void markNew() { this.isNew = true; }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() { this.isNew = false; }
 }
\ No newline at end of file
@@ -1,32 +1,93 @@
 package com.achievesync.goalservice.projection;
 
+import com.achievesync.eventstore.ProjectionChanges;
 import com.achievesync.goalservice.event.GoalCompletedEvent;
 import com.achievesync.goalservice.event.GoalCreatedEvent;
 import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import com.achievesync.goalservice.query.FindGoalProgressQuery;
 import com.achievesync.goalservice.query.FindGoalQuery;
 import com.achievesync.goalservice.query.FindGoalsByUserQuery;
+import com.achievesync.goalservice.query.FindUserGoalsPageQuery;
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.ResetHandler;
+import org.axonframework.messaging.annotation.MessageIdentifier;
+import org.axonframework.messaging.unitofwork.BatchingUnitOfWork;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
 import org.axonframework.queryhandling.QueryHandler;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
+import org.axonframework.queryhandling.SubscriptionQueryMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * The processor hands events to this handler in batches that share one unit of work and
+ * one transaction, so every write in a batch is flushed together with JDBC batching.
+ * Each change is also pushed to live FindGoalsByUserQuery subscriptions once the batch commits,
+ * on every instance, as subscribers are spread over the instances just like the segments are.
+ */
 @Component
+@ProcessingGroup(GoalProjectionHandler.PROCESSING_GROUP)
 public class GoalProjectionHandler {
-    
+
+    public static final String PROCESSING_GROUP = "goal-projection-processor";
+
+    // Goals whose rows changed, by id, owner and kind of change; each instance pushes them to its
+    // own subscribers once the change is committed
+    static final String GOAL_CHANGES = "goal_projection_changed";
+    private static final String CREATED = "created";
+    private static final String CHANGED = "changed";
+
+    private static final Instant PROGRESS_WINDOW_END = Instant.parse("9999-12-31T00:00:00Z");
+
+    private static final String PREFETCHED_GOALS = GoalProjectionHandler.class.getName() + ".prefetchedGoals";
+    private static final String RECORDED_PROGRESS = GoalProjectionHandler.class.getName() + ".recordedProgress";
+
     private final GoalRepository goalRepository;
     private final GoalProgressRepository progressRepository;
+    private final QueryUpdateEmitter queryUpdateEmitter;
+
+    private final ProjectionChanges projectionChanges;
 
-    public GoalProjectionHandler(GoalRepository goalRepository, GoalProgressRepository progressRepository) {
+    public GoalProjectionHandler(GoalRepository goalRepository, GoalProgressRepository progressRepository,
+                                 QueryUpdateEmitter queryUpdateEmitter, ProjectionChanges projectionChanges) {
         this.goalRepository = goalRepository;
         this.progressRepository = progressRepository;
+        this.queryUpdateEmitter = queryUpdateEmitter;
+        this.projectionChanges = projectionChanges;
+        projectionChanges.subscribe(GOAL_CHANGES, this::push, this::pushSubscribedGoals);
     }
 
     @EventHandler
     public void on(GoalCreatedEvent event) {
-        GoalProjection goal = new GoalProjection();
+        // Replaying over an existing row updates it in place; a goal the table lacks is inserted
+        // without first being looked up, as the batch's goals were already loaded in one query
+        Map<String, GoalProjection> prefetched = prefetchBatchGoals();
+        Optional<GoalProjection> existing = prefetched != null
+            ? Optional.ofNullable(prefetched.get(event.getGoalId()))
+            : goalRepository.findById(event.getGoalId());
+        GoalProjection goal = existing.orElseGet(() -> {
+            GoalProjection created = new GoalProjection();
+            created.markNew();
+            return created;
+        });
         goal.setGoalId(event.getGoalId());
         goal.setUserId(event.getUserId());
         goal.setDescription(event.getDescription());
@@ -39,10 +100,12 @@ public class GoalProjectionHandler {
         goal.setTags(event.getTags() != null ? event.getTags() : new java.util.ArrayList<>());
         
         goalRepository.save(goal);
+        goalChanged(goal, CREATED);
     }
 
     @EventHandler
-    public void on(GoalProgressUpdatedEvent event) {
+    public void on(GoalProgressUpdatedEvent event, @MessageIdentifier String eventId) {
+        prefetchBatchGoals();
         Optional<GoalProjection> goalOpt = goalRepository.findById(event.getGoalId());
         if (goalOpt.isPresent()) {
             GoalProjection goal = goalOpt.get();
@@ -50,20 +113,26 @@ public class GoalProjectionHandler {
             goal.setStatus(event.getProgressPercentage() >= 100.0 ? GoalStatus.COMPLETED : GoalStatus.IN_PROGRESS);
             goal.setUpdatedAt(event.getUpdatedAt());
             goalRepository.save(goal);
+            goalChanged(goal, CHANGED);
 
-            // Record progress history
-            GoalProgressProjection progress = new GoalProgressProjection(
-                event.getGoalId(),
-                event.getProgressPercentage(),
-                event.getNotes(),
-                event.getUpdatedAt()
-            );
-            progressRepository.save(progress);
+            // Record progress history, once per event however often it is replayed
+            if (!progressRecorded(eventId)) {
+                GoalProgressProjection progress = new GoalProgressProjection(
+                    eventId,
+                    event.getGoalId(),
+                    event.getProgressPercentage(),
+                    event.getNotes(),
+                    event.getUpdatedAt()
+                );
+                progress.markNew();
+                progressRepository.save(progress);
+            }
         }
     }
 
     @EventHandler
     public void on(GoalCompletedEvent event) {
+        prefetchBatchGoals();
         Optional<GoalProjection> goalOpt = goalRepository.findById(event.getGoalId());
         if (goalOpt.isPresent()) {
             GoalProjection goal = goalOpt.get();
@@ -71,7 +140,103 @@ public class GoalProjectionHandler {
             goal.setProgressPercentage(100.0);
             goal.setUpdatedAt(event.getCompletedAt());
             goalRepository.save(goal);
+            goalChanged(goal, CHANGED);
+        }
+    }
+
+    // Rebuilding through ProjectionRebuildService replays every event, so the tables start empty
+    @ResetHandler
+    public void reset() {
+        progressRepository.deleteAllInBatch();
+        goalRepository.deleteAllTags();
+        goalRepository.deleteAllInBatch();
+    }
+
+    // Subscribers never see a change that was rolled back
+    private void goalChanged(GoalProjection goal, String kind) {
+        projectionChanges.publish(GOAL_CHANGES, String.join("\t", goal.getGoalId(), goal.getUserId(), kind));
+    }
+
+    // The goal is read back only when its owner has a subscriber here, and as committed, so
+    // each update carries the goal's latest state
+    private void push(String change) {
+        String[] goalIdUserIdAndKind = change.split("\t");
+        if (!subscribedUsers().contains(goalIdUserIdAndKind[1])) {
+            return;
+        }
+        goalRepository.findById(goalIdUserIdAndKind[0]).ifPresent(goal -> emit(
+            CREATED.equals(goalIdUserIdAndKind[2]) ? GoalUpdate.created(goal) : GoalUpdate.changed(goal)));
+    }
+
+    // Subscribers may have missed any change, so each gets its user's goals again, with tags
+    private void pushSubscribedGoals() {
+        for (String userId : subscribedUsers()) {
+            goalRepository.findByUserId(userId).forEach(goal -> emit(GoalUpdate.created(goal)));
+        }
+    }
+
+    private Set<String> subscribedUsers() {
+        return queryUpdateEmitter.activeSubscriptions().stream()
+            .map(SubscriptionQueryMessage::getPayload)
+            .filter(query -> query instanceof FindGoalsByUserQuery)
+            .map(query -> ((FindGoalsByUserQuery) query).getUserId())
+            .collect(Collectors.toSet());
+    }
+
+    private void emit(GoalUpdate update) {
+        queryUpdateEmitter.emit(FindGoalsByUserQuery.class,
+            query -> update.getUserId().equals(query.getUserId()), update);
+    }
+
+    // Loads every goal the current batch touches with one query and returns them by id, or null
+    // outside a batch. They stay in the batch's persistence context, so the findById calls that
+    // follow are served without a SELECT.
+    private Map<String, GoalProjection> prefetchBatchGoals() {
+        if (!CurrentUnitOfWork.isStarted()) {
+            return null;
+        }
+        UnitOfWork<?> unitOfWork = CurrentUnitOfWork.get();
+        if (!(unitOfWork instanceof BatchingUnitOfWork<?> batch) || batch.getMessages().size() < 2) {
+            return null;
+        }
+        return unitOfWork.getOrComputeResource(PREFETCHED_GOALS, key -> {
+            Set<String> goalIds = batch.getMessages().stream()
+                .map(message -> ((EventMessage<?>) message).getPayload())
+                .map(GoalProjectionHandler::goalIdOf)
+                .filter(goalId -> goalId != null)
+                .collect(Collectors.toSet());
+            return goalRepository.findAllById(goalIds).stream()
+                .collect(Collectors.toMap(GoalProjection::getGoalId, Function.identity()));
+        });
+    }
+
+    // Which of the batch's progress events already have a history entry, found with one query
+    private boolean progressRecorded(String eventId) {
+        if (!CurrentUnitOfWork.isStarted()
+            || !(CurrentUnitOfWork.get() instanceof BatchingUnitOfWork<?> batch)) {
+            return progressRepository.existsById(eventId);
         }
+        Set<String> recorded = batch.getOrComputeResource(RECORDED_PROGRESS, key -> {
+            List<String> eventIds = batch.getMessages().stream()
+                .filter(message -> ((EventMessage<?>) message).getPayload() instanceof GoalProgressUpdatedEvent)
+                .map(message -> message.getIdentifier())
+                .toList();
+            return Set.copyOf(progressRepository.findRecordedIds(eventIds));
+        });
+        return recorded.contains(eventId);
+    }
+
+    private static String goalIdOf(Object payload) {
+        if (payload instanceof GoalCreatedEvent createdEvent) {
+            return createdEvent.getGoalId();
+        }
+        if (payload instanceof GoalProgressUpdatedEvent progressEvent) {
+            return progressEvent.getGoalId();
+        }
+        if (payload instanceof GoalCompletedEvent completedEvent) {
+            return completedEvent.getGoalId();
+        }
+        return null;
     }
 
     @QueryHandler
@@ -83,12 +248,100 @@ public class GoalProjectionHandler {
     public List<GoalProjection> handle(FindGoalsByUserQuery query) {
         return goalRepository.findByUserId(query.getUserId());
     }
+
+    // Pages by keyset on (updated_at, goal_id) rather than offset, so a page costs the same however
+    // deep it is. The page's ids come from the index first; their tags then come back in one fetch.
+    @QueryHandler
+    public GoalPage handle(FindUserGoalsPageQuery query) {
+        GoalStatus status = query.getStatus() != null ? GoalStatus.valueOf(query.getStatus()) : null;
+        Pageable pageable = query.isPaged() ? Pageable.ofSize(query.getLimit()) : Pageable.unpaged();
+
+        Slice<String> goalIds;
+        if (query.getCursor() == null) {
+            goalIds = goalRepository.findPageIds(query.getUserId(), status, query.getCategory(), pageable);
+        } else {
+            GoalPageCursor cursor = GoalPageCursor.decode(query.getCursor());
+            goalIds = goalRepository.findPageIdsAfter(query.getUserId(), status, query.getCategory(),
+                cursor.updatedAt(), cursor.goalId(), pageable);
+        }
+        if (goalIds.isEmpty()) {
+            return new GoalPage(List.of(), null, query.getCursor() == null ? 0 : countGoals(query, status));
+        }
+
+        Map<String, GoalProjection> goalsById = goalRepository.findByGoalIdIn(goalIds.getContent()).stream()
+            .collect(Collectors.toMap(GoalProjection::getGoalId, Function.identity()));
+        List<GoalProjection> goals = goalIds.getContent().stream()
+            .map(goalsById::get)
+            .filter(goal -> goal != null)
+            .toList();
+
+        String nextCursor = goalIds.hasNext() && !goals.isEmpty()
+            ? GoalPageCursor.after(goals.get(goals.size() - 1)).encode()
+            : null;
+        long totalCount = query.isPaged() ? countGoals(query, status) : goals.size();
+        return new GoalPage(goals, nextCursor, totalCount);
+    }
+
+    private long countGoals(FindUserGoalsPageQuery query, GoalStatus status) {
+        return goalRepository.countMatching(query.getUserId(), status, query.getCategory());
+    }
+
+    // Open ends of the window become the widest bounds, so every request is the same range
+    // scan over idx_goal_progress_goal_time
+    @QueryHandler
+    public List<GoalProgressProjection> handle(FindGoalProgressQuery query) {
+        Instant from = query.getFrom() != null ? query.getFrom() : Instant.EPOCH;
+        Instant to = query.getTo() != null ? query.getTo() : PROGRESS_WINDOW_END;
+        Pageable pageable = query.getLimit() > 0 ? Pageable.ofSize(query.getLimit()) : Pageable.unpaged();
+        return progressRepository.findInWindow(query.getGoalId(), from, to, pageable);
+    }
 }
 
+// Tags are fetched with the goal so results can be mapped after the query's transaction has ended
 interface GoalRepository extends JpaRepository<GoalProjection, String> {
+    @Modifying
+    @Query(value = "delete from goal_tags", nativeQuery = true)
+    void deleteAllTags();
+
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    Optional<GoalProjection> findById(String goalId);
+
+    @EntityGraph(attributePaths = "tags")
     List<GoalProjection> findByUserId(String userId);
+
+    @EntityGraph(attributePaths = "tags")
+    List<GoalProjection> findByGoalIdIn(Collection<String> goalIds);
+
+    // Both page queries walk idx_goals_user_updated in order; the redundant updatedAt <= bound
+    // lets the planner start the scan at the cursor instead of filtering up to it
+    @Query("select g.goalId from GoalProjection g where g.userId = :userId"
+        + " and (:status is null or g.status = :status) and (:category is null or g.category = :category)"
+        + " order by g.updatedAt desc, g.goalId desc")
+    Slice<String> findPageIds(@Param("userId") String userId, @Param("status") GoalStatus status,
+                              @Param("category") String category, Pageable pageable);
+
+    @Query("select g.goalId from GoalProjection g where g.userId = :userId"
+        + " and (:status is null or g.status = :status) and (:category is null or g.category = :category)"
+        + " and g.updatedAt <= :updatedAt and (g.updatedAt < :updatedAt or g.goalId < :goalId)"
+        + " order by g.updatedAt desc, g.goalId desc")
+    Slice<String> findPageIdsAfter(@Param("userId") String userId, @Param("status") GoalStatus status,
+                                   @Param("category") String category, @Param("updatedAt") Instant updatedAt,
+                                   @Param("goalId") String goalId, Pageable pageable);
+
+    @Query("select count(g) from GoalProjection g where g.userId = :userId"
+        + " and (:status is null or g.status = :status) and (:category is null or g.category = :category)")
+    long countMatching(@Param("userId") String userId, @Param("status") GoalStatus status,
+                       @Param("category") String category);
 }
 
 interface GoalProgressRepository extends JpaRepository<GoalProgressProjection, String> {
-    List<GoalProgressProjection> findByGoalIdOrderByUpdateTimestampDesc(String goalId);
+    @Query("select p.progressId from GoalProgressProjection p where p.progressId in :progressIds")
+    List<String> findRecordedIds(@Param("progressIds") Collection<String> progressIds);
+
+    @Query("select p from GoalProgressProjection p where p.goalId = :goalId"
+        + " and p.updateTimestamp >= :from and p.updateTimestamp < :to"
+        + " order by p.updateTimestamp desc")
+    List<GoalProgressProjection> findInWindow(@Param("goalId") String goalId, @Param("from") Instant from,
+                                              @Param("to") Instant to, Pageable pageable);
 }
\ No newline at end of file
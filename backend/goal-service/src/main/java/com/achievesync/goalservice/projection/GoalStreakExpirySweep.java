@@ -0,0 +1,183 @@
+package com.achievesync.goalservice.projection;
+
+import com.achievesync.goalservice.service.UserTimeZones;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Marks streaks whose owner has missed a whole local day as inactive, so goal_streaks itself,
+ * not only reads through the query handler, says which streaks are live. The sweep is
+ * set-based: the goal_id space is split into ranges that are swept in parallel, and each range
+ * is expired in bounded batches of one short transaction each. Batches skip rows another
+ * transaction holds, so the streak projection and sweeps on other instances never wait on it.
+ */
+@Component
+public class GoalStreakExpirySweep {
+
+    // Goal ids are UUIDs, so their first four hex digits spread rows evenly over the ranges
+    private static final int GOAL_ID_PREFIXES = 0x10000;
+
+    private final GoalStreakRepository streakRepository;
+    private final String defaultZone;
+    private final List<ZoneId> zones;
+    private final List<GoalIdRange> ranges;
+    private final int batchSize;
+    private final Duration grace;
+    private final ExecutorService executor;
+    private final Timer duration;
+    private final Counter expired;
+    private final Counter failures;
+    private final AtomicInteger rangesRemaining;
+
+    public GoalStreakExpirySweep(GoalStreakRepository streakRepository, UserTimeZones userTimeZones,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${achievesync.streak-sweep.partitions:16}") int partitions,
+                                 @Value("${achievesync.streak-sweep.parallelism:4}") int parallelism,
+                                 @Value("${achievesync.streak-sweep.batch-size:5000}") int batchSize,
+                                 @Value("${achievesync.streak-sweep.grace:0s}") Duration grace) {
+        if (partitions < 1 || partitions > GOAL_ID_PREFIXES) {
+            throw new IllegalArgumentException(
+                "Streak sweep partitions must be between 1 and " + GOAL_ID_PREFIXES + ", got " + partitions);
+        }
+        this.streakRepository = streakRepository;
+        this.defaultZone = userTimeZones.defaultZone().getId();
+        this.zones = knownZones(userTimeZones.defaultZone());
+        this.ranges = GoalIdRange.split(partitions);
+        this.batchSize = batchSize;
+        this.grace = grace;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "streak-sweep-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.duration = meterRegistry.timer("achievesync.streak-sweep.duration");
+        this.expired = meterRegistry.counter("achievesync.streak-sweep.expired");
+        this.failures = meterRegistry.counter("achievesync.streak-sweep.failures");
+        this.rangesRemaining = meterRegistry.gauge("achievesync.streak-sweep.ranges.remaining", new AtomicInteger());
+    }
+
+    // Hourly by default: some zone reaches midnight every hour, and a run only finds the
+    // streaks that lapsed since the last one
+    @Scheduled(cron = "${achievesync.streak-sweep.cron:0 5 * * * *}")
+    public void sweep() {
+        sweep(Instant.now());
+    }
+
+    /**
+     * Expires every streak whose last progress day is before yesterday in its owner's zone,
+     * the same rule reads apply, as of the grace period before now, and returns how many were
+     * expired. Fails after all ranges have run if any of them failed; the next run picks up
+     * what a failed range left behind.
+     */
+    public long sweep(Instant now) {
+        // A day only lapses grace after the owner's midnight, giving late progress time to arrive
+        Instant asOf = now.minus(grace);
+        // Behind every zone's yesterday, so anything older is expired wherever its owner lives
+        LocalDate expiredEverywhere = LocalDate.ofInstant(asOf, ZoneOffset.MIN).minusDays(1);
+        Map<LocalDate, List<String>> zonesByCutoff = new TreeMap<>();
+        for (ZoneId zone : zones) {
+            LocalDate cutoff = LocalDate.ofInstant(asOf, zone).minusDays(1);
+            if (cutoff.isAfter(expiredEverywhere)) {
+                zonesByCutoff.computeIfAbsent(cutoff, day -> new ArrayList<>()).add(zone.getId());
+            }
+        }
+
+        Timer.Sample sample = Timer.start();
+        rangesRemaining.set(ranges.size());
+        try {
+            List<CompletableFuture<Long>> sweeps = ranges.stream()
+                .map(range -> CompletableFuture.supplyAsync(
+                    () -> sweepRange(range, expiredEverywhere, zonesByCutoff), executor))
+                .toList();
+            CompletableFuture.allOf(sweeps.toArray(CompletableFuture[]::new)).join();
+            return sweeps.stream().mapToLong(CompletableFuture::join).sum();
+        } finally {
+            sample.stop(duration);
+        }
+    }
+
+    private long sweepRange(GoalIdRange range, LocalDate expiredEverywhere,
+                            Map<LocalDate, List<String>> zonesByCutoff) {
+        try {
+            long count = expireInBatches(() -> streakRepository.expireBefore(
+                expiredEverywhere, range.low(), range.high(), batchSize));
+            // The last day or two before each cutoff have only lapsed in zones past that cutoff;
+            // rows in zones outside the region list are left to the pass above, a day later
+            for (Map.Entry<LocalDate, List<String>> group : zonesByCutoff.entrySet()) {
+                count += expireInBatches(() -> streakRepository.expireInZones(expiredEverywhere, group.getKey(),
+                    group.getValue(), defaultZone, range.low(), range.high(), batchSize));
+            }
+            return count;
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            rangesRemaining.decrementAndGet();
+        }
+    }
+
+    // A short batch means the range is done, apart from rows another transaction held
+    private long expireInBatches(IntSupplier batch) {
+        long count = 0;
+        int updated;
+        do {
+            updated = batch.getAsInt();
+            expired.increment(updated);
+            count += updated;
+        } while (updated == batchSize);
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static List<ZoneId> knownZones(ZoneId defaultZone) {
+        TreeSet<String> ids = new TreeSet<>(ZoneId.getAvailableZoneIds());
+        ids.add(defaultZone.getId());
+        return ids.stream().map(ZoneId::of).toList();
+    }
+
+    /**
+     * A slice of the goal_id key space; an empty bound is open. The first range is open below
+     * and the last open above, so together they cover every id whatever its format.
+     */
+    record GoalIdRange(String low, String high) {
+
+        static List<GoalIdRange> split(int partitions) {
+            List<GoalIdRange> ranges = new ArrayList<>(partitions);
+            String low = "";
+            for (int i = 1; i <= partitions; i++) {
+                String high = i == partitions
+                    ? ""
+                    : String.format("%04x", (long) i * GOAL_ID_PREFIXES / partitions);
+                ranges.add(new GoalIdRange(low, high));
+                low = high;
+            }
+            return ranges;
+        }
+    }
+}
\ No newline at end of file
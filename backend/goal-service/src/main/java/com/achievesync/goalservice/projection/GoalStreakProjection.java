@@ -1,11 +1,17 @@
 package com.achievesync.goalservice.projection;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "goal_streaks")
-public class GoalStreakProjection {
+// Lets the expiry sweep find active streaks by last progress day without scanning the table
+@Table(name = "goal_streaks", indexes = {
+    @Index(name = "idx_goal_streaks_active_last_update", columnList = "is_streak_active, last_streak_update")
+})
+public class GoalStreakProjection implements Persistable<String> {
     
     @Id
     @Column(name = "goal_id")
@@ -23,6 +29,16 @@ public class GoalStreakProjection {
     @Column(name = "is_streak_active")
     private boolean isStreakActive;
 
+    @Column(name = "user_id")
+    private String userId;
+
+    // Zone the last update was bucketed in, so reads can tell what "today" is for this user
+    @Column(name = "time_zone")
+    private String timeZone;
+
+    @Transient
+    private boolean isNew;
+
     public GoalStreakProjection() {}
     
     public GoalStreakProjection(String goalId, int currentStreakDays, int longestStreakDays, 
@@ -49,4 +65,24 @@ public class GoalStreakProjection {
     
     public boolean isStreakActive() { return isStreakActive; }
     public void setStreakActive(boolean streakActive) { isStreakActive = streakActive; }
+    
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    @Override
+    @JsonIgnore
+    public String getId() { return goalId; }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() { return isNew; }
+
+    void markNew() { this.isNew = true; }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() { this.isNew = false; }
 }
\ No newline at end of file
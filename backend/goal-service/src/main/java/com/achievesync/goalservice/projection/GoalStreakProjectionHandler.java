@@ -0,0 +1,155 @@
+package com.achievesync.goalservice.projection;
+
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import com.achievesync.goalservice.query.FindGoalStreakQuery;
+import com.achievesync.goalservice.service.EpochDayStreakEngine;
+import com.achievesync.goalservice.service.UserTimeZones;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.eventhandling.ResetHandler;
+import org.axonframework.queryhandling.QueryHandler;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+
+/**
+ * Maintains the goal_streaks table one event at a time, so a streak read is a single
+ * primary-key lookup instead of a sort and scan over the whole progress history.
+ * Replaying this processing group from the start of the event store rebuilds the table.
+ * Days are counted in the owner's time zone as recorded on the events, so handling an event
+ * never calls the user service.
+ */
+@Component
+@ProcessingGroup(GoalStreakProjectionHandler.PROCESSING_GROUP)
+public class GoalStreakProjectionHandler {
+
+    public static final String PROCESSING_GROUP = "goal-streak-processor";
+
+    private final GoalStreakRepository streakRepository;
+    private final UserTimeZones userTimeZones;
+
+    public GoalStreakProjectionHandler(GoalStreakRepository streakRepository, UserTimeZones userTimeZones) {
+        this.streakRepository = streakRepository;
+        this.userTimeZones = userTimeZones;
+    }
+
+    // A replay over rows that are already there, such as one started without a reset, keeps
+    // the existing row and only fills in who owns it
+    @EventHandler
+    public void on(GoalCreatedEvent event) {
+        GoalStreakProjection streak = findOrCreate(event.getGoalId());
+        streak.setUserId(event.getUserId());
+        if (streak.getTimeZone() == null) {
+            streak.setTimeZone(event.getTimeZone());
+        }
+        streakRepository.save(streak);
+    }
+
+    @EventHandler
+    public void on(GoalProgressUpdatedEvent event) {
+        GoalStreakProjection streak = findOrCreate(event.getGoalId());
+
+        // Updates whose zone was unknown count in the zone the streak last used, and events from
+        // before goals recorded one in the default zone
+        String zoneId = event.getTimeZone() != null ? event.getTimeZone() : streak.getTimeZone();
+        ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : userTimeZones.defaultZone();
+        LocalDate progressDate = LocalDate.ofEpochDay(
+            EpochDayStreakEngine.epochDay(event.getUpdatedAt(), userTimeZones.rules(zone)));
+        LocalDate lastProgressDate = streak.getLastStreakUpdate();
+
+        // Several updates on the same day count once; events arrive in order per goal
+        if (lastProgressDate != null && !progressDate.isAfter(lastProgressDate)) {
+            return;
+        }
+
+        if (lastProgressDate != null && lastProgressDate.plusDays(1).equals(progressDate)) {
+            streak.setCurrentStreakDays(streak.getCurrentStreakDays() + 1);
+        } else {
+            streak.setCurrentStreakDays(1);
+        }
+        streak.setLongestStreakDays(Math.max(streak.getLongestStreakDays(), streak.getCurrentStreakDays()));
+        streak.setLastStreakUpdate(progressDate);
+        streak.setStreakActive(true);
+        streak.setTimeZone(zone.getId());
+
+        streakRepository.save(streak);
+    }
+
+    private GoalStreakProjection findOrCreate(String goalId) {
+        return streakRepository.findById(goalId)
+            .orElseGet(() -> {
+                GoalStreakProjection created = new GoalStreakProjection(goalId, 0, 0, null, false);
+                created.markNew();
+                return created;
+            });
+    }
+
+    @ResetHandler
+    public void reset() {
+        streakRepository.deleteAllInBatch();
+    }
+
+    @QueryHandler
+    public GoalStreakProjection handle(FindGoalStreakQuery query) {
+        return streakRepository.findById(query.getGoalId())
+            .map(this::asOfToday)
+            .orElse(null);
+    }
+
+    // A streak is still active if the last progress was today or yesterday in the zone it was
+    // recorded in; reads never call the user service. The expiry sweep only clears
+    // is_streak_active and leaves current_streak_days for the handler to continue from, so an
+    // inactive streak reads as zero current days
+    private GoalStreakProjection asOfToday(GoalStreakProjection streak) {
+        LocalDate lastProgressDate = streak.getLastStreakUpdate();
+        ZoneId zone = streak.getTimeZone() != null ? ZoneId.of(streak.getTimeZone()) : userTimeZones.defaultZone();
+        boolean lapsed = lastProgressDate != null && lastProgressDate.isBefore(LocalDate.now(zone).minusDays(1));
+        if ((streak.isStreakActive() && !lapsed) || streak.getCurrentStreakDays() == 0) {
+            return streak;
+        }
+        GoalStreakProjection expired = new GoalStreakProjection(
+            streak.getGoalId(), 0, streak.getLongestStreakDays(), lastProgressDate, false);
+        expired.setUserId(streak.getUserId());
+        expired.setTimeZone(streak.getTimeZone());
+        return expired;
+    }
+}
+
+// Expiry statements for GoalStreakExpirySweep. Each expires at most :batchSize active streaks in
+// one goal_id range in its own transaction and skips rows another transaction has locked;
+// an empty :highGoalId leaves the range open above. They only clear is_streak_active: the
+// handler continues current_streak_days from a late or replayed event of the next day, so the
+// sweep must not zero it while the processor is behind
+interface GoalStreakRepository extends JpaRepository<GoalStreakProjection, String> {
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "update goal_streaks set is_streak_active = false"
+        + " where goal_id in (select goal_id from goal_streaks where is_streak_active = true"
+        + " and last_streak_update < :before"
+        + " and goal_id >= :lowGoalId and (:highGoalId = '' or goal_id < :highGoalId)"
+        + " limit :batchSize for update skip locked)")
+    int expireBefore(@Param("before") LocalDate before, @Param("lowGoalId") String lowGoalId,
+                     @Param("highGoalId") String highGoalId, @Param("batchSize") int batchSize);
+
+    // Rows without a zone were bucketed in :defaultZone
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "update goal_streaks set is_streak_active = false"
+        + " where goal_id in (select goal_id from goal_streaks where is_streak_active = true"
+        + " and last_streak_update >= :from and last_streak_update < :before"
+        + " and coalesce(time_zone, :defaultZone) in (:zones)"
+        + " and goal_id >= :lowGoalId and (:highGoalId = '' or goal_id < :highGoalId)"
+        + " limit :batchSize for update skip locked)")
+    int expireInZones(@Param("from") LocalDate from, @Param("before") LocalDate before,
+                      @Param("zones") Collection<String> zones, @Param("defaultZone") String defaultZone,
+                      @Param("lowGoalId") String lowGoalId, @Param("highGoalId") String highGoalId,
+                      @Param("batchSize") int batchSize);
+}
\ No newline at end of file
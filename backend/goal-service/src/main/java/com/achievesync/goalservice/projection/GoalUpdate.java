@@ -0,0 +1,58 @@
+package com.achievesync.goalservice.projection;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A goal's state right after the projection applied one event, pushed to subscribers of
+ * FindGoalsByUserQuery. Fields mirror {@link GoalProjection}; tags only travel with a newly
+ * created goal because no later event changes them.
+ */
+public class GoalUpdate {
+    private final String goalId;
+    private final String userId;
+    private final String description;
+    private final LocalDate targetDate;
+    private final GoalStatus status;
+    private final double progressPercentage;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+    private final String category;
+    private final List<String> tags;
+
+    private GoalUpdate(GoalProjection goal, List<String> tags) {
+        this.goalId = goal.getGoalId();
+        this.userId = goal.getUserId();
+        this.description = goal.getDescription();
+        this.targetDate = goal.getTargetDate();
+        this.status = goal.getStatus();
+        this.progressPercentage = goal.getProgressPercentage();
+        this.createdAt = goal.getCreatedAt();
+        this.updatedAt = goal.getUpdatedAt();
+        this.category = goal.getCategory();
+        this.tags = tags;
+    }
+
+    static GoalUpdate created(GoalProjection goal) {
+        return new GoalUpdate(goal, List.copyOf(goal.getTags()));
+    }
+
+    // Leaves the tag collection alone, which may not have been loaded for this goal
+    static GoalUpdate changed(GoalProjection goal) {
+        return new GoalUpdate(goal, null);
+    }
+
+    public String getGoalId() { return goalId; }
+    public String getUserId() { return userId; }
+    public String getDescription() { return description; }
+    public LocalDate getTargetDate() { return targetDate; }
+    public GoalStatus getStatus() { return status; }
+    public double getProgressPercentage() { return progressPercentage; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public String getCategory() { return category; }
+
+    // Null when unchanged
+    public List<String> getTags() { return tags; }
+}
\ No newline at end of file
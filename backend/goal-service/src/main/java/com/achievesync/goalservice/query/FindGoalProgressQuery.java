@@ -0,0 +1,30 @@
+package com.achievesync.goalservice.query;
+
+import java.time.Instant;
+
+/**
+ * Progress history of a goal, newest first. from is inclusive and to exclusive; either may be
+ * null to leave that end open. A limit of 0 returns every entry in the window.
+ */
+public class FindGoalProgressQuery {
+    private final String goalId;
+    private final Instant from;
+    private final Instant to;
+    private final int limit;
+
+    public FindGoalProgressQuery(String goalId) {
+        this(goalId, null, null, 0);
+    }
+
+    public FindGoalProgressQuery(String goalId, Instant from, Instant to, int limit) {
+        this.goalId = goalId;
+        this.from = from;
+        this.to = to;
+        this.limit = Math.max(limit, 0);
+    }
+
+    public String getGoalId() { return goalId; }
+    public Instant getFrom() { return from; }
+    public Instant getTo() { return to; }
+    public int getLimit() { return limit; }
+}
\ No newline at end of file
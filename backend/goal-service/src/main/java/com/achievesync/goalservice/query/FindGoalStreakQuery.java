@@ -0,0 +1,11 @@
+package com.achievesync.goalservice.query;
+
+public class FindGoalStreakQuery {
+    private final String goalId;
+
+    public FindGoalStreakQuery(String goalId) {
+        this.goalId = goalId;
+    }
+
+    public String getGoalId() { return goalId; }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.achievesync.goalservice.query;
+
+/**
+ * One page of a user's goals, newest update first. status and category are optional
+ * filters; cursor is the nextCursor of the previous page, or null for the first page.
+ * Without a limit or a cursor every matching goal comes back in one page, as the listing
+ * did before it was paged.
+ */
+public class FindUserGoalsPageQuery {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    public static final int UNPAGED = 0;
+
+    private final String userId;
+    private final String status;
+    private final String category;
+    private final String cursor;
+    private final int limit;
+
+    public FindUserGoalsPageQuery(String userId, String status, String category, String cursor, int limit) {
+        this.userId = userId;
+        this.status = status;
+        this.category = category;
+        this.cursor = cursor;
+        this.limit = limit > 0 ? Math.min(limit, MAX_LIMIT) : cursor != null ? DEFAULT_LIMIT : UNPAGED;
+    }
+
+    public String getUserId() { return userId; }
+    public String getStatus() { return status; }
+    public String getCategory() { return category; }
+    public String getCursor() { return cursor; }
+    public int getLimit() { return limit; }
+    public boolean isPaged() { return limit != UNPAGED; }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.goalservice.command.UpdateGoalProgressCommand;
+import jakarta.annotation.PreDestroy;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.common.AxonNonTransientException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies a batch of progress updates, such as a client's offline queue, in one call. Updates
+ * for the same goal run one after another in their original order; different goals run
+ * concurrently on a fixed pool, so a sync costs about as long as its longest goal. Each update
+ * counts at the time the client recorded it, which may be up to max-age ago and no more than
+ * max-clock-skew ahead of the server's clock.
+ */
+@Service
+public class BulkProgressService {
+
+    private final CommandGateway commandGateway;
+    private final int maxEntries;
+    private final Duration maxAge;
+    private final Duration maxClockSkew;
+    private final ExecutorService executor;
+
+    public BulkProgressService(CommandGateway commandGateway,
+                               @Value("${achievesync.bulk-progress.parallelism:8}") int parallelism,
+                               @Value("${achievesync.bulk-progress.max-entries:500}") int maxEntries,
+                               @Value("${achievesync.bulk-progress.max-age:30d}") Duration maxAge,
+                               @Value("${achievesync.bulk-progress.max-clock-skew:5m}") Duration maxClockSkew) {
+        this.commandGateway = commandGateway;
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+        this.maxClockSkew = maxClockSkew;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-progress-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<List<ProgressResult>> updateProgress(List<UpdateGoalProgressCommand> commands) {
+        if (commands.size() > maxEntries) {
+            throw new IllegalArgumentException(
+                "At most " + maxEntries + " progress entries per request, got " + commands.size());
+        }
+
+        Map<String, List<Integer>> lanes = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            String goalId = commands.get(i).getGoalId();
+            if (goalId == null || goalId.isBlank()) {
+                throw new IllegalArgumentException("Progress entry " + i + " has no goalId");
+            }
+            lanes.computeIfAbsent(goalId, key -> new ArrayList<>()).add(i);
+        }
+
+        ProgressResult[] results = new ProgressResult[commands.size()];
+        CompletableFuture<?>[] laneFutures = lanes.values().stream()
+            .map(lane -> CompletableFuture.runAsync(() -> runLane(commands, lane, results), executor))
+            .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(laneFutures).thenApply(done -> List.of(results));
+    }
+
+    // A failed update does not stop the rest of its lane; each entry reports its own outcome
+    private void runLane(List<UpdateGoalProgressCommand> commands, List<Integer> lane, ProgressResult[] results) {
+        for (int index : lane) {
+            UpdateGoalProgressCommand command = commands.get(index);
+            try {
+                checkRecordedAt(command.getRecordedAt());
+                commandGateway.sendAndWait(command);
+                results[index] = new ProgressResult(index, command.getGoalId(), true, null, false);
+            } catch (Exception e) {
+                results[index] = new ProgressResult(index, command.getGoalId(), false, e.getMessage(), isRetryable(e));
+            }
+        }
+    }
+
+    private void checkRecordedAt(Instant recordedAt) {
+        if (recordedAt == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        if (recordedAt.isAfter(now.plus(maxClockSkew))) {
+            throw new IllegalArgumentException("Progress recorded at " + recordedAt + " is in the future");
+        }
+        if (recordedAt.isBefore(now.minus(maxAge))) {
+            throw new IllegalArgumentException("Progress recorded at " + recordedAt + " is too old to apply");
+        }
+    }
+
+    // An update the goal rejected fails the same way when sent again; anything else, such as a
+    // conflicting concurrent update or a timeout, may succeed later
+    private static boolean isRetryable(Exception e) {
+        return !(e instanceof IllegalArgumentException || e instanceof IllegalStateException
+            || e instanceof AxonNonTransientException);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public static class ProgressResult {
+        private final int index;
+        private final String goalId;
+        private final boolean success;
+        private final String error;
+        private final boolean retryable;
+
+        public ProgressResult(int index, String goalId, boolean success, String error, boolean retryable) {
+            this.index = index;
+            this.goalId = goalId;
+            this.success = success;
+            this.error = error;
+            this.retryable = retryable;
+        }
+
+        public int getIndex() { return index; }
+        public String getGoalId() { return goalId; }
+        public boolean isSuccess() { return success; }
+        public String getError() { return error; }
+
+        // Whether a failed update may succeed if the client sends it again
+        public boolean isRetryable() { return retryable; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.achievesync.goalservice.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * Streak calculation over progress days given as epoch days (days since 1970-01-01 in the
+ * user's zone). One in-place sort, then a single newest-to-oldest pass that skips repeated
+ * days; nothing is allocated per entry, so it suits long histories and batch recomputation.
+ */
+public final class EpochDayStreakEngine {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private EpochDayStreakEngine() {
+    }
+
+    public static int epochDay(Instant timestamp, ZoneId zone) {
+        return epochDay(timestamp, zone.getRules());
+    }
+
+    // Pass rules resolved once per zone (see UserTimeZones) when bucketing many timestamps
+    public static int epochDay(Instant timestamp, ZoneRules rules) {
+        long localSeconds = timestamp.getEpochSecond() + rules.getOffset(timestamp).getTotalSeconds();
+        return (int) Math.floorDiv(localSeconds, SECONDS_PER_DAY);
+    }
+
+    /**
+     * Calculates the streak from the first {@code length} entries of {@code epochDays}, which
+     * may be in any order and contain the same day more than once. Sorts that range in place.
+     * A streak is active while the last progress day is today or yesterday.
+     */
+    public static StreakCalculationService.StreakData calculate(int[] epochDays, int length, int today) {
+        if (length == 0) {
+            return new StreakCalculationService.StreakData(0, 0, null, false);
+        }
+        Arrays.sort(epochDays, 0, length);
+
+        int lastDay = epochDays[length - 1];
+        int previousDay = lastDay;
+        int run = 1;
+        int currentStreak = -1;
+        int longestStreak = 0;
+
+        for (int i = length - 2; i >= 0; i--) {
+            int day = epochDays[i];
+            if (day == previousDay) {
+                continue;
+            }
+            if (day == previousDay - 1) {
+                run++;
+            } else {
+                // The first run to end is the most recent one
+                if (currentStreak < 0) {
+                    currentStreak = run;
+                }
+                longestStreak = Math.max(longestStreak, run);
+                run = 1;
+            }
+            previousDay = day;
+        }
+        if (currentStreak < 0) {
+            currentStreak = run;
+        }
+        longestStreak = Math.max(longestStreak, run);
+
+        boolean active = today - lastDay <= 1;
+        return new StreakCalculationService.StreakData(
+            active ? currentStreak : 0, longestStreak, LocalDate.ofEpochDay(lastDay), active);
+    }
+}
\ No newline at end of file
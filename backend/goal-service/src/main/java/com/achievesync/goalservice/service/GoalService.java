@@ -5,7 +5,9 @@ import com.achievesync.goalservice.command.UpdateGoalProgressCommand;
 import com.achievesync.goalservice.command.CompleteGoalCommand;
 import com.achievesync.goalservice.projection.GoalProjection;
 import com.achievesync.goalservice.projection.GoalProgressProjection;
+import com.achievesync.goalservice.projection.GoalStreakProjection;
 import com.achievesync.goalservice.query.FindGoalQuery;
+import com.achievesync.goalservice.query.FindGoalStreakQuery;
 import com.achievesync.goalservice.query.FindGoalsByUserQuery;
 import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.axonframework.queryhandling.QueryGateway;
@@ -58,6 +60,10 @@ public class GoalService {
         );
     }
 
+    public CompletableFuture<GoalStreakProjection> getGoalStreak(String goalId) {
+        return queryGateway.query(new FindGoalStreakQuery(goalId), GoalStreakProjection.class);
+    }
+
     public StreakCalculationService.StreakData calculateGoalStreak(String goalId, 
                                                                   List<GoalProgressProjection> progressHistory) {
         return streakCalculationService.calculateStreak(progressHistory);
@@ -0,0 +1,87 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.goalservice.projection.GoalProjection;
+import com.achievesync.goalservice.projection.GoalUpdate;
+import com.achievesync.goalservice.query.FindGoalsByUserQuery;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.queryhandling.QueryGateway;
+import org.axonframework.queryhandling.SubscriptionQueryResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves a user's goal list as server-sent events: one "goals" event with the current list,
+ * then a "goal" event for each change as the projection applies it. Backed by an Axon
+ * subscription query, so an open stream costs one projection read when it connects instead
+ * of one per poll.
+ */
+@Service
+public class GoalStreamService {
+
+    static final String SNAPSHOT_EVENT = "goals";
+    static final String UPDATE_EVENT = "goal";
+
+    private final QueryGateway queryGateway;
+    private final Duration timeout;
+    private final Duration heartbeat;
+
+    public GoalStreamService(QueryGateway queryGateway,
+                             @Value("${achievesync.goal-stream.timeout:30m}") Duration timeout,
+                             @Value("${achievesync.goal-stream.heartbeat:25s}") Duration heartbeat) {
+        this.queryGateway = queryGateway;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+    }
+
+    // After the timeout the stream completes and EventSource clients reconnect, which also
+    // picks up a fresh snapshot
+    public SseEmitter streamUserGoals(String userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        SubscriptionQueryResult<List<GoalProjection>, GoalUpdate> result = queryGateway.subscriptionQuery(
+            new FindGoalsByUserQuery(userId),
+            ResponseTypes.multipleInstancesOf(GoalProjection.class),
+            ResponseTypes.instanceOf(GoalUpdate.class));
+
+        // Updates emitted while the snapshot is read are buffered and follow it in order
+        Sinks.Empty<Void> eventsDone = Sinks.empty();
+        Flux<SseEventBuilder> events = result.initialResult()
+            .map(goals -> SseEmitter.event().name(SNAPSHOT_EVENT).data(goals))
+            .concatWith(result.updates().map(update -> SseEmitter.event().name(UPDATE_EVENT).data(update)))
+            .doFinally(signal -> eventsDone.tryEmitEmpty());
+        // Comments keep idle connections open through proxies; they stop with the events
+        Flux<SseEventBuilder> heartbeats = Flux.interval(heartbeat, heartbeat)
+            .map(tick -> SseEmitter.event().comment("keep-alive"))
+            .takeUntilOther(eventsDone.asMono());
+
+        Disposable subscription = events.mergeWith(heartbeats)
+            .subscribe(event -> send(emitter, event), emitter::completeWithError, emitter::complete);
+
+        Runnable close = () -> {
+            subscription.dispose();
+            result.close();
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(error -> close.run());
+        return emitter;
+    }
+
+    // A failed write means the client went away; the error ends the subscription
+    private static void send(SseEmitter emitter, SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.goalservice.command.CreateGoalCommand;
+import com.achievesync.goalservice.command.UpdateGoalProgressCommand;
+import com.achievesync.goalservice.projection.GoalProjection;
+import com.achievesync.goalservice.query.FindGoalQuery;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.messaging.GenericMessage;
+import org.axonframework.messaging.MessageDispatchInterceptor;
+import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Resolves the owner's time zone on the sending thread and carries it on goal commands, so the
+ * aggregate only records it and a slow user service never holds an aggregate's lock. A progress
+ * update finds its owner in the goal projection; one whose goal is not there yet, or whose
+ * lookup fails, is sent without a zone and counts in the zone its streak last used.
+ */
+@Component
+public class GoalTimeZoneInterceptor implements MessageDispatchInterceptor<CommandMessage<?>> {
+
+    private final UserTimeZones userTimeZones;
+    private final QueryGateway queryGateway;
+
+    public GoalTimeZoneInterceptor(UserTimeZones userTimeZones, QueryGateway queryGateway) {
+        this.userTimeZones = userTimeZones;
+        this.queryGateway = queryGateway;
+    }
+
+    @Override
+    public BiFunction<Integer, CommandMessage<?>, CommandMessage<?>> handle(List<? extends CommandMessage<?>> messages) {
+        return (index, command) -> {
+            if (command.getPayload() instanceof CreateGoalCommand create && create.getTimeZone() == null) {
+                return withPayload(command, create.withTimeZone(zoneId(userTimeZones.knownZoneFor(create.getUserId()))));
+            }
+            if (command.getPayload() instanceof UpdateGoalProgressCommand update && update.getTimeZone() == null) {
+                String ownerId = ownerOf(update.getGoalId());
+                return ownerId == null
+                    ? command
+                    : withPayload(command, update.withTimeZone(zoneId(userTimeZones.knownZoneFor(ownerId))));
+            }
+            return command;
+        };
+    }
+
+    private String ownerOf(String goalId) {
+        if (goalId == null) {
+            return null;
+        }
+        GoalProjection goal = queryGateway.query(new FindGoalQuery(goalId), GoalProjection.class).join();
+        return goal != null ? goal.getUserId() : null;
+    }
+
+    private static CommandMessage<?> withPayload(CommandMessage<?> command, Object payload) {
+        return new GenericCommandMessage<>(
+            new GenericMessage<>(command.getIdentifier(), payload, command.getMetaData()), command.getCommandName());
+    }
+
+    private static String zoneId(ZoneId zone) {
+        return zone != null ? zone.getId() : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.goalservice.projection.GoalStreakProjectionHandler;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Rebuilds a projection by resetting its processor's tokens, which replays the event store
+ * from the beginning through the processing group's @ResetHandler and event handlers.
+ */
+@Service
+public class ProjectionRebuildService {
+
+    private final EventProcessingConfiguration eventProcessingConfiguration;
+
+    public ProjectionRebuildService(EventProcessingConfiguration eventProcessingConfiguration) {
+        this.eventProcessingConfiguration = eventProcessingConfiguration;
+    }
+
+    public CompletableFuture<Void> rebuildGoalStreaks() {
+        return rebuild(GoalStreakProjectionHandler.PROCESSING_GROUP);
+    }
+
+    public CompletableFuture<Void> rebuild(String processingGroup) {
+        StreamingEventProcessor processor = eventProcessingConfiguration
+            .eventProcessorByProcessingGroup(processingGroup, StreamingEventProcessor.class)
+            .orElseThrow(() -> new IllegalArgumentException(
+                "No streaming event processor for processing group: " + processingGroup));
+
+        return processor.shutdownAsync().thenRun(() -> {
+            processor.resetTokens();
+            processor.start();
+        });
+    }
+}
\ No newline at end of file
@@ -5,82 +5,29 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneRules;
 import java.util.List;
 
 @Service
 public class StreakCalculationService {
 
+    // Days in the server's zone; prefer the overload taking the user's zone
     public StreakData calculateStreak(List<GoalProgressProjection> progressHistory) {
+        return calculateStreak(progressHistory, ZoneId.systemDefault());
+    }
+
+    // Same-day updates count once; the caller's list is left as it is
+    public StreakData calculateStreak(List<GoalProgressProjection> progressHistory, ZoneId zone) {
         if (progressHistory == null || progressHistory.isEmpty()) {
             return new StreakData(0, 0, null, false);
         }
 
-        // Sort by timestamp descending (most recent first)
-        progressHistory.sort((a, b) -> b.getUpdateTimestamp().compareTo(a.getUpdateTimestamp()));
-
-        int currentStreak = 0;
-        int longestStreak = 0;
-        LocalDate lastProgressDate = null;
-        boolean isStreakActive = false;
-
-        LocalDate previousDate = null;
-        int tempStreak = 0;
-
-        for (GoalProgressProjection progress : progressHistory) {
-            LocalDate progressDate = progress.getUpdateTimestamp().atZone(ZoneId.systemDefault()).toLocalDate();
-            
-            if (lastProgressDate == null) {
-                lastProgressDate = progressDate;
-            }
-
-            if (previousDate == null) {
-                tempStreak = 1;
-                previousDate = progressDate;
-                continue;
-            }
-
-            long daysBetween = ChronoUnit.DAYS.between(progressDate, previousDate);
-            
-            if (daysBetween == 1) {
-                // Consecutive days
-                tempStreak++;
-            } else {
-                // Break in streak
-                if (tempStreak > longestStreak) {
-                    longestStreak = tempStreak;
-                }
-                
-                if (currentStreak == 0 && previousDate.equals(lastProgressDate)) {
-                    currentStreak = tempStreak;
-                }
-                
-                tempStreak = 1;
-            }
-            
-            previousDate = progressDate;
+        ZoneRules rules = zone.getRules();
+        int[] epochDays = new int[progressHistory.size()];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = EpochDayStreakEngine.epochDay(progressHistory.get(i).getUpdateTimestamp(), rules);
         }
-
-        // Handle the last streak
-        if (tempStreak > longestStreak) {
-            longestStreak = tempStreak;
-        }
-        
-        if (currentStreak == 0) {
-            currentStreak = tempStreak;
-        }
-
-        // Check if streak is still active (last progress within 2 days)
-        if (lastProgressDate != null) {
-            long daysSinceLastProgress = ChronoUnit.DAYS.between(lastProgressDate, LocalDate.now());
-            isStreakActive = daysSinceLastProgress <= 1;
-            
-            if (!isStreakActive) {
-                currentStreak = 0;
-            }
-        }
-
-        return new StreakData(currentStreak, longestStreak, lastProgressDate, isStreakActive);
+        return EpochDayStreakEngine.calculate(epochDays, epochDays.length, (int) LocalDate.now(zone).toEpochDay());
     }
 
     public static class StreakData {
@@ -0,0 +1,113 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.grpc.UserServiceGrpc;
+import com.achievesync.grpc.UserServiceProto.GetUserRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each user's time zone, which decides the day a progress update counts for. Zones come from
+ * the user service and are cached per user; rules are cached per zone, so bucketing an
+ * update into a day is a cache hit plus offset arithmetic. Users without a zone get the
+ * default zone; failed lookups are not cached, so the next call retries.
+ */
+@Service
+public class UserTimeZones {
+
+    private final ZoneId defaultZone;
+    private final Duration lookupTimeout;
+    private final Cache<String, ZoneId> zonesByUser;
+    private final ConcurrentMap<ZoneId, ZoneRules> rulesByZone = new ConcurrentHashMap<>();
+    private final Counter lookupFailures;
+
+    private UserServiceGrpc.UserServiceBlockingStub userService;
+
+    public UserTimeZones(MeterRegistry meterRegistry,
+                         @Value("${achievesync.time-zones.default:UTC}") String defaultZone,
+                         @Value("${achievesync.time-zones.maximum-size:10000}") long maximumSize,
+                         @Value("${achievesync.time-zones.expire-after-write:10m}") Duration expireAfterWrite,
+                         @Value("${achievesync.time-zones.lookup-timeout:2s}") Duration lookupTimeout) {
+        this.defaultZone = ZoneId.of(defaultZone);
+        this.lookupTimeout = lookupTimeout;
+        this.zonesByUser = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, zonesByUser, "userTimeZoneCache");
+        this.lookupFailures = meterRegistry.counter("achievesync.time-zones.lookup.failures");
+    }
+
+    // Left unset when the gRPC client autoconfiguration is off; every user then gets the default
+    @GrpcClient("user-service")
+    public void setUserService(UserServiceGrpc.UserServiceBlockingStub userService) {
+        this.userService = userService;
+    }
+
+    public ZoneId defaultZone() {
+        return defaultZone;
+    }
+
+    // The default zone when the lookup fails
+    public ZoneId zoneFor(String userId) {
+        ZoneId zone = knownZoneFor(userId);
+        return zone != null ? zone : defaultZone;
+    }
+
+    // Null when the lookup fails, so callers can tell an unknown zone from the default
+    public ZoneId knownZoneFor(String userId) {
+        if (userId == null) {
+            return defaultZone;
+        }
+        ZoneId cached = zonesByUser.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        // Looked up outside the cache's compute so a slow call holds no cache lock; two
+        // concurrent misses for one user both look it up, which is harmless
+        ZoneId zone = lookup(userId);
+        if (zone != null) {
+            zonesByUser.put(userId, zone);
+        }
+        return zone;
+    }
+
+    public ZoneRules rules(ZoneId zone) {
+        return rulesByZone.computeIfAbsent(zone, ZoneId::getRules);
+    }
+
+    public ZoneRules rulesFor(String userId) {
+        return rules(zoneFor(userId));
+    }
+
+    // The default zone when the user has none set, null when the lookup failed
+    private ZoneId lookup(String userId) {
+        if (userService == null) {
+            return defaultZone;
+        }
+        try {
+            String timeZone = userService.withDeadlineAfter(lookupTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .getUser(GetUserRequest.newBuilder().setUserId(userId).build())
+                .getTimeZone();
+            return timeZone.isEmpty() ? defaultZone : ZoneId.of(timeZone);
+        } catch (StatusRuntimeException | DateTimeException e) {
+            lookupFailures.increment();
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+-- Axon event store, token store and saga store. Payloads, metadata and tokens are bytea (see
+-- ByteaPostgreSQLDialect) and event timestamps are native timestamps (see EventTimestampConverter).
+
+-- Hibernate hands out global indexes in blocks of 50, so the sequence steps by 50 to match
+create sequence domain_event_entry_seq start with 1 increment by 50;
+
+-- Events are range-partitioned by global_index. A tracking processor reads forward from its
+-- token, so its scans stay in the newest partition, and older partitions can be detached or
+-- archived whole. Partitions are created ahead of the sequence by ensure_domain_event_partitions.
+create table domain_event_entry (
+    global_index bigint not null,
+    sequence_number bigint not null,
+    time_stamp timestamp(6) with time zone not null,
+    meta_data bytea,
+    payload bytea not null,
+    aggregate_identifier varchar(255) not null,
+    event_identifier varchar(255) not null,
+    payload_revision varchar(255),
+    payload_type varchar(255) not null,
+    type varchar(255),
+    primary key (global_index)
+) partition by range (global_index);
+
+-- Loading an aggregate reads its events from sequence_number on
+create index domain_event_entry_aggregate on domain_event_entry (aggregate_identifier, sequence_number);
+
+-- Resetting a processor to a point in time looks up the first event at or after it. Events are
+-- appended in time order, so a BRIN index answers that from a few pages per partition.
+create index domain_event_entry_time_stamp on domain_event_entry using brin (time_stamp) with (pages_per_range = 32);
+
+-- A unique index on a partitioned table must include the partition key, so the per-aggregate
+-- sequence check Axon relies on for optimistic locking is kept here instead, one row per
+-- aggregate. An event has to follow its aggregate's last sequence number; otherwise the insert
+-- fails as a unique violation, which Axon reports as a ConcurrencyException.
+create table domain_event_aggregate (
+    aggregate_identifier varchar(255) not null,
+    last_sequence_number bigint not null,
+    primary key (aggregate_identifier)
+);
+
+create function domain_event_entry_append() returns trigger
+language plpgsql as $$
+begin
+    if new.sequence_number = 0 then
+        insert into domain_event_aggregate (aggregate_identifier, last_sequence_number)
+        values (new.aggregate_identifier, 0);
+    else
+        update domain_event_aggregate
+        set last_sequence_number = new.sequence_number
+        where aggregate_identifier = new.aggregate_identifier
+          and last_sequence_number = new.sequence_number - 1;
+        if not found then
+            raise unique_violation using message = format(
+                'Event %s of aggregate %s does not follow its last event',
+                new.sequence_number, new.aggregate_identifier);
+        end if;
+    end if;
+    return new;
+end;
+$$;
+
+create trigger domain_event_entry_append
+    before insert on domain_event_entry
+    for each row execute function domain_event_entry_append();
+
+-- Creates the partition the global index sequence is in and the next `ahead` partitions, each
+-- covering 10,000,000 global indexes, and returns how many it created. Inserting past the last
+-- partition fails, so EventPartitionMaintenance calls this on a schedule.
+create function ensure_domain_event_partitions(ahead integer) returns integer
+language plpgsql as $$
+declare
+    partition_size constant bigint := 10000000;
+    first_partition bigint;
+    created integer := 0;
+begin
+    perform pg_advisory_xact_lock(hashtext('ensure_domain_event_partitions'));
+    select last_value / partition_size into first_partition from domain_event_entry_seq;
+    for p in first_partition .. first_partition + ahead loop
+        if to_regclass('domain_event_entry_p' || p) is null then
+            execute format('create table %I partition of domain_event_entry for values from (%s) to (%s)',
+                'domain_event_entry_p' || p, p * partition_size, (p + 1) * partition_size);
+            created := created + 1;
+        end if;
+    end loop;
+    return created;
+end;
+$$;
+
+select ensure_domain_event_partitions(2);
+
+-- Snapshots are looked up by aggregate, newest first; older ones are deleted as new ones are stored
+create table snapshot_event_entry (
+    sequence_number bigint not null,
+    time_stamp timestamp(6) with time zone not null,
+    meta_data bytea,
+    payload bytea not null,
+    aggregate_identifier varchar(255) not null,
+    event_identifier varchar(255) not null unique,
+    payload_revision varchar(255),
+    payload_type varchar(255) not null,
+    type varchar(255) not null,
+    primary key (aggregate_identifier, sequence_number, type)
+);
+
+create table token_entry (
+    segment integer not null,
+    token bytea,
+    owner varchar(255),
+    processor_name varchar(255) not null,
+    timestamp varchar(255) not null,
+    token_type varchar(255),
+    primary key (processor_name, segment)
+);
+
+create sequence association_value_entry_seq start with 1 increment by 50;
+
+create table saga_entry (
+    serialized_saga bytea,
+    revision varchar(255),
+    saga_id varchar(255) not null,
+    saga_type varchar(255),
+    primary key (saga_id)
+);
+
+create table association_value_entry (
+    id bigint not null,
+    association_key varchar(255) not null,
+    association_value varchar(255),
+    saga_id varchar(255) not null,
+    saga_type varchar(255),
+    primary key (id)
+);
+
+create index association_value_entry_saga_type_key_value on association_value_entry (saga_type, association_key, association_value);
+create index association_value_entry_saga_id_type on association_value_entry (saga_id, saga_type);
\ No newline at end of file
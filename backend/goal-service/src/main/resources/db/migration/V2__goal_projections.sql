@@ -0,0 +1,47 @@
+-- Read models maintained by GoalProjectionHandler and GoalStreakProjectionHandler
+
+create table goals (
+    progress_percentage float(53),
+    target_date date,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    category varchar(255),
+    description varchar(255) not null,
+    goal_id varchar(255) not null,
+    status varchar(255) not null check (status in ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    user_id varchar(255) not null,
+    primary key (goal_id)
+);
+
+create index idx_goals_user_updated on goals (user_id, updated_at desc, goal_id desc);
+
+create table goal_tags (
+    goal_id varchar(255) not null references goals (goal_id),
+    tag varchar(255)
+);
+
+create index idx_goal_tags_goal on goal_tags (goal_id);
+
+create table goal_progress (
+    progress_percentage float(53) not null,
+    update_timestamp timestamp(6) with time zone,
+    goal_id varchar(255) not null,
+    notes varchar(255),
+    progress_id varchar(255) not null,
+    primary key (progress_id)
+);
+
+create index idx_goal_progress_goal_time on goal_progress (goal_id, update_timestamp desc);
+
+create table goal_streaks (
+    current_streak_days integer,
+    is_streak_active boolean,
+    last_streak_update date,
+    longest_streak_days integer,
+    goal_id varchar(255) not null,
+    time_zone varchar(255),
+    user_id varchar(255),
+    primary key (goal_id)
+);
+
+create index idx_goal_streaks_active_last_update on goal_streaks (is_streak_active, last_streak_update);
\ No newline at end of file
@@ -0,0 +1,15 @@
+-- Inserting events notifies domain_event_appended when the transaction commits, which wakes the
+-- event store's tracking processors on every instance (see EventStoreNotificationListener), so
+-- they need not poll domain_event_entry for new events. Postgres folds identical notifications
+-- sent in one transaction, so a commit is one notification however many events it appends.
+create function domain_event_entry_notify() returns trigger
+language plpgsql as $$
+begin
+    perform pg_notify('domain_event_appended', '');
+    return null;
+end;
+$$;
+
+create trigger domain_event_entry_notify
+    after insert on domain_event_entry
+    for each statement execute function domain_event_entry_notify();
\ No newline at end of file
@@ -11,8 +11,11 @@ import org.axonframework.test.aggregate.FixtureConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
+import static org.axonframework.test.matchers.Matchers.*;
+
 class GoalAggregateTest {
 
     private FixtureConfiguration<GoalAggregate> fixture;
@@ -22,6 +25,22 @@ class GoalAggregateTest {
         fixture = new AggregateTestFixture<>(GoalAggregate.class);
     }
 
+    @Test
+    void testEventsRecordTheZoneResolvedBeforeDispatch() {
+        fixture.givenNoPriorActivity()
+                .when(new CreateGoalCommand("goal123", "user123", "Learn Spring Boot", LocalDate.now().plusMonths(3))
+                    .withTimeZone("Asia/Tokyo"))
+                .expectEventsMatching(payloadsMatching(exactSequenceOf(
+                    predicate((GoalCreatedEvent event) -> "Asia/Tokyo".equals(event.getTimeZone())),
+                    andNoMore())));
+
+        fixture.given(new GoalCreatedEvent("goal123", "user123", "Learn Spring Boot", LocalDate.now(), Instant.now()))
+                .when(new UpdateGoalProgressCommand("goal123", 50.0, "Halfway there!", null, "Asia/Tokyo"))
+                .expectEventsMatching(payloadsMatching(exactSequenceOf(
+                    predicate((GoalProgressUpdatedEvent event) -> "Asia/Tokyo".equals(event.getTimeZone())),
+                    andNoMore())));
+    }
+
     @Test
     void testCreateGoal() {
         String goalId = "goal123";
@@ -58,6 +77,17 @@ class GoalAggregateTest {
                     java.time.Instant.now()));
     }
 
+    @Test
+    void testProgressCountsWhenItWasRecorded() {
+        Instant recordedAt = Instant.parse("2024-03-14T21:30:00Z");
+
+        fixture.given(new GoalCreatedEvent("goal123", "user123", "Learn Spring Boot", LocalDate.now(), Instant.now()))
+                .when(new UpdateGoalProgressCommand("goal123", 40.0, "Logged offline", recordedAt, "UTC"))
+                .expectEventsMatching(payloadsMatching(exactSequenceOf(
+                    predicate((GoalProgressUpdatedEvent event) -> recordedAt.equals(event.getUpdatedAt())),
+                    andNoMore())));
+    }
+
     @Test
     void testCompleteGoal() {
         String goalId = "goal123";
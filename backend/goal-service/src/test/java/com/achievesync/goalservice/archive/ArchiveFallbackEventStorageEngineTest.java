@@ -0,0 +1,153 @@
+package com.achievesync.goalservice.archive;
+
+import com.achievesync.goalservice.config.EventSerializerConfig;
+import com.achievesync.goalservice.event.GoalCompletedEvent;
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventhandling.GenericTrackedDomainEventMessage;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.axonframework.serialization.upcasting.event.NoOpEventUpcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArchiveFallbackEventStorageEngineTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-15T10:00:00Z");
+
+    @Mock
+    private EventStorageEngine delegate;
+
+    @TempDir
+    Path directory;
+
+    private final Serializer serializer = EventSerializerConfig.goalEventSerializer(JacksonSerializer.builder()
+        .objectMapper(Jackson2ObjectMapperBuilder.json().build())
+        .build(), true);
+    private EventArchive archive;
+    private ArchiveFallbackEventStorageEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        archive = EventArchive.open(directory);
+        engine = new ArchiveFallbackEventStorageEngine(delegate, archive, serializer, NoOpEventUpcaster.INSTANCE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.close();
+    }
+
+    @Test
+    void aggregateIsLoadedFromTheArchiveThenTheDatabase() {
+        archive.append(List.of(
+            archived(1, "goal-1", 0, new GoalCreatedEvent("goal-1", "user-1", "Run 5k", null, NOW)),
+            archived(2, "goal-1", 1, new GoalProgressUpdatedEvent("goal-1", 50.0, "halfway", NOW))), 1024);
+        when(delegate.readEvents("goal-1", 2)).thenReturn(DomainEventStream.of(
+            new GenericDomainEventMessage<>("GoalAggregate", "goal-1", 2,
+                new GoalCompletedEvent("goal-1", "user-1", NOW))));
+
+        DomainEventStream events = engine.readEvents("goal-1", 0);
+
+        assertInstanceOf(GoalCreatedEvent.class, events.next().getPayload());
+        GoalProgressUpdatedEvent progress = (GoalProgressUpdatedEvent) events.next().getPayload();
+        assertEquals(50.0, progress.getProgressPercentage());
+        assertInstanceOf(GoalCompletedEvent.class, events.next().getPayload());
+        assertFalse(events.hasNext());
+    }
+
+    @Test
+    void aggregateWithoutArchivedEventsIsLoadedFromTheDatabaseOnly() {
+        DomainEventStream hot = DomainEventStream.empty();
+        when(delegate.readEvents("goal-2", 0)).thenReturn(hot);
+
+        assertSame(hot, engine.readEvents("goal-2", 0));
+        assertEquals(Optional.empty(), engine.lastSequenceNumberFor("goal-2"));
+    }
+
+    @Test
+    void replayMergesArchivedAndDatabaseEventsByGlobalIndex() {
+        archive.append(List.of(
+            archived(1, "goal-1", 0, new GoalCreatedEvent("goal-1", "user-1", "Run 5k", null, NOW)),
+            archived(3, "goal-1", 1, new GoalCompletedEvent("goal-1", "user-1", NOW))), 1024);
+        doReturn(Stream.of(
+            tracked(2, "goal-2", 0, new GoalCreatedEvent("goal-2", "user-1", "Swim", null, NOW)),
+            // Still in the database too, as after a run that died before deleting its rows
+            tracked(3, "goal-1", 1, new GoalCompletedEvent("goal-1", "user-1", NOW)),
+            tracked(4, "goal-2", 1, new GoalCompletedEvent("goal-2", "user-1", NOW))))
+            .when(delegate).readEvents((TrackingToken) null, false);
+
+        List<? extends TrackedEventMessage<?>> events = engine.readEvents(null, false).toList();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), events.stream()
+            .map(event -> event.trackingToken().position().getAsLong()).toList());
+        assertInstanceOf(GoalCreatedEvent.class, events.get(0).getPayload());
+        assertEquals("goal-1", ((GoalCreatedEvent) events.get(0).getPayload()).getGoalId());
+        assertEquals("goal-2", ((GoalCreatedEvent) events.get(1).getPayload()).getGoalId());
+    }
+
+    @Test
+    void processorPastTheArchiveReadsTheDatabaseOnly() {
+        archive.append(List.of(archived(1, "goal-1", 0, new GoalCompletedEvent("goal-1", "user-1", NOW))), 1024);
+        TrackingToken token = gapAware(5);
+        Stream<TrackedEventMessage<?>> hot = Stream.empty();
+        doReturn(hot).when(delegate).readEvents(token, true);
+
+        assertSame(hot, engine.readEvents(token, true));
+    }
+
+    @Test
+    void tokensAccountForArchivedEvents() {
+        archive.append(List.of(
+            archived(3, "goal-1", 0, new GoalCreatedEvent("goal-1", "user-1", "Run 5k", null, NOW)),
+            archived(6, "goal-1", 1, new GoalCompletedEvent("goal-1", "user-1", NOW))), 1024);
+        when(delegate.createTailToken()).thenReturn(gapAware(9));
+        when(delegate.createHeadToken()).thenReturn(null);
+        when(delegate.lastSequenceNumberFor("goal-1")).thenReturn(Optional.empty());
+
+        assertEquals(gapAware(2), engine.createTailToken());
+        assertEquals(gapAware(6), engine.createHeadToken());
+        assertEquals(Optional.of(1L), engine.lastSequenceNumberFor("goal-1"));
+    }
+
+    private ArchivedEvent archived(long globalIndex, String goalId, long sequenceNumber, Object payload) {
+        SerializedObject<byte[]> serialized = serializer.serialize(payload, byte[].class);
+        return new ArchivedEvent(globalIndex, "GoalAggregate", goalId, sequenceNumber, "event-" + globalIndex, NOW,
+            serialized.getType().getName(), serialized.getType().getRevision(), serialized.getData(),
+            serializer.serialize(MetaData.emptyInstance(), byte[].class).getData());
+    }
+
+    private static TrackedEventMessage<?> tracked(long globalIndex, String goalId, long sequenceNumber, Object payload) {
+        return new GenericTrackedDomainEventMessage<>(gapAware(globalIndex),
+            new GenericDomainEventMessage<>("GoalAggregate", goalId, sequenceNumber, payload));
+    }
+
+    private static GapAwareTrackingToken gapAware(long index) {
+        return GapAwareTrackingToken.newInstance(index, Collections.emptySortedSet());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.achievesync.goalservice.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventArchiveTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void eventsAreReadBackByAggregateAndInGlobalIndexOrder() {
+        try (EventArchive archive = EventArchive.open(directory)) {
+            archive.append(List.of(
+                event(1, "goal-a", 0), event(2, "goal-b", 0), event(3, "goal-a", 1),
+                event(4, "goal-b", 1), event(5, "goal-a", 2)), 2);
+
+            List<ArchivedEvent> goalA = archive.readAggregate("goal-a", 1);
+            assertEquals(List.of(1L, 2L), goalA.stream().map(ArchivedEvent::sequenceNumber).toList());
+            assertEquals("payload-3", new String(goalA.get(0).payload(), StandardCharsets.UTF_8));
+            assertEquals("GoalEvent", goalA.get(0).payloadType());
+            assertEquals(START.plusSeconds(3), goalA.get(0).timestamp());
+            assertNull(goalA.get(0).metaData());
+
+            assertEquals(List.of(3L, 4L, 5L), globalIndexes(archive.readAfter(2)));
+            assertEquals(OptionalLong.of(2), archive.lastSequenceNumberFor("goal-a"));
+            assertEquals(List.of(), archive.readAggregate("goal-a", 3));
+            assertEquals(List.of(), archive.readAggregate("goal-c", 0));
+        }
+    }
+
+    @Test
+    void segmentsAreMergedAndRepeatedEventsDropped() {
+        try (EventArchive archive = EventArchive.open(directory)) {
+            archive.append(List.of(event(1, "goal-a", 0), event(5, "goal-a", 1)), 1024);
+            // goal-a again, as after a run that died before deleting its rows
+            archive.append(List.of(event(1, "goal-a", 0), event(3, "goal-c", 0), event(5, "goal-a", 1),
+                event(7, "goal-c", 1)), 1024);
+
+            assertEquals(List.of(1L, 3L, 5L, 7L), globalIndexes(archive.readAfter(0)));
+            assertEquals(List.of(0L, 1L), archive.readAggregate("goal-a", 0).stream()
+                .map(ArchivedEvent::sequenceNumber).toList());
+            assertEquals(OptionalLong.of(1), archive.firstGlobalIndex());
+            assertEquals(OptionalLong.of(7), archive.lastGlobalIndex());
+        }
+    }
+
+    @Test
+    void reopenedArchiveIgnoresUnfinishedSegments() throws Exception {
+        try (EventArchive archive = EventArchive.open(directory)) {
+            archive.append(List.of(event(10, "goal-a", 0), event(20, "goal-a", 1)), 1);
+        }
+        Files.write(directory.resolve("segment-000002.events"), new byte[] {1, 2, 3});
+        Files.write(directory.resolve("segment-000002.index.tmp"), new byte[] {1, 2, 3});
+
+        try (EventArchive archive = EventArchive.open(directory)) {
+            assertEquals(List.of(10L, 20L), globalIndexes(archive.readAfter(0)));
+            assertEquals(OptionalLong.of(20), archive.firstGlobalIndexAtOrAfter(START.plusSeconds(15)));
+            assertEquals(OptionalLong.empty(), archive.firstGlobalIndexAtOrAfter(START.plusSeconds(21)));
+
+            // The next segment takes the number of the unfinished one
+            archive.append(List.of(event(30, "goal-b", 0)), 1);
+            assertEquals(List.of(30L), globalIndexes(archive.readAfter(20)));
+        }
+    }
+
+    @Test
+    void archiveDirectoryIsOnlyCreatedOnFirstAppend() throws Exception {
+        Path missing = directory.resolve("archive");
+
+        try (EventArchive archive = EventArchive.open(missing)) {
+            assertEquals(OptionalLong.empty(), archive.lastGlobalIndex());
+            assertFalse(archive.readAfter(-1).hasNext());
+            assertFalse(Files.exists(missing));
+
+            archive.append(List.of(event(1, "goal-a", 0)), 1);
+            try (Stream<Path> files = Files.list(missing)) {
+                assertEquals(1, files.filter(file -> file.getFileName().toString().matches("segment-000001-.+\\.index")).count());
+            }
+        }
+    }
+
+    @Test
+    void instancesSharingTheDirectoryReadEachOthersSegments() {
+        try (EventArchive one = EventArchive.open(directory); EventArchive two = EventArchive.open(directory)) {
+            one.append(List.of(event(1, "goal-a", 0)), 1);
+            assertEquals(List.of(1L), globalIndexes(two.readAfter(0)));
+
+            two.append(List.of(event(2, "goal-b", 0)), 1);
+            one.append(List.of(event(3, "goal-c", 0)), 1);
+            assertEquals(List.of(1L, 2L, 3L), globalIndexes(one.readAfter(0)));
+            assertEquals(List.of(1L, 2L, 3L), globalIndexes(two.readAfter(0)));
+            assertEquals(OptionalLong.of(0), two.lastSequenceNumberFor("goal-c"));
+        }
+    }
+
+    private static ArchivedEvent event(long globalIndex, String aggregateIdentifier, long sequenceNumber) {
+        return new ArchivedEvent(globalIndex, "GoalAggregate", aggregateIdentifier, sequenceNumber,
+            "event-" + globalIndex, START.plusSeconds(globalIndex), "GoalEvent", null,
+            ("payload-" + globalIndex).getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private static List<Long> globalIndexes(Iterator<ArchivedEvent> events) {
+        List<Long> indexes = new ArrayList<>();
+        events.forEachRemaining(event -> indexes.add(event.globalIndex()));
+        return indexes;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.achievesync.goalservice.archive;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoalEventArchiverTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-15T02:30:00Z");
+
+    @Mock
+    private EventProcessingConfiguration eventProcessing;
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase database;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private EventArchive archive;
+    private SimpleMeterRegistry meterRegistry;
+    private GoalEventArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcTemplate().execute("""
+            create table goals (goal_id varchar(255) primary key, status varchar(255) not null,
+                updated_at timestamp(6) with time zone)""");
+        jdbcTemplate.getJdbcTemplate().execute("""
+            create table domain_event_entry (global_index bigint primary key, sequence_number bigint not null,
+                time_stamp timestamp(6) with time zone not null, meta_data varbinary(1024), payload varbinary(1024) not null,
+                aggregate_identifier varchar(255) not null, event_identifier varchar(255) not null,
+                payload_revision varchar(255), payload_type varchar(255) not null, type varchar(255))""");
+        jdbcTemplate.getJdbcTemplate().execute("create alias pg_try_advisory_lock for \""
+            + AdvisoryLocks.class.getName() + ".tryLock\"");
+        jdbcTemplate.getJdbcTemplate().execute("create alias pg_advisory_unlock for \""
+            + AdvisoryLocks.class.getName() + ".unlock\"");
+        AdvisoryLocks.held.clear();
+        archive = EventArchive.open(directory);
+        meterRegistry = new SimpleMeterRegistry();
+        archiver = new GoalEventArchiver(jdbcTemplate, archive, eventProcessing, meterRegistry,
+            Duration.ofDays(30), 1, 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.close();
+        database.shutdown();
+    }
+
+    @Test
+    void completedGoalsPastTheCutoffAreMovedToTheArchive() {
+        goal("goal-1", "COMPLETED", NOW.minus(Duration.ofDays(40)));
+        goal("goal-2", "COMPLETED", NOW.minus(Duration.ofDays(5)));
+        goal("goal-3", "IN_PROGRESS", NOW.minus(Duration.ofDays(40)));
+        goal("goal-4", "COMPLETED", NOW.minus(Duration.ofDays(31)));
+        event(1, "goal-1", 0);
+        event(2, "goal-2", 0);
+        event(3, "goal-1", 1);
+        event(4, "goal-3", 0);
+        event(5, "goal-4", 0);
+
+        assertEquals(2, archiver.archive(NOW));
+
+        assertEquals(List.of(2L, 4L), jdbcTemplate.getJdbcTemplate().queryForList(
+            "select global_index from domain_event_entry order by global_index", Long.class));
+        List<ArchivedEvent> archived = new ArrayList<>();
+        archive.readAfter(0).forEachRemaining(archived::add);
+        assertEquals(List.of(1L, 3L, 5L), archived.stream().map(ArchivedEvent::globalIndex).toList());
+        ArchivedEvent first = archived.get(0);
+        assertEquals("goal-1", first.aggregateIdentifier());
+        assertEquals("payload-1", new String(first.payload(), StandardCharsets.UTF_8));
+        assertEquals(NOW.minus(Duration.ofDays(60)).plusSeconds(1), first.timestamp());
+        assertEquals(1, archive.readAggregate("goal-1", 1).size());
+        assertEquals(2.0, meterRegistry.counter("achievesync.event-archive.goals").count());
+        assertEquals(3.0, meterRegistry.counter("achievesync.event-archive.events").count());
+
+        // Archived goals have no rows left, so the next run has nothing to do
+        assertEquals(0, archiver.archive(NOW));
+    }
+
+    @Test
+    void nothingIsArchivedWhileAProcessorIsCatchingUp() {
+        goal("goal-1", "COMPLETED", NOW.minus(Duration.ofDays(40)));
+        event(1, "goal-1", 0);
+        StreamingEventProcessor processor = mock(StreamingEventProcessor.class);
+        EventTrackerStatus status = mock(EventTrackerStatus.class);
+        when(status.isCaughtUp()).thenReturn(false);
+        when(processor.processingStatus()).thenReturn(Map.of(0, status));
+        when(eventProcessing.eventProcessors()).thenReturn(Map.of("goal-projection-processor", processor));
+
+        assertEquals(0, archiver.archive(NOW));
+
+        assertEquals(1, jdbcTemplate.getJdbcTemplate().queryForObject(
+            "select count(*) from domain_event_entry", Integer.class));
+        assertEquals(OptionalLong.empty(), archive.lastGlobalIndex());
+    }
+
+    @Test
+    void nothingIsArchivedWhileAnotherInstanceIsArchiving() {
+        goal("goal-1", "COMPLETED", NOW.minus(Duration.ofDays(40)));
+        event(1, "goal-1", 0);
+        assertTrue(AdvisoryLocks.tryLock("goal_event_archiver".hashCode()));
+
+        assertEquals(0, archiver.archive(NOW));
+        assertEquals(OptionalLong.empty(), archive.lastGlobalIndex());
+
+        AdvisoryLocks.unlock("goal_event_archiver".hashCode());
+        assertEquals(1, archiver.archive(NOW));
+        assertTrue(AdvisoryLocks.held.isEmpty());
+    }
+
+    private void goal(String goalId, String status, Instant updatedAt) {
+        jdbcTemplate.getJdbcTemplate().update("insert into goals (goal_id, status, updated_at) values (?, ?, ?)",
+            goalId, status, OffsetDateTime.ofInstant(updatedAt, ZoneOffset.UTC));
+    }
+
+    private void event(long globalIndex, String goalId, long sequenceNumber) {
+        jdbcTemplate.getJdbcTemplate().update("""
+            insert into domain_event_entry (global_index, sequence_number, time_stamp, payload,
+                aggregate_identifier, event_identifier, payload_type, type)
+            values (?, ?, ?, ?, ?, ?, ?, ?)""",
+            globalIndex, sequenceNumber,
+            OffsetDateTime.ofInstant(NOW.minus(Duration.ofDays(60)).plusSeconds(globalIndex), ZoneOffset.UTC),
+            ("payload-" + globalIndex).getBytes(StandardCharsets.UTF_8), goalId, "event-" + globalIndex,
+            "GoalEvent", "GoalAggregate");
+    }
+
+    // Stands in for Postgres advisory locks, which H2 lacks
+    public static final class AdvisoryLocks {
+        private static final Set<Long> held = ConcurrentHashMap.newKeySet();
+
+        public static boolean tryLock(long key) {
+            return held.add(key);
+        }
+
+        public static boolean unlock(long key) {
+            return held.remove(key);
+        }
+    }
+}
\ No newline at end of file
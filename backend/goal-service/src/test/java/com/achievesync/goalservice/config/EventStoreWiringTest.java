@@ -0,0 +1,86 @@
+package com.achievesync.goalservice.config;
+
+import com.achievesync.eventstore.EventStoreNotificationListener;
+import com.achievesync.eventstore.NotifiedEventStore;
+import com.achievesync.goalservice.archive.ArchiveFallbackEventStorageEngine;
+import com.achievesync.goalservice.command.CreateGoalCommand;
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.EventStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Boots the production event store wiring, which the test profile replaces, on H2; only the
+// notification listener, which needs Postgres, is switched off
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:event-store-wiring;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.autoconfigure.exclude=net.devh.boot.grpc.server.autoconfigure.GrpcServerAutoConfiguration,net.devh.boot.grpc.server.autoconfigure.GrpcServerFactoryAutoConfiguration,net.devh.boot.grpc.client.autoconfigure.GrpcClientAutoConfiguration",
+    "management.endpoint.info.enabled=false",
+    "management.health.grpcChannel.enabled=false",
+    "achievesync.event-notifications.enabled=false",
+    "achievesync.event-partitions.cron=-",
+    "achievesync.streak-sweep.cron=-",
+    "achievesync.event-archive.cron=-",
+    "server.port=0"
+})
+class EventStoreWiringTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void directories(DynamicPropertyRegistry registry) {
+        registry.add("achievesync.replay-log.directory", () -> directory.resolve("replay-log").toString());
+        registry.add("achievesync.event-archive.directory", () -> directory.resolve("event-archive").toString());
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private EventStorageEngine storageEngine;
+
+    @Autowired
+    private CommandGateway commandGateway;
+
+    @Test
+    void testProductionEventStoreIsWiredWithoutTheListener() {
+        assertInstanceOf(NotifiedEventStore.class, eventStore);
+        assertInstanceOf(ArchiveFallbackEventStorageEngine.class, storageEngine);
+        assertTrue(context.getBeansOfType(EventStoreNotificationListener.class).isEmpty());
+    }
+
+    @Test
+    void testCommandsStoreEventsThroughTheWiredEngine() {
+        String goalId = UUID.randomUUID().toString();
+        commandGateway.sendAndWait(new CreateGoalCommand(goalId, "user1", "Run 5k", LocalDate.now().plusMonths(1)));
+
+        List<? extends DomainEventMessage<?>> events = eventStore.readEvents(goalId).asStream().toList();
+        assertEquals(1, events.size());
+        assertEquals(goalId, ((GoalCreatedEvent) events.get(0).getPayload()).getGoalId());
+    }
+}
\ No newline at end of file
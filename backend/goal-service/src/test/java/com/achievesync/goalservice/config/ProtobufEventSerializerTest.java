@@ -0,0 +1,132 @@
+package com.achievesync.goalservice.config;
+
+import com.achievesync.eventstore.ProtobufEventSerializer;
+import com.achievesync.goalservice.event.GoalCompletedEvent;
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtobufEventSerializerTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-15T10:15:30.123456789Z");
+
+    private final JacksonSerializer jackson = JacksonSerializer.builder()
+        .objectMapper(Jackson2ObjectMapperBuilder.json().build())
+        .build();
+    private final ProtobufEventSerializer serializer = EventSerializerConfig.goalEventSerializer(jackson, true);
+
+    @Test
+    void goalCreatedRoundTripsThroughProtobuf() {
+        GoalCreatedEvent event = new GoalCreatedEvent("goal1", "user1", "Run 5k", LocalDate.of(2024, 6, 1),
+            NOW, "health", List.of("running", "cardio"), "Europe/Berlin");
+
+        SerializedObject<byte[]> serialized = serializer.serialize(event, byte[].class);
+        GoalCreatedEvent read = serializer.deserialize(serialized);
+
+        assertEquals(ProtobufEventSerializer.REVISION, serialized.getType().getRevision());
+        assertEquals(GoalCreatedEvent.class.getName(), serialized.getType().getName());
+        assertEquals("goal1", read.getGoalId());
+        assertEquals("user1", read.getUserId());
+        assertEquals("Run 5k", read.getDescription());
+        assertEquals(LocalDate.of(2024, 6, 1), read.getTargetDate());
+        assertEquals(NOW, read.getCreatedAt());
+        assertEquals("health", read.getCategory());
+        assertEquals(List.of("running", "cardio"), read.getTags());
+        assertEquals("Europe/Berlin", read.getTimeZone());
+    }
+
+    @Test
+    void nullFieldsStayNull() {
+        GoalCreatedEvent event = new GoalCreatedEvent("goal1", "user1", "Run 5k", null, NOW);
+
+        GoalCreatedEvent read = serializer.deserialize(serializer.serialize(event, byte[].class));
+
+        assertNull(read.getTargetDate());
+        assertNull(read.getCategory());
+        assertNull(read.getTags());
+        assertNull(read.getTimeZone());
+        GoalCreatedEvent withEmptyTags = serializer.deserialize(serializer.serialize(
+            new GoalCreatedEvent("goal1", "user1", "Run 5k", null, NOW, null, List.of()), byte[].class));
+        assertEquals(List.of(), withEmptyTags.getTags());
+    }
+
+    @Test
+    void progressAndCompletionRoundTrip() {
+        GoalProgressUpdatedEvent progress = serializer.deserialize(serializer.serialize(
+            new GoalProgressUpdatedEvent("goal1", 42.5, null, NOW, "Asia/Tokyo"), byte[].class));
+        GoalCompletedEvent completed = serializer.deserialize(serializer.serialize(
+            new GoalCompletedEvent("goal1", "user1", NOW), byte[].class));
+
+        assertEquals(42.5, progress.getProgressPercentage());
+        assertNull(progress.getNotes());
+        assertEquals(NOW, progress.getUpdatedAt());
+        assertEquals("Asia/Tokyo", progress.getTimeZone());
+        assertEquals("user1", completed.getUserId());
+        assertEquals(NOW, completed.getCompletedAt());
+    }
+
+    @Test
+    void protobufPayloadIsSmallerThanJson() {
+        GoalProgressUpdatedEvent event = new GoalProgressUpdatedEvent(
+            "3f1c9a52-7d1e-4b8a-9c3e-2a6f5d8b1e04", 42.5, "Felt good today", NOW);
+
+        int binary = serializer.serialize(event, byte[].class).getData().length;
+        int json = jackson.serialize(event, byte[].class).getData().length;
+
+        // Field names and the ISO timestamp are gone; the UUID text is most of what is left
+        assertTrue(binary * 3 < json * 2, "protobuf " + binary + " bytes, JSON " + json + " bytes");
+    }
+
+    @Test
+    void eventsStoredAsJsonStillRead() {
+        SerializedObject<byte[]> stored = jackson.serialize(new GoalProgressUpdatedEvent("goal1", 10.0, "old", NOW),
+            byte[].class);
+
+        GoalProgressUpdatedEvent read = serializer.deserialize(stored);
+
+        assertNull(stored.getType().getRevision());
+        assertEquals("old", read.getNotes());
+        assertNull(read.getTimeZone());
+        assertEquals(NOW, read.getUpdatedAt());
+        // JSON upcasters work on the stored bytes through the serializer's converter
+        JsonNode json = serializer.getConverter().convert(stored.getData(), byte[].class, JsonNode.class);
+        assertEquals("goal1", json.get("goalId").asText());
+    }
+
+    @Test
+    void withoutBinaryWritesEventsAreWrittenAsJsonAndProtobufStillReads() {
+        ProtobufEventSerializer jsonWrites = EventSerializerConfig.goalEventSerializer(jackson, false);
+        SerializedObject<byte[]> binary = serializer.serialize(new GoalCompletedEvent("goal1", "user1", NOW),
+            byte[].class);
+
+        SerializedObject<byte[]> written = jsonWrites.serialize(new GoalCompletedEvent("goal2", "user1", NOW),
+            byte[].class);
+        GoalCompletedEvent read = jsonWrites.deserialize(binary);
+
+        assertNull(written.getType().getRevision());
+        assertEquals("goal2", jackson.<byte[], GoalCompletedEvent>deserialize(written).getGoalId());
+        assertEquals("goal1", read.getGoalId());
+    }
+
+    @Test
+    void unregisteredTypesGoThroughTheDelegate() {
+        MetaData metaData = MetaData.from(Map.of("traceId", "abc"));
+
+        SerializedObject<byte[]> serialized = serializer.serialize(metaData, byte[].class);
+
+        assertEquals(jackson.typeForClass(MetaData.class), serialized.getType());
+        assertEquals(metaData, serializer.deserialize(serialized));
+    }
+}
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.achievesync.goalservice.controller;
 
+import com.achievesync.goalservice.command.UpdateGoalProgressCommand;
+import com.achievesync.goalservice.projection.GoalPage;
 import com.achievesync.goalservice.projection.GoalProjection;
 import com.achievesync.goalservice.query.FindGoalQuery;
-import com.achievesync.goalservice.query.FindGoalsByUserQuery;
+import com.achievesync.goalservice.query.FindUserGoalsPageQuery;
+import com.achievesync.goalservice.service.BulkProgressService;
+import com.achievesync.goalservice.service.GoalStreamService;
+import com.achievesync.goalservice.service.ProjectionRebuildService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.axonframework.queryhandling.QueryGateway;
@@ -16,10 +21,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +47,15 @@ class GoalControllerTest {
     @MockBean
     private QueryGateway queryGateway;
 
+    @MockBean
+    private ProjectionRebuildService projectionRebuildService;
+
+    @MockBean
+    private BulkProgressService bulkProgressService;
+
+    @MockBean
+    private GoalStreamService goalStreamService;
+
     @Test
     void testCreateGoal() throws Exception {
         when(commandGateway.send(any())).thenReturn(CompletableFuture.completedFuture(null));
@@ -85,13 +102,26 @@ class GoalControllerTest {
         GoalProjection goal1 = createTestGoal("goal1", userId, "Learn Spring Boot");
         GoalProjection goal2 = createTestGoal("goal2", userId, "Build REST API");
 
-        when(queryGateway.query(any(FindGoalsByUserQuery.class), any(org.axonframework.messaging.responsetypes.ResponseType.class)))
-                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(goal1, goal2)));
+        when(queryGateway.query(any(FindUserGoalsPageQuery.class), eq(GoalPage.class)))
+                .thenReturn(CompletableFuture.completedFuture(new GoalPage(Arrays.asList(goal1, goal2), null, 2)));
 
         mockMvc.perform(get("/api/goals/user/{userId}", userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2));
+
+        // Callers that don't page still get the whole listing
+        verify(queryGateway).query(argThat((FindUserGoalsPageQuery query) -> !query.isPaged()), eq(GoalPage.class));
+    }
+
+    @Test
+    void testGetGoalProgress_RejectsDaysOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/goals/{goalId}/progress", "goal123").param("days", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/goals/{goalId}/progress", "goal123").param("days", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/goals/{goalId}/progress", "goal123").param("days", "2000000000"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -109,6 +139,22 @@ class GoalControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testBulkProgressEntriesKeepTheirRecordedTime() throws Exception {
+        when(bulkProgressService.updateProgress(any())).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        mockMvc.perform(post("/api/goals/progress/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"entries\": ["
+                    + "{\"goalId\": \"goal1\", \"progressPercentage\": 40, \"recordedAt\": \"2024-03-14T21:30:00Z\"},"
+                    + "{\"goalId\": \"goal2\", \"progressPercentage\": 10}]}"))
+                .andExpect(status().isOk());
+
+        verify(bulkProgressService).updateProgress(argThat((List<UpdateGoalProgressCommand> commands) ->
+            Instant.parse("2024-03-14T21:30:00Z").equals(commands.get(0).getRecordedAt())
+                && commands.get(1).getRecordedAt() == null));
+    }
+
     @Test
     void testCompleteGoal() throws Exception {
         String goalId = "goal123";
@@ -0,0 +1,262 @@
+package com.achievesync.goalservice.grpc;
+
+import com.achievesync.goalservice.TestDataFactory;
+import com.achievesync.goalservice.command.CompleteGoalCommand;
+import com.achievesync.goalservice.command.CreateGoalCommand;
+import com.achievesync.goalservice.projection.GoalPage;
+import com.achievesync.goalservice.projection.GoalProgressProjection;
+import com.achievesync.goalservice.projection.GoalProjection;
+import com.achievesync.goalservice.projection.GoalStatus;
+import com.achievesync.goalservice.query.FindGoalProgressQuery;
+import com.achievesync.goalservice.query.FindGoalQuery;
+import com.achievesync.goalservice.query.FindGoalsByUserQuery;
+import com.achievesync.goalservice.query.FindUserGoalsPageQuery;
+import com.achievesync.grpc.GoalServiceProto.CreateGoalRequest;
+import com.achievesync.grpc.GoalServiceProto.GoalIdRequest;
+import com.achievesync.grpc.GoalServiceProto.GoalResponse;
+import com.achievesync.grpc.GoalServiceProto.GoalsListResponse;
+import com.achievesync.grpc.GoalServiceProto.ProgressHistoryRequest;
+import com.achievesync.grpc.GoalServiceProto.ProgressListResponse;
+import com.achievesync.grpc.GoalServiceProto.UserGoalsRequest;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.messaging.responsetypes.ResponseType;
+import org.axonframework.queryhandling.QueryGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoalGrpcServiceTest {
+
+    @Mock
+    private CommandGateway commandGateway;
+
+    @Mock
+    private QueryGateway queryGateway;
+
+    private GoalGrpcService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GoalGrpcService(commandGateway, queryGateway, 2);
+    }
+
+    @Test
+    void testGetGoal() {
+        GoalProjection goal = TestDataFactory.goalProjection("goal123", "user123", "Learn Spring Boot");
+        when(queryGateway.query(any(FindGoalQuery.class), eq(GoalProjection.class)))
+            .thenReturn(CompletableFuture.completedFuture(goal));
+
+        RecordingObserver<GoalResponse> observer = new RecordingObserver<>();
+        service.getGoal(GoalIdRequest.newBuilder().setGoalId("goal123").build(), observer);
+
+        assertTrue(observer.completed);
+        assertEquals(1, observer.values.size());
+        GoalResponse response = observer.values.get(0);
+        assertEquals("goal123", response.getGoalId());
+        assertEquals("Learn Spring Boot", response.getDescription());
+        assertEquals("PENDING", response.getStatus());
+        assertEquals(List.of("test", "example"), response.getTagsList());
+    }
+
+    @Test
+    void testGetGoal_NotFound() {
+        when(queryGateway.query(any(FindGoalQuery.class), eq(GoalProjection.class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        RecordingObserver<GoalResponse> observer = new RecordingObserver<>();
+        service.getGoal(GoalIdRequest.newBuilder().setGoalId("missing").build(), observer);
+
+        assertFalse(observer.completed);
+        assertEquals(Status.Code.NOT_FOUND, ((StatusRuntimeException) observer.error).getStatus().getCode());
+    }
+
+    @Test
+    void testGetGoal_MappingFailureFailsTheCall() {
+        GoalProjection goal = TestDataFactory.goalProjection("goal123", "user123", "Learn Spring Boot");
+        goal.setStatus(null);
+        when(queryGateway.query(any(FindGoalQuery.class), eq(GoalProjection.class)))
+            .thenReturn(CompletableFuture.completedFuture(goal));
+
+        RecordingObserver<GoalResponse> observer = new RecordingObserver<>();
+        service.getGoal(GoalIdRequest.newBuilder().setGoalId("goal123").build(), observer);
+
+        assertFalse(observer.completed);
+        assertEquals(Status.Code.INTERNAL, ((StatusRuntimeException) observer.error).getStatus().getCode());
+    }
+
+    @Test
+    void testCreateGoal_AnswersFromTheCommand() {
+        when(commandGateway.send(any(CreateGoalCommand.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        RecordingObserver<GoalResponse> observer = new RecordingObserver<>();
+        service.createGoal(CreateGoalRequest.newBuilder().setUserId("user123").setDescription("Learn Spring Boot")
+            .setTargetDate("2025-01-31").addTags("java").build(), observer);
+
+        assertTrue(observer.completed);
+        GoalResponse response = observer.values.get(0);
+        assertFalse(response.getGoalId().isEmpty());
+        assertEquals("user123", response.getUserId());
+        assertEquals("PENDING", response.getStatus());
+        assertEquals("2025-01-31", response.getTargetDate());
+        assertEquals(List.of("java"), response.getTagsList());
+        verifyNoInteractions(queryGateway);
+    }
+
+    @Test
+    void testCompleteGoal_AnswersFromTheCommand() {
+        when(commandGateway.send(any(CompleteGoalCommand.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        RecordingObserver<GoalResponse> observer = new RecordingObserver<>();
+        service.completeGoal(GoalIdRequest.newBuilder().setGoalId("goal123").build(), observer);
+
+        assertTrue(observer.completed);
+        assertEquals("goal123", observer.values.get(0).getGoalId());
+        assertEquals("COMPLETED", observer.values.get(0).getStatus());
+        verifyNoInteractions(queryGateway);
+    }
+
+    @Test
+    void testGetUserGoals_PassesFiltersAndCursorToQuery() {
+        GoalProjection completed = TestDataFactory.goalProjection("goal2", "user123", "Goal 2");
+        completed.setStatus(GoalStatus.COMPLETED);
+        when(queryGateway.query(any(FindUserGoalsPageQuery.class), eq(GoalPage.class)))
+            .thenReturn(CompletableFuture.completedFuture(new GoalPage(List.of(completed), "next", 7)));
+
+        RecordingObserver<GoalsListResponse> observer = new RecordingObserver<>();
+        service.getUserGoals(UserGoalsRequest.newBuilder()
+            .setUserId("user123").setStatus("COMPLETED").setCursor("previous").setLimit(10).build(), observer);
+
+        ArgumentCaptor<FindUserGoalsPageQuery> query = ArgumentCaptor.forClass(FindUserGoalsPageQuery.class);
+        verify(queryGateway).query(query.capture(), eq(GoalPage.class));
+        assertEquals("COMPLETED", query.getValue().getStatus());
+        assertNull(query.getValue().getCategory());
+        assertEquals("previous", query.getValue().getCursor());
+        assertEquals(10, query.getValue().getLimit());
+
+        assertTrue(observer.completed);
+        GoalsListResponse response = observer.values.get(0);
+        assertEquals(7, response.getTotalCount());
+        assertEquals("goal2", response.getGoals(0).getGoalId());
+        assertEquals("next", response.getNextCursor());
+    }
+
+    @Test
+    void testGetUserGoals_InvalidCursor() {
+        when(queryGateway.query(any(FindUserGoalsPageQuery.class), eq(GoalPage.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Invalid cursor: x")));
+
+        RecordingObserver<GoalsListResponse> observer = new RecordingObserver<>();
+        service.getUserGoals(UserGoalsRequest.newBuilder().setUserId("user123").setCursor("x").build(), observer);
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, ((StatusRuntimeException) observer.error).getStatus().getCode());
+    }
+
+    @Test
+    void testStreamUserGoals_SendsChunks() {
+        stubUserGoals(goals(5));
+
+        RecordingObserver<GoalsListResponse> observer = new RecordingObserver<>();
+        service.streamUserGoals(UserGoalsRequest.newBuilder().setUserId("user123").build(), observer);
+
+        assertTrue(observer.completed);
+        assertEquals(List.of(2, 2, 1), observer.values.stream().map(GoalsListResponse::getGoalsCount).toList());
+        assertTrue(observer.values.stream().allMatch(chunk -> chunk.getTotalCount() == 5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamUserGoals_WaitsForTransportReadiness() {
+        stubUserGoals(goals(4));
+        ServerCallStreamObserver<GoalsListResponse> observer = mock(ServerCallStreamObserver.class);
+        when(observer.isReady()).thenReturn(true, false, true, true);
+
+        service.streamUserGoals(UserGoalsRequest.newBuilder().setUserId("user123").build(), observer);
+
+        verify(observer, times(1)).onNext(any());
+        verify(observer, never()).onCompleted();
+
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        verify(observer).setOnReadyHandler(onReady.capture());
+        onReady.getValue().run();
+
+        verify(observer, times(2)).onNext(any());
+        verify(observer).onCompleted();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetGoalProgress_PassesWindowToQuery() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        GoalProgressProjection entry = new GoalProgressProjection("p1", "goal123", 40.0, "notes", from.plusSeconds(60));
+        when(queryGateway.query(any(FindGoalProgressQuery.class), any(ResponseType.class)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(entry)));
+
+        RecordingObserver<ProgressListResponse> observer = new RecordingObserver<>();
+        service.getGoalProgress(ProgressHistoryRequest.newBuilder()
+            .setGoalId("goal123").setFrom(from.toString()).setLimit(30).build(), observer);
+
+        ArgumentCaptor<FindGoalProgressQuery> query = ArgumentCaptor.forClass(FindGoalProgressQuery.class);
+        verify(queryGateway).query(query.capture(), any(ResponseType.class));
+        assertEquals(from, query.getValue().getFrom());
+        assertNull(query.getValue().getTo());
+        assertEquals(30, query.getValue().getLimit());
+
+        assertTrue(observer.completed);
+        assertEquals("p1", observer.values.get(0).getProgressEntries(0).getProgressId());
+    }
+
+    @Test
+    void testGetGoalProgress_InvalidWindow() {
+        RecordingObserver<ProgressListResponse> observer = new RecordingObserver<>();
+        service.getGoalProgress(ProgressHistoryRequest.newBuilder().setGoalId("goal123").setFrom("last week").build(), observer);
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, ((StatusRuntimeException) observer.error).getStatus().getCode());
+        verifyNoInteractions(queryGateway);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubUserGoals(List<GoalProjection> goals) {
+        when(queryGateway.query(any(FindGoalsByUserQuery.class), any(ResponseType.class)))
+            .thenReturn(CompletableFuture.completedFuture(goals));
+    }
+
+    private static List<GoalProjection> goals(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> TestDataFactory.goalProjection("goal" + i, "user123", "Goal " + i))
+            .toList();
+    }
+
+    private static class RecordingObserver<T> implements StreamObserver<T> {
+        private final List<T> values = new ArrayList<>();
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onNext(T value) { values.add(value); }
+
+        @Override
+        public void onError(Throwable t) { error = t; }
+
+        @Override
+        public void onCompleted() { completed = true; }
+    }
+}
\ No newline at end of file
@@ -1,24 +1,43 @@
 package com.achievesync.goalservice.projection;
 
+import com.achievesync.eventstore.ProjectionChanges;
 import com.achievesync.goalservice.event.GoalCompletedEvent;
 import com.achievesync.goalservice.event.GoalCreatedEvent;
 import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import com.achievesync.goalservice.query.FindGoalProgressQuery;
 import com.achievesync.goalservice.query.FindGoalQuery;
 import com.achievesync.goalservice.query.FindGoalsByUserQuery;
+import com.achievesync.goalservice.query.FindUserGoalsPageQuery;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GenericEventMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.messaging.unitofwork.BatchingUnitOfWork;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.axonframework.queryhandling.GenericSubscriptionQueryMessage;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +49,22 @@ class GoalProjectionHandlerTest {
     @Mock
     private GoalProgressRepository progressRepository;
 
+    @Mock
+    private QueryUpdateEmitter queryUpdateEmitter;
+
+    private ProjectionChanges projectionChanges;
     private GoalProjectionHandler handler;
 
     @BeforeEach
     void setUp() {
-        handler = new GoalProjectionHandler(goalRepository, progressRepository);
+        projectionChanges = new ProjectionChanges(null, new SimpleMeterRegistry(), false);
+        handler = new GoalProjectionHandler(goalRepository, progressRepository, queryUpdateEmitter, projectionChanges);
+    }
+
+    private static void subscribe(QueryUpdateEmitter emitter, String userId) {
+        doReturn(Set.of(new GenericSubscriptionQueryMessage<>(new FindGoalsByUserQuery(userId),
+            ResponseTypes.multipleInstancesOf(GoalProjection.class), ResponseTypes.instanceOf(GoalUpdate.class))))
+            .when(emitter).activeSubscriptions();
     }
 
     @Test
@@ -60,6 +90,83 @@ class GoalProjectionHandlerTest {
         ));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGoalCreatedEventIsPushedToUserSubscriptions() {
+        GoalCreatedEvent event = new GoalCreatedEvent("goal123", "user123", "Learn Spring Boot",
+            LocalDate.now().plusMonths(3), Instant.now(), "learning", List.of("java"));
+        subscribe(queryUpdateEmitter, "user123");
+        AtomicReference<GoalProjection> saved = new AtomicReference<>();
+        when(goalRepository.save(any(GoalProjection.class))).thenAnswer(invocation -> {
+            saved.set(invocation.getArgument(0));
+            return saved.get();
+        });
+        when(goalRepository.findById("goal123")).thenAnswer(invocation -> Optional.ofNullable(saved.get()));
+
+        handler.on(event);
+
+        ArgumentCaptor<Predicate<FindGoalsByUserQuery>> filter = ArgumentCaptor.forClass(Predicate.class);
+        ArgumentCaptor<GoalUpdate> update = ArgumentCaptor.forClass(GoalUpdate.class);
+        verify(queryUpdateEmitter).emit(eq(FindGoalsByUserQuery.class), filter.capture(), update.capture());
+        assertTrue(filter.getValue().test(new FindGoalsByUserQuery("user123")));
+        assertFalse(filter.getValue().test(new FindGoalsByUserQuery("user456")));
+        assertEquals("goal123", update.getValue().getGoalId());
+        assertEquals(GoalStatus.PENDING, update.getValue().getStatus());
+        assertEquals(List.of("java"), update.getValue().getTags());
+    }
+
+    @Test
+    void testProgressUpdateIsPushedWithoutTags() {
+        GoalProjection goal = new GoalProjection();
+        goal.setGoalId("goal123");
+        goal.setUserId("user123");
+        when(goalRepository.findById("goal123")).thenReturn(Optional.of(goal));
+        subscribe(queryUpdateEmitter, "user123");
+
+        handler.on(new GoalProgressUpdatedEvent("goal123", 40.0, "Halfway there", Instant.now()), "event1");
+
+        ArgumentCaptor<GoalUpdate> update = ArgumentCaptor.forClass(GoalUpdate.class);
+        verify(queryUpdateEmitter).emit(eq(FindGoalsByUserQuery.class), any(Predicate.class), update.capture());
+        assertEquals(40.0, update.getValue().getProgressPercentage());
+        assertEquals(GoalStatus.IN_PROGRESS, update.getValue().getStatus());
+        assertNull(update.getValue().getTags());
+    }
+
+    @Test
+    void testUpdatesAreNotPushedBeforeCommitOrWithoutSubscribers() {
+        GoalProjection goal = new GoalProjection();
+        goal.setGoalId("goal123");
+        goal.setUserId("user123");
+        when(goalRepository.findById("goal123")).thenReturn(Optional.of(goal));
+        subscribe(queryUpdateEmitter, "user456");
+
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        handler.on(new GoalProgressUpdatedEvent("goal123", 40.0, "Halfway there", Instant.now()), "event1");
+        verify(queryUpdateEmitter, never()).activeSubscriptions();
+
+        unitOfWork.commit();
+        verify(queryUpdateEmitter).activeSubscriptions();
+        verify(queryUpdateEmitter, never()).emit(eq(FindGoalsByUserQuery.class), any(Predicate.class), any());
+    }
+
+    @Test
+    void testUpdateHandledByAnotherInstanceIsPushedToThisOnesSubscribers() {
+        QueryUpdateEmitter otherEmitter = mock(QueryUpdateEmitter.class);
+        new GoalProjectionHandler(goalRepository, progressRepository, otherEmitter, projectionChanges);
+        subscribe(otherEmitter, "user123");
+        GoalProjection goal = new GoalProjection();
+        goal.setGoalId("goal123");
+        goal.setUserId("user123");
+        when(goalRepository.findById("goal123")).thenReturn(Optional.of(goal));
+
+        handler.on(new GoalCompletedEvent("goal123", "user123", Instant.now()));
+
+        ArgumentCaptor<GoalUpdate> update = ArgumentCaptor.forClass(GoalUpdate.class);
+        verify(otherEmitter).emit(eq(FindGoalsByUserQuery.class), any(Predicate.class), update.capture());
+        assertEquals(GoalStatus.COMPLETED, update.getValue().getStatus());
+        verify(queryUpdateEmitter, never()).emit(eq(FindGoalsByUserQuery.class), any(Predicate.class), any());
+    }
+
     @Test
     void testHandleGoalProgressUpdatedEvent() {
         String goalId = "goal123";
@@ -76,7 +183,7 @@ class GoalProjectionHandlerTest {
 
         GoalProgressUpdatedEvent event = new GoalProgressUpdatedEvent(goalId, progressPercentage, notes, updatedAt);
 
-        handler.on(event);
+        handler.on(event, "event1");
 
         verify(goalRepository).save(argThat(goal -> 
             goal.getProgressPercentage() == progressPercentage &&
@@ -108,7 +215,7 @@ class GoalProjectionHandlerTest {
 
         GoalProgressUpdatedEvent event = new GoalProgressUpdatedEvent(goalId, progressPercentage, notes, updatedAt);
 
-        handler.on(event);
+        handler.on(event, "event1");
 
         verify(goalRepository).save(argThat(goal -> 
             goal.getProgressPercentage() == progressPercentage &&
@@ -198,7 +305,7 @@ class GoalProjectionHandlerTest {
 
         when(goalRepository.findById(goalId)).thenReturn(Optional.empty());
 
-        handler.on(event);
+        handler.on(event, "event1");
 
         verify(goalRepository, never()).save(any(GoalProjection.class));
         verify(progressRepository, never()).save(any(GoalProgressProjection.class));
@@ -215,4 +322,206 @@ class GoalProjectionHandlerTest {
 
         verify(goalRepository, never()).save(any(GoalProjection.class));
     }
+
+    @Test
+    void testHandleGoalCreatedEvent_SavesGoalAsNew() {
+        handler.on(new GoalCreatedEvent("goal123", "user123", "Learn Spring Boot", LocalDate.now(), Instant.now()));
+
+        verify(goalRepository).save(argThat(GoalProjection::isNew));
+    }
+
+    @Test
+    void testReplayedGoalCreatedEventUpdatesExistingRow() {
+        GoalProjection existing = new GoalProjection();
+        existing.setGoalId("goal123");
+        existing.setStatus(GoalStatus.COMPLETED);
+        when(goalRepository.findById("goal123")).thenReturn(Optional.of(existing));
+
+        handler.on(new GoalCreatedEvent("goal123", "user123", "Learn Spring Boot", LocalDate.now(), Instant.now()));
+
+        verify(goalRepository).save(argThat(goal -> goal == existing && !goal.isNew()
+            && goal.getStatus() == GoalStatus.PENDING));
+    }
+
+    @Test
+    void testGoalCreatedEventsInBatch_OnlyNewGoalsAreInserted() {
+        GoalProjection existing = new GoalProjection();
+        existing.setGoalId("goal1");
+        when(goalRepository.findAllById(Set.of("goal1", "goal2"))).thenReturn(List.of(existing));
+
+        List<EventMessage<?>> batch = List.of(
+            GenericEventMessage.asEventMessage(new GoalCreatedEvent("goal1", "user123", "a", LocalDate.now(), Instant.now())),
+            GenericEventMessage.asEventMessage(new GoalCreatedEvent("goal2", "user123", "b", LocalDate.now(), Instant.now()))
+        );
+        BatchingUnitOfWork<EventMessage<?>> unitOfWork = new BatchingUnitOfWork<>(batch);
+        unitOfWork.executeWithResult(() -> {
+            handler.on((GoalCreatedEvent) unitOfWork.getMessage().getPayload());
+            return null;
+        });
+
+        verify(goalRepository, never()).findById(any());
+        verify(goalRepository).save(argThat(goal -> goal.getGoalId().equals("goal1") && !goal.isNew()));
+        verify(goalRepository).save(argThat(goal -> goal.getGoalId().equals("goal2") && goal.isNew()));
+    }
+
+    @Test
+    void testProgressEventsInBatch_LoadGoalsOnce() {
+        GoalProjection goal1 = new GoalProjection();
+        goal1.setGoalId("goal1");
+        GoalProjection goal2 = new GoalProjection();
+        goal2.setGoalId("goal2");
+
+        when(goalRepository.findById("goal1")).thenReturn(Optional.of(goal1));
+        when(goalRepository.findById("goal2")).thenReturn(Optional.of(goal2));
+
+        List<EventMessage<?>> batch = List.of(
+            GenericEventMessage.asEventMessage(new GoalProgressUpdatedEvent("goal1", 10.0, "a", Instant.now())),
+            GenericEventMessage.asEventMessage(new GoalProgressUpdatedEvent("goal2", 20.0, "b", Instant.now())),
+            GenericEventMessage.asEventMessage(new GoalCompletedEvent("goal1", "user123", Instant.now()))
+        );
+        BatchingUnitOfWork<EventMessage<?>> unitOfWork = new BatchingUnitOfWork<>(batch);
+        unitOfWork.executeWithResult(() -> {
+            Object payload = unitOfWork.getMessage().getPayload();
+            if (payload instanceof GoalProgressUpdatedEvent progressEvent) {
+                handler.on(progressEvent, unitOfWork.getMessage().getIdentifier());
+            } else {
+                handler.on((GoalCompletedEvent) payload);
+            }
+            return null;
+        });
+
+        verify(goalRepository, times(1)).findAllById(Set.of("goal1", "goal2"));
+        verify(progressRepository, times(2)).save(any(GoalProgressProjection.class));
+        assertEquals(GoalStatus.COMPLETED, goal1.getStatus());
+        assertEquals(20.0, goal2.getProgressPercentage());
+    }
+
+    @Test
+    void testReplayedProgressEventIsRecordedOnce() {
+        GoalProjection goal = new GoalProjection();
+        goal.setGoalId("goal1");
+        when(goalRepository.findById("goal1")).thenReturn(Optional.of(goal));
+
+        EventMessage<?> recorded = GenericEventMessage.asEventMessage(
+            new GoalProgressUpdatedEvent("goal1", 10.0, "a", Instant.now()));
+        EventMessage<?> fresh = GenericEventMessage.asEventMessage(
+            new GoalProgressUpdatedEvent("goal1", 20.0, "b", Instant.now()));
+        when(progressRepository.findRecordedIds(List.of(recorded.getIdentifier(), fresh.getIdentifier())))
+            .thenReturn(List.of(recorded.getIdentifier()));
+
+        BatchingUnitOfWork<EventMessage<?>> unitOfWork = new BatchingUnitOfWork<>(List.of(recorded, fresh));
+        unitOfWork.executeWithResult(() -> {
+            handler.on((GoalProgressUpdatedEvent) unitOfWork.getMessage().getPayload(),
+                unitOfWork.getMessage().getIdentifier());
+            return null;
+        });
+
+        verify(progressRepository, times(1)).findRecordedIds(any());
+        verify(progressRepository).save(argThat(progress ->
+            progress.getProgressId().equals(fresh.getIdentifier()) && progress.isNew()));
+        verify(progressRepository, never()).save(argThat(progress ->
+            progress.getProgressId().equals(recorded.getIdentifier())));
+        assertEquals(20.0, goal.getProgressPercentage());
+    }
+
+    @Test
+    void testResetClearsProjectionTables() {
+        handler.reset();
+
+        verify(progressRepository).deleteAllInBatch();
+        verify(goalRepository).deleteAllTags();
+        verify(goalRepository).deleteAllInBatch();
+    }
+
+    @Test
+    void testHandleFindUserGoalsPageQuery_KeepsIndexOrderAndReturnsCursor() {
+        Instant updatedAt = Instant.parse("2024-05-01T10:15:30.123456Z");
+        GoalProjection newer = new GoalProjection();
+        newer.setGoalId("goal2");
+        newer.setUpdatedAt(updatedAt.plusSeconds(60));
+        GoalProjection older = new GoalProjection();
+        older.setGoalId("goal1");
+        older.setUpdatedAt(updatedAt);
+
+        when(goalRepository.findPageIds(eq("user123"), eq(GoalStatus.IN_PROGRESS), eq("Health"), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of("goal2", "goal1"), Pageable.ofSize(2), true));
+        when(goalRepository.findByGoalIdIn(List.of("goal2", "goal1"))).thenReturn(List.of(older, newer));
+
+        GoalPage page = handler.handle(new FindUserGoalsPageQuery("user123", "IN_PROGRESS", "Health", null, 2));
+
+        assertEquals(List.of(newer, older), page.getGoals());
+        assertNotNull(page.getNextCursor());
+        verify(goalRepository).countMatching("user123", GoalStatus.IN_PROGRESS, "Health");
+
+        when(goalRepository.findPageIdsAfter(eq("user123"), isNull(), isNull(), eq(updatedAt), eq("goal1"), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of()));
+
+        GoalPage next = handler.handle(new FindUserGoalsPageQuery("user123", null, null, page.getNextCursor(), 2));
+
+        assertTrue(next.getGoals().isEmpty());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testHandleFindUserGoalsPageQuery_LastPageHasNoCursor() {
+        GoalProjection goal = new GoalProjection();
+        goal.setGoalId("goal1");
+        goal.setUpdatedAt(Instant.now());
+
+        when(goalRepository.findPageIds(eq("user123"), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of("goal1"), Pageable.ofSize(50), false));
+        when(goalRepository.findByGoalIdIn(List.of("goal1"))).thenReturn(List.of(goal));
+        when(goalRepository.countMatching("user123", null, null)).thenReturn(1L);
+
+        GoalPage page = handler.handle(new FindUserGoalsPageQuery("user123", null, null, null, 50));
+
+        assertEquals(List.of(goal), page.getGoals());
+        assertNull(page.getNextCursor());
+        assertEquals(1, page.getTotalCount());
+    }
+
+    @Test
+    void testHandleFindUserGoalsPageQuery_WithoutLimitOrCursorReturnsEveryGoal() {
+        GoalProjection goal = new GoalProjection();
+        goal.setGoalId("goal1");
+        goal.setUpdatedAt(Instant.now());
+
+        when(goalRepository.findPageIds("user123", null, null, Pageable.unpaged()))
+            .thenReturn(new SliceImpl<>(List.of("goal1")));
+        when(goalRepository.findByGoalIdIn(List.of("goal1"))).thenReturn(List.of(goal));
+
+        GoalPage page = handler.handle(new FindUserGoalsPageQuery("user123", null, null, null, 0));
+
+        assertEquals(List.of(goal), page.getGoals());
+        assertNull(page.getNextCursor());
+        assertEquals(1, page.getTotalCount());
+        verify(goalRepository, never()).countMatching(any(), any(), any());
+    }
+
+    @Test
+    void testHandleFindUserGoalsPageQuery_InvalidCursor() {
+        FindUserGoalsPageQuery query = new FindUserGoalsPageQuery("user123", null, null, "not-a-cursor", 10);
+
+        assertThrows(IllegalArgumentException.class, () -> handler.handle(query));
+    }
+
+    @Test
+    void testHandleFindGoalProgressQuery_Window() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-04-01T00:00:00Z");
+        List<GoalProgressProjection> entries = List.of(new GoalProgressProjection("goal123", 40.0, "notes", from));
+        when(progressRepository.findInWindow("goal123", from, to, Pageable.ofSize(30))).thenReturn(entries);
+
+        List<GoalProgressProjection> result = handler.handle(new FindGoalProgressQuery("goal123", from, to, 30));
+
+        assertEquals(entries, result);
+    }
+
+    @Test
+    void testHandleFindGoalProgressQuery_OpenWindowReturnsWholeHistory() {
+        handler.handle(new FindGoalProgressQuery("goal123"));
+
+        verify(progressRepository).findInWindow(eq("goal123"), eq(Instant.EPOCH),
+            argThat(to -> to.isAfter(Instant.now().plusSeconds(365L * 24 * 3600 * 1000))), eq(Pageable.unpaged()));
+    }
 }
\ No newline at end of file
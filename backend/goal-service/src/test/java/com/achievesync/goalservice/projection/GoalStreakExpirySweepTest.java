@@ -0,0 +1,135 @@
+package com.achievesync.goalservice.projection;
+
+import com.achievesync.goalservice.service.UserTimeZones;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoalStreakExpirySweepTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-15T12:00:00Z");
+
+    @Mock
+    private GoalStreakRepository streakRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GoalStreakExpirySweep sweep;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        UserTimeZones userTimeZones = new UserTimeZones(meterRegistry, "UTC", 100,
+            Duration.ofMinutes(10), Duration.ofSeconds(2));
+        sweep = new GoalStreakExpirySweep(streakRepository, userTimeZones, meterRegistry, 4, 2, 2, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweep.shutdown();
+    }
+
+    @Test
+    void rangesCoverTheWholeGoalIdSpace() {
+        assertEquals(List.of(
+            new GoalStreakExpirySweep.GoalIdRange("", "4000"),
+            new GoalStreakExpirySweep.GoalIdRange("4000", "8000"),
+            new GoalStreakExpirySweep.GoalIdRange("8000", "c000"),
+            new GoalStreakExpirySweep.GoalIdRange("c000", "")
+        ), GoalStreakExpirySweep.GoalIdRange.split(4));
+        assertEquals(List.of(new GoalStreakExpirySweep.GoalIdRange("", "")),
+            GoalStreakExpirySweep.GoalIdRange.split(1));
+    }
+
+    @Test
+    void eachRangeIsExpiredInBatchesUntilOneComesBackShort() {
+        when(streakRepository.expireBefore(any(), anyString(), anyString(), eq(2))).thenReturn(0);
+        when(streakRepository.expireBefore(any(), eq("4000"), eq("8000"), eq(2))).thenReturn(2, 2, 1);
+
+        long expired = sweep.sweep(NOW);
+
+        assertEquals(5, expired);
+        verify(streakRepository, times(3)).expireBefore(any(), eq("4000"), eq("8000"), eq(2));
+        verify(streakRepository, times(1)).expireBefore(any(), eq(""), eq("4000"), eq(2));
+        assertEquals(5.0, meterRegistry.counter("achievesync.streak-sweep.expired").count());
+        assertEquals(1, meterRegistry.timer("achievesync.streak-sweep.duration").count());
+        assertEquals(0.0, meterRegistry.get("achievesync.streak-sweep.ranges.remaining").gauge().value());
+    }
+
+    @Test
+    void recentDaysAreOnlyExpiredInZonesPastTheirCutoff() {
+        sweep.sweep(NOW);
+
+        // At 12:00 UTC no zone is still on the 13th, so anything before the 13th is expired everywhere
+        verify(streakRepository).expireBefore(LocalDate.of(2024, 3, 13), "", "4000", 2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> zones = ArgumentCaptor.forClass(Collection.class);
+        verify(streakRepository).expireInZones(eq(LocalDate.of(2024, 3, 13)), eq(LocalDate.of(2024, 3, 14)),
+            zones.capture(), eq("UTC"), eq(""), eq("4000"), eq(2));
+        assertTrue(zones.getValue().containsAll(List.of("UTC", "America/New_York", "Asia/Tokyo")));
+        assertFalse(zones.getValue().contains("Pacific/Kiritimati"));
+
+        verify(streakRepository).expireInZones(eq(LocalDate.of(2024, 3, 13)), eq(LocalDate.of(2024, 3, 15)),
+            zones.capture(), eq("UTC"), eq(""), eq("4000"), eq(2));
+        assertTrue(zones.getValue().contains("Pacific/Kiritimati"));
+        assertFalse(zones.getValue().contains("UTC"));
+    }
+
+    @Test
+    void graceHoldsBackDaysWhoseMidnightHasOnlyJustPassed() {
+        GoalStreakExpirySweep delayed = new GoalStreakExpirySweep(streakRepository,
+            new UserTimeZones(meterRegistry, "UTC", 100, Duration.ofMinutes(10), Duration.ofSeconds(2)),
+            meterRegistry, 1, 1, 2, Duration.ofHours(3));
+        try {
+            // Three hours back from 01:00 UTC on the 15th it is still the 14th in UTC, so a
+            // streak last logged on the 13th has not lapsed there yet
+            delayed.sweep(Instant.parse("2024-03-15T01:00:00Z"));
+
+            verify(streakRepository).expireBefore(LocalDate.of(2024, 3, 13), "", "", 2);
+            verify(streakRepository, never()).expireInZones(any(), any(),
+                argThat(ids -> ids.contains("UTC")), any(), any(), any(), anyInt());
+        } finally {
+            delayed.shutdown();
+        }
+    }
+
+    @Test
+    void failedRangeFailsTheRunAfterTheOthersFinish() {
+        when(streakRepository.expireBefore(any(), anyString(), anyString(), eq(2))).thenReturn(1);
+        when(streakRepository.expireBefore(any(), eq("8000"), eq("c000"), eq(2)))
+            .thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThrows(CompletionException.class, () -> sweep.sweep(NOW));
+
+        verify(streakRepository).expireBefore(any(), eq("c000"), eq(""), eq(2));
+        assertEquals(1.0, meterRegistry.counter("achievesync.streak-sweep.failures").count());
+        assertEquals(3.0, meterRegistry.counter("achievesync.streak-sweep.expired").count());
+        assertEquals(0.0, meterRegistry.get("achievesync.streak-sweep.ranges.remaining").gauge().value());
+    }
+
+    @Test
+    void partitionsOutsideThePrefixSpaceAreRejected() {
+        UserTimeZones userTimeZones = new UserTimeZones(meterRegistry, "UTC", 100,
+            Duration.ofMinutes(10), Duration.ofSeconds(2));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new GoalStreakExpirySweep(streakRepository, userTimeZones, meterRegistry, 0, 2, 2, Duration.ZERO));
+    }
+}
\ No newline at end of file
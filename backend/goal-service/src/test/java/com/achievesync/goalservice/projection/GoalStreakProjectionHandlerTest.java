@@ -0,0 +1,236 @@
+package com.achievesync.goalservice.projection;
+
+import com.achievesync.goalservice.event.GoalCreatedEvent;
+import com.achievesync.goalservice.event.GoalProgressUpdatedEvent;
+import com.achievesync.goalservice.query.FindGoalStreakQuery;
+import com.achievesync.goalservice.service.UserTimeZones;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoalStreakProjectionHandlerTest {
+
+    @Mock
+    private GoalStreakRepository streakRepository;
+
+    private UserTimeZones userTimeZones;
+    private GoalStreakProjectionHandler handler;
+
+    // Events without a zone count in the default zone, here the system one
+    @BeforeEach
+    void setUp() {
+        userTimeZones = new UserTimeZones(new SimpleMeterRegistry(), ZoneId.systemDefault().getId(),
+            100, Duration.ofMinutes(10), Duration.ofSeconds(2));
+        handler = new GoalStreakProjectionHandler(streakRepository, userTimeZones);
+    }
+
+    @Test
+    void testHandleGoalCreatedEvent() {
+        handler.on(new GoalCreatedEvent("goal123", "user123", "Learn Spring Boot", LocalDate.now(), Instant.now(),
+            null, null, "Europe/Berlin"));
+
+        verify(streakRepository).save(argThat(streak ->
+            streak.getGoalId().equals("goal123") &&
+            streak.getCurrentStreakDays() == 0 &&
+            streak.getLongestStreakDays() == 0 &&
+            streak.getLastStreakUpdate() == null &&
+            !streak.isStreakActive() &&
+            streak.isNew() &&
+            streak.getUserId().equals("user123") &&
+            streak.getTimeZone().equals("Europe/Berlin")
+        ));
+    }
+
+    @Test
+    void testGoalCreatedEventReplayedOverAnExistingRowKeepsIt() {
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 3, 5, LocalDate.of(2024, 3, 14), true);
+        streak.setTimeZone("Asia/Tokyo");
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        handler.on(new GoalCreatedEvent("goal123", "user123", "Learn Spring Boot", LocalDate.now(), Instant.now(),
+            null, null, "Europe/Berlin"));
+
+        verify(streakRepository).save(streak);
+        assertFalse(streak.isNew());
+        assertEquals(3, streak.getCurrentStreakDays());
+        assertEquals(5, streak.getLongestStreakDays());
+        assertEquals("user123", streak.getUserId());
+        assertEquals("Asia/Tokyo", streak.getTimeZone());
+    }
+
+    @Test
+    void testProgressCountsOnTheLocalDayRecordedOnTheEvent() {
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 2, 2, LocalDate.of(2024, 3, 14), true);
+        streak.setUserId("user123");
+        streak.setTimeZone("UTC");
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        // Still the 14th in UTC, already the 15th in Tokyo
+        handler.on(new GoalProgressUpdatedEvent("goal123", 50.0, "Late night run",
+            Instant.parse("2024-03-14T16:30:00Z"), "Asia/Tokyo"));
+
+        assertEquals(3, streak.getCurrentStreakDays());
+        assertEquals(LocalDate.of(2024, 3, 15), streak.getLastStreakUpdate());
+        assertEquals("Asia/Tokyo", streak.getTimeZone());
+    }
+
+    @Test
+    void testProgressWithoutZoneCountsInTheStreaksZone() {
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 2, 2, LocalDate.of(2024, 3, 14), true);
+        streak.setUserId("user123");
+        streak.setTimeZone("Asia/Tokyo");
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        handler.on(new GoalProgressUpdatedEvent("goal123", 50.0, "Late night run",
+            Instant.parse("2024-03-14T16:30:00Z"), null));
+
+        assertEquals(LocalDate.of(2024, 3, 15), streak.getLastStreakUpdate());
+        assertEquals("Asia/Tokyo", streak.getTimeZone());
+    }
+
+    @Test
+    void testConsecutiveDayExtendsStreak() {
+        LocalDate today = LocalDate.now();
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 2, 4, today.minusDays(1), true);
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        handler.on(progressOn("goal123", today));
+
+        verify(streakRepository).save(streak);
+        assertEquals(3, streak.getCurrentStreakDays());
+        assertEquals(4, streak.getLongestStreakDays());
+        assertEquals(today, streak.getLastStreakUpdate());
+        assertTrue(streak.isStreakActive());
+    }
+
+    @Test
+    void testGapStartsNewStreak() {
+        LocalDate today = LocalDate.now();
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 3, 3, today.minusDays(3), true);
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        handler.on(progressOn("goal123", today));
+
+        assertEquals(1, streak.getCurrentStreakDays());
+        assertEquals(3, streak.getLongestStreakDays());
+        assertEquals(today, streak.getLastStreakUpdate());
+    }
+
+    @Test
+    void testSameDayUpdateIsCountedOnce() {
+        LocalDate today = LocalDate.now();
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 2, 2, today, true);
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        handler.on(progressOn("goal123", today));
+
+        verify(streakRepository, never()).save(any(GoalStreakProjection.class));
+        assertEquals(2, streak.getCurrentStreakDays());
+    }
+
+    @Test
+    void testLongestStreakFollowsCurrentStreak() {
+        LocalDate today = LocalDate.now();
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 5, 5, today.minusDays(1), true);
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        handler.on(progressOn("goal123", today));
+
+        assertEquals(6, streak.getCurrentStreakDays());
+        assertEquals(6, streak.getLongestStreakDays());
+    }
+
+    @Test
+    void testLateEventContinuesAStreakTheSweepDeactivated() {
+        // The sweep ran while this processor was behind and only cleared the active flag
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 4, 4, LocalDate.of(2024, 3, 14), false);
+        streak.setTimeZone("UTC");
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        handler.on(new GoalProgressUpdatedEvent("goal123", 50.0, "Logged on the 15th",
+            Instant.parse("2024-03-15T20:00:00Z"), "UTC"));
+
+        assertEquals(5, streak.getCurrentStreakDays());
+        assertEquals(5, streak.getLongestStreakDays());
+        assertTrue(streak.isStreakActive());
+    }
+
+    @Test
+    void testProgressWithoutStreakRowCreatesOne() {
+        when(streakRepository.findById("goal123")).thenReturn(Optional.empty());
+
+        handler.on(progressOn("goal123", LocalDate.now()));
+
+        verify(streakRepository).save(argThat(streak ->
+            streak.getGoalId().equals("goal123") &&
+            streak.getCurrentStreakDays() == 1 &&
+            streak.getLongestStreakDays() == 1 &&
+            streak.isStreakActive()
+        ));
+    }
+
+    @Test
+    void testHandleFindGoalStreakQuery_ActiveStreak() {
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 3, 5, LocalDate.now().minusDays(1), true);
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        GoalStreakProjection result = handler.handle(new FindGoalStreakQuery("goal123"));
+
+        assertEquals(3, result.getCurrentStreakDays());
+        assertEquals(5, result.getLongestStreakDays());
+        assertTrue(result.isStreakActive());
+    }
+
+    @Test
+    void testHandleFindGoalStreakQuery_ExpiredStreak() {
+        LocalDate threeDaysAgo = LocalDate.now().minusDays(3);
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 3, 5, threeDaysAgo, true);
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        GoalStreakProjection result = handler.handle(new FindGoalStreakQuery("goal123"));
+
+        assertEquals(0, result.getCurrentStreakDays());
+        assertEquals(5, result.getLongestStreakDays());
+        assertEquals(threeDaysAgo, result.getLastStreakUpdate());
+        assertFalse(result.isStreakActive());
+    }
+
+    @Test
+    void testHandleFindGoalStreakQuery_SweptStreakReadsAsZero() {
+        GoalStreakProjection streak = new GoalStreakProjection("goal123", 3, 5, LocalDate.now().minusDays(2), false);
+        when(streakRepository.findById("goal123")).thenReturn(Optional.of(streak));
+
+        GoalStreakProjection result = handler.handle(new FindGoalStreakQuery("goal123"));
+
+        assertEquals(0, result.getCurrentStreakDays());
+        assertEquals(5, result.getLongestStreakDays());
+        assertFalse(result.isStreakActive());
+        assertEquals(3, streak.getCurrentStreakDays());
+    }
+
+    @Test
+    void testHandleFindGoalStreakQuery_NotFound() {
+        when(streakRepository.findById("nonexistent")).thenReturn(Optional.empty());
+
+        assertNull(handler.handle(new FindGoalStreakQuery("nonexistent")));
+    }
+
+    private GoalProgressUpdatedEvent progressOn(String goalId, LocalDate date) {
+        Instant updatedAt = date.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant();
+        return new GoalProgressUpdatedEvent(goalId, 50.0, "Daily progress", updatedAt);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.goalservice.command.UpdateGoalProgressCommand;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.modelling.command.ConcurrencyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkProgressServiceTest {
+
+    @Mock
+    private CommandGateway commandGateway;
+
+    private BulkProgressService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkProgressService(commandGateway, 4, 10, Duration.ofDays(30), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testUpdatesForOneGoalKeepTheirOrder() {
+        Map<String, List<Double>> applied = new ConcurrentHashMap<>();
+        when(commandGateway.sendAndWait(any())).thenAnswer(invocation -> {
+            UpdateGoalProgressCommand command = invocation.getArgument(0);
+            applied.computeIfAbsent(command.getGoalId(), key -> new CopyOnWriteArrayList<>())
+                .add(command.getProgressPercentage());
+            return null;
+        });
+
+        List<BulkProgressService.ProgressResult> results = service.updateProgress(List.of(
+            progress("goal1", 10), progress("goal2", 50), progress("goal1", 20), progress("goal1", 30)
+        )).join();
+
+        assertEquals(List.of(10.0, 20.0, 30.0), applied.get("goal1"));
+        assertEquals(List.of(50.0), applied.get("goal2"));
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(BulkProgressService.ProgressResult::getIndex).toList());
+        assertTrue(results.stream().allMatch(BulkProgressService.ProgressResult::isSuccess));
+    }
+
+    @Test
+    void testDifferentGoalsRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(commandGateway.sendAndWait(any())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            // Only returns once the other goal's update is in flight as well
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return null;
+        });
+
+        List<BulkProgressService.ProgressResult> results =
+            service.updateProgress(List.of(progress("goal1", 10), progress("goal2", 20))).join();
+
+        assertTrue(results.stream().allMatch(BulkProgressService.ProgressResult::isSuccess));
+    }
+
+    @Test
+    void testFailedEntryIsReportedAndLaneContinues() {
+        when(commandGateway.sendAndWait(any())).thenAnswer(invocation -> {
+            UpdateGoalProgressCommand command = invocation.getArgument(0);
+            if (command.getProgressPercentage() == 20) {
+                throw new IllegalStateException("Goal is already completed");
+            }
+            if (command.getProgressPercentage() == 40) {
+                throw new ConcurrencyException("Goal was updated concurrently");
+            }
+            return null;
+        });
+
+        List<BulkProgressService.ProgressResult> results = service.updateProgress(List.of(
+            progress("goal1", 10), progress("goal1", 20), progress("goal1", 30), progress("goal1", 40)
+        )).join();
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Goal is already completed", results.get(1).getError());
+        assertFalse(results.get(1).isRetryable());
+        assertTrue(results.get(2).isSuccess());
+        assertFalse(results.get(3).isSuccess());
+        assertTrue(results.get(3).isRetryable());
+    }
+
+    @Test
+    void testEntriesCountWhenTheyWereRecorded() {
+        Instant recordedAt = Instant.now().minus(Duration.ofDays(2));
+
+        List<BulkProgressService.ProgressResult> results = service.updateProgress(List.of(
+            new UpdateGoalProgressCommand("goal1", 10, "synced", recordedAt, null))).join();
+
+        assertTrue(results.get(0).isSuccess());
+        verify(commandGateway).sendAndWait(argThat(command ->
+            recordedAt.equals(((UpdateGoalProgressCommand) command).getRecordedAt())));
+    }
+
+    @Test
+    void testFutureAndTooOldEntriesAreRejected() {
+        List<BulkProgressService.ProgressResult> results = service.updateProgress(List.of(
+            new UpdateGoalProgressCommand("goal1", 10, "synced", Instant.now().plus(Duration.ofHours(1)), null),
+            new UpdateGoalProgressCommand("goal1", 20, "synced", Instant.now().minus(Duration.ofDays(31)), null),
+            new UpdateGoalProgressCommand("goal1", 30, "synced", Instant.now().plus(Duration.ofMinutes(1)), null)
+        )).join();
+
+        assertFalse(results.get(0).isSuccess());
+        assertFalse(results.get(0).isRetryable());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(1).isRetryable());
+        assertTrue(results.get(2).isSuccess());
+        verify(commandGateway, times(1)).sendAndWait(any());
+    }
+
+    @Test
+    void testRejectsOversizedBatch() {
+        List<UpdateGoalProgressCommand> commands = Collections.nCopies(11, progress("goal1", 10));
+
+        assertThrows(IllegalArgumentException.class, () -> service.updateProgress(commands));
+        verifyNoInteractions(commandGateway);
+    }
+
+    @Test
+    void testRejectsEntryWithoutGoalId() {
+        assertThrows(IllegalArgumentException.class, () -> service.updateProgress(List.of(progress(null, 10))));
+    }
+
+    private static UpdateGoalProgressCommand progress(String goalId, double percentage) {
+        return new UpdateGoalProgressCommand(goalId, percentage, "synced");
+    }
+}
\ No newline at end of file
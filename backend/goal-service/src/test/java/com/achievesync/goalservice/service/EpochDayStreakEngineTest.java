@@ -0,0 +1,104 @@
+package com.achievesync.goalservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpochDayStreakEngineTest {
+
+    private static final int TODAY = (int) LocalDate.of(2024, 3, 15).toEpochDay();
+
+    @Test
+    void emptyHistoryHasNoStreak() {
+        StreakCalculationService.StreakData result = EpochDayStreakEngine.calculate(new int[0], 0, TODAY);
+
+        assertEquals(0, result.getCurrentStreakDays());
+        assertEquals(0, result.getLongestStreakDays());
+        assertNull(result.getLastStreakUpdate());
+        assertFalse(result.isStreakActive());
+    }
+
+    @Test
+    void consecutiveDaysFormOneStreak() {
+        StreakCalculationService.StreakData result = calculate(TODAY, TODAY - 1, TODAY - 2, TODAY - 3, TODAY - 4);
+
+        assertEquals(5, result.getCurrentStreakDays());
+        assertEquals(5, result.getLongestStreakDays());
+        assertEquals(LocalDate.ofEpochDay(TODAY), result.getLastStreakUpdate());
+        assertTrue(result.isStreakActive());
+    }
+
+    @Test
+    void currentStreakIsTheMostRecentRun() {
+        StreakCalculationService.StreakData result = calculate(TODAY, TODAY - 1, TODAY - 4, TODAY - 5, TODAY - 6);
+
+        assertEquals(2, result.getCurrentStreakDays());
+        assertEquals(3, result.getLongestStreakDays());
+    }
+
+    @Test
+    void longestStreakCanBeTheOldestOfSeveralRuns() {
+        StreakCalculationService.StreakData result = calculate(
+            TODAY, TODAY - 3, TODAY - 4, TODAY - 7, TODAY - 8, TODAY - 9, TODAY - 10);
+
+        assertEquals(1, result.getCurrentStreakDays());
+        assertEquals(4, result.getLongestStreakDays());
+    }
+
+    @Test
+    void streakLapsesAfterAMissedDay() {
+        StreakCalculationService.StreakData result = calculate(TODAY - 3, TODAY - 4);
+
+        assertEquals(0, result.getCurrentStreakDays());
+        assertEquals(2, result.getLongestStreakDays());
+        assertEquals(LocalDate.ofEpochDay(TODAY - 3), result.getLastStreakUpdate());
+        assertFalse(result.isStreakActive());
+    }
+
+    @Test
+    void streakEndingYesterdayIsStillActive() {
+        StreakCalculationService.StreakData result = calculate(TODAY - 1, TODAY - 2);
+
+        assertEquals(2, result.getCurrentStreakDays());
+        assertTrue(result.isStreakActive());
+    }
+
+    @Test
+    void repeatedDaysInAnyOrderCountOnce() {
+        StreakCalculationService.StreakData result = calculate(
+            TODAY - 1, TODAY, TODAY - 5, TODAY, TODAY - 1, TODAY - 2, TODAY - 5, TODAY);
+
+        assertEquals(3, result.getCurrentStreakDays());
+        assertEquals(3, result.getLongestStreakDays());
+        assertEquals(LocalDate.ofEpochDay(TODAY), result.getLastStreakUpdate());
+    }
+
+    @Test
+    void onlyTheGivenLengthIsRead() {
+        int[] buffer = {TODAY, TODAY - 1, TODAY - 2, TODAY - 3};
+
+        StreakCalculationService.StreakData result = EpochDayStreakEngine.calculate(buffer, 2, TODAY);
+
+        assertEquals(2, result.getCurrentStreakDays());
+        assertEquals(TODAY - 3, buffer[3]);
+    }
+
+    @Test
+    void epochDayUsesTheLocalDateInTheGivenZone() {
+        Instant instant = Instant.parse("2024-03-15T02:30:00Z");
+
+        assertEquals(TODAY, EpochDayStreakEngine.epochDay(instant, ZoneId.of("UTC")));
+        assertEquals(TODAY - 1, EpochDayStreakEngine.epochDay(instant, ZoneId.of("America/New_York")));
+        assertEquals(TODAY, EpochDayStreakEngine.epochDay(instant, ZoneId.of("Asia/Tokyo")));
+        assertEquals((int) LocalDate.of(1969, 12, 31).toEpochDay(),
+            EpochDayStreakEngine.epochDay(Instant.parse("1969-12-31T23:00:00Z"), ZoneId.of("UTC")));
+    }
+
+    private static StreakCalculationService.StreakData calculate(int... epochDays) {
+        return EpochDayStreakEngine.calculate(epochDays, epochDays.length, TODAY);
+    }
+}
\ No newline at end of file
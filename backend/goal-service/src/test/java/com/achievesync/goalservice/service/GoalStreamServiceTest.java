@@ -0,0 +1,107 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.goalservice.projection.GoalProjection;
+import com.achievesync.goalservice.projection.GoalUpdate;
+import com.achievesync.goalservice.query.FindGoalsByUserQuery;
+import org.axonframework.messaging.responsetypes.ResponseType;
+import org.axonframework.queryhandling.DefaultSubscriptionQueryResult;
+import org.axonframework.queryhandling.QueryGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class GoalStreamServiceTest {
+
+    @Mock
+    private QueryGateway queryGateway;
+
+    @Mock
+    private GoalUpdate update;
+
+    private final Sinks.Many<GoalUpdate> updates = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        GoalStreamService service = new GoalStreamService(queryGateway, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(service)).build();
+
+        GoalProjection goal = new GoalProjection();
+        goal.setGoalId("goal1");
+        goal.setUserId("user123");
+        when(queryGateway.subscriptionQuery(any(FindGoalsByUserQuery.class), any(ResponseType.class), any(ResponseType.class)))
+            .thenReturn(new DefaultSubscriptionQueryResult<>(Mono.just(List.of(goal)), updates.asFlux(), () -> {
+                closed.set(true);
+                return true;
+            }));
+    }
+
+    @Test
+    void testSnapshotThenUpdates() throws Exception {
+        when(update.getGoalId()).thenReturn("goal1");
+        MvcResult result = mockMvc.perform(get("/stream/user123"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        updates.tryEmitNext(update);
+        String body = result.getResponse().getContentAsString();
+
+        int snapshot = body.indexOf("event:goals\n");
+        int change = body.indexOf("event:goal\n");
+        assertTrue(snapshot >= 0, body);
+        assertTrue(change > snapshot, body);
+        assertTrue(body.contains("\"goalId\":\"goal1\""), body);
+    }
+
+    @Test
+    void testSubscriptionClosesWhenUpdatesEnd() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stream/user123"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        updates.tryEmitComplete();
+        mockMvc.perform(asyncDispatch(result));
+
+        assertTrue(closed.get());
+    }
+
+    @RestController
+    static class StreamController {
+        private final GoalStreamService service;
+
+        StreamController(GoalStreamService service) {
+            this.service = service;
+        }
+
+        @GetMapping("/stream/{userId}")
+        SseEmitter stream(@PathVariable String userId) {
+            return service.streamUserGoals(userId);
+        }
+    }
+}
\ No newline at end of file
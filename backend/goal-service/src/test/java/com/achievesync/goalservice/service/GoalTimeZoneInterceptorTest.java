@@ -0,0 +1,100 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.goalservice.command.CompleteGoalCommand;
+import com.achievesync.goalservice.command.CreateGoalCommand;
+import com.achievesync.goalservice.command.UpdateGoalProgressCommand;
+import com.achievesync.goalservice.projection.GoalProjection;
+import com.achievesync.goalservice.query.FindGoalQuery;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.queryhandling.QueryGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GoalTimeZoneInterceptorTest {
+
+    private UserTimeZones userTimeZones;
+    private QueryGateway queryGateway;
+    private GoalTimeZoneInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        userTimeZones = mock(UserTimeZones.class);
+        queryGateway = mock(QueryGateway.class);
+        interceptor = new GoalTimeZoneInterceptor(userTimeZones, queryGateway);
+    }
+
+    @Test
+    void createCarriesTheOwnersZone() {
+        when(userTimeZones.knownZoneFor("user123")).thenReturn(ZoneId.of("Asia/Tokyo"));
+        CommandMessage<?> sent = GenericCommandMessage.asCommandMessage(
+                new CreateGoalCommand("goal123", "user123", "Run 5k", LocalDate.now()))
+            .andMetaData(MetaData.with("traceId", "t1"));
+
+        CommandMessage<?> dispatched = interceptor.handle(sent);
+
+        CreateGoalCommand command = (CreateGoalCommand) dispatched.getPayload();
+        assertEquals("Asia/Tokyo", command.getTimeZone());
+        assertEquals("user123", command.getUserId());
+        assertEquals(sent.getIdentifier(), dispatched.getIdentifier());
+        assertEquals("t1", dispatched.getMetaData().get("traceId"));
+    }
+
+    @Test
+    void progressCarriesTheZoneOfTheGoalsOwner() {
+        GoalProjection goal = new GoalProjection();
+        goal.setUserId("user123");
+        when(queryGateway.query(any(FindGoalQuery.class), eq(GoalProjection.class)))
+            .thenReturn(CompletableFuture.completedFuture(goal));
+        when(userTimeZones.knownZoneFor("user123")).thenReturn(ZoneId.of("Europe/Berlin"));
+
+        CommandMessage<?> dispatched = interceptor.handle(
+            GenericCommandMessage.asCommandMessage(new UpdateGoalProgressCommand("goal123", 40.0, "n")));
+
+        UpdateGoalProgressCommand command = (UpdateGoalProgressCommand) dispatched.getPayload();
+        assertEquals("Europe/Berlin", command.getTimeZone());
+        assertEquals(40.0, command.getProgressPercentage());
+    }
+
+    @Test
+    void progressOnAGoalNotProjectedYetIsSentWithoutAZone() {
+        when(queryGateway.query(any(FindGoalQuery.class), eq(GoalProjection.class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+        CommandMessage<?> sent = GenericCommandMessage.asCommandMessage(
+            new UpdateGoalProgressCommand("goal123", 40.0, "n"));
+
+        assertSame(sent, interceptor.handle(sent));
+        verifyNoInteractions(userTimeZones);
+    }
+
+    @Test
+    void failedLookupLeavesTheZoneUnknown() {
+        when(userTimeZones.knownZoneFor("user123")).thenReturn(null);
+
+        CommandMessage<?> dispatched = interceptor.handle(GenericCommandMessage.asCommandMessage(
+            new CreateGoalCommand("goal123", "user123", "Run 5k", LocalDate.now())));
+
+        assertNull(((CreateGoalCommand) dispatched.getPayload()).getTimeZone());
+    }
+
+    @Test
+    void otherCommandsAndResolvedZonesPassThrough() {
+        CommandMessage<?> complete = GenericCommandMessage.asCommandMessage(new CompleteGoalCommand("goal123"));
+        CommandMessage<?> resolved = GenericCommandMessage.asCommandMessage(
+            new UpdateGoalProgressCommand("goal123", 40.0, "n", null, "UTC"));
+
+        assertSame(complete, interceptor.handle(complete));
+        assertSame(resolved, interceptor.handle(resolved));
+        verifyNoInteractions(userTimeZones, queryGateway);
+    }
+}
\ No newline at end of file
@@ -147,6 +147,26 @@ class StreakCalculationServiceTest {
         assertTrue(result.isStreakActive());
     }
 
+    @Test
+    void testCalculateStreak_MultipleUpdatesOnOneDay() {
+        List<GoalProgressProjection> progressHistory = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+
+        // Three updates today and two yesterday count as a two-day streak
+        progressHistory.add(createProgressEntry("goal1", today, 30.0, 9));
+        progressHistory.add(createProgressEntry("goal1", today, 40.0, 13));
+        progressHistory.add(createProgressEntry("goal1", today.minusDays(1), 20.0, 8));
+        progressHistory.add(createProgressEntry("goal1", today, 50.0, 18));
+        progressHistory.add(createProgressEntry("goal1", today.minusDays(1), 25.0, 20));
+
+        StreakCalculationService.StreakData result = streakCalculationService.calculateStreak(progressHistory);
+
+        assertEquals(2, result.getCurrentStreakDays());
+        assertEquals(2, result.getLongestStreakDays());
+        assertEquals(today, result.getLastStreakUpdate());
+        assertTrue(result.isStreakActive());
+    }
+
     private GoalProgressProjection createProgressEntry(String goalId, LocalDate date, double progress) {
         return new GoalProgressProjection(
             goalId + "_progress_" + date.toString(),
@@ -156,4 +176,14 @@ class StreakCalculationServiceTest {
             date.atStartOfDay().toInstant(ZoneOffset.UTC)
         );
     }
+
+    private GoalProgressProjection createProgressEntry(String goalId, LocalDate date, double progress, int hour) {
+        return new GoalProgressProjection(
+            goalId + "_progress_" + date + "_" + hour,
+            goalId,
+            progress,
+            "Test progress",
+            date.atTime(hour, 0).toInstant(ZoneOffset.UTC)
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.achievesync.goalservice.service;
+
+import com.achievesync.grpc.UserServiceGrpc;
+import com.achievesync.grpc.UserServiceProto.UserResponse;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class UserTimeZonesTest {
+
+    private UserServiceGrpc.UserServiceBlockingStub userService;
+    private SimpleMeterRegistry meterRegistry;
+    private UserTimeZones userTimeZones;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserServiceGrpc.UserServiceBlockingStub.class);
+        when(userService.withDeadlineAfter(anyLong(), any())).thenReturn(userService);
+        meterRegistry = new SimpleMeterRegistry();
+        userTimeZones = new UserTimeZones(meterRegistry, "UTC", 100, Duration.ofMinutes(10), Duration.ofSeconds(2));
+        userTimeZones.setUserService(userService);
+    }
+
+    @Test
+    void zoneIsLookedUpOncePerUser() {
+        when(userService.getUser(any())).thenReturn(UserResponse.newBuilder().setTimeZone("Europe/Berlin").build());
+
+        assertEquals(ZoneId.of("Europe/Berlin"), userTimeZones.zoneFor("user1"));
+        assertEquals(ZoneId.of("Europe/Berlin"), userTimeZones.zoneFor("user1"));
+
+        verify(userService, times(1)).getUser(any());
+    }
+
+    @Test
+    void userWithoutZoneGetsDefault() {
+        when(userService.getUser(any())).thenReturn(UserResponse.newBuilder().build());
+
+        assertEquals(ZoneId.of("UTC"), userTimeZones.zoneFor("user1"));
+    }
+
+    @Test
+    void failedLookupFallsBackWithoutCaching() {
+        when(userService.getUser(any()))
+            .thenThrow(Status.UNAVAILABLE.asRuntimeException())
+            .thenReturn(UserResponse.newBuilder().setTimeZone("Asia/Tokyo").build());
+
+        assertEquals(ZoneId.of("UTC"), userTimeZones.zoneFor("user1"));
+        assertEquals(ZoneId.of("Asia/Tokyo"), userTimeZones.zoneFor("user1"));
+        assertEquals(1.0, meterRegistry.counter("achievesync.time-zones.lookup.failures").count());
+    }
+
+    @Test
+    void failedLookupIsUnknown() {
+        when(userService.getUser(any())).thenThrow(Status.UNAVAILABLE.asRuntimeException());
+
+        assertNull(userTimeZones.knownZoneFor("user1"));
+    }
+
+    @Test
+    void withoutClientEveryUserGetsDefault() {
+        UserTimeZones unconnected = new UserTimeZones(meterRegistry, "America/Chicago", 100,
+            Duration.ofMinutes(10), Duration.ofSeconds(2));
+
+        assertEquals(ZoneId.of("America/Chicago"), unconnected.zoneFor("user1"));
+        assertEquals(ZoneId.of("America/Chicago"), unconnected.zoneFor(null));
+    }
+
+    @Test
+    void rulesAreSharedPerZone() {
+        assertSame(userTimeZones.rules(ZoneId.of("Europe/Berlin")), userTimeZones.rules(ZoneId.of("Europe/Berlin")));
+    }
+}
\ No newline at end of file
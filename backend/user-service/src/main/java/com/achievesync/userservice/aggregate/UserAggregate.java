@@ -11,9 +11,10 @@ import org.axonframework.eventsourcing.EventSourcingHandler;
 import org.axonframework.modelling.command.AggregateIdentifier;
 import org.axonframework.modelling.command.AggregateLifecycle;
 import org.axonframework.spring.stereotype.Aggregate;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.DateTimeException;
 import java.time.Instant;
+import java.time.ZoneId;
 
 @Aggregate
 public class UserAggregate {
@@ -22,7 +23,7 @@ public class UserAggregate {
     private String userId;
     private String name;
     private String email;
-    private String passwordHash;
+    private String timeZone;
     private int totalConsistencyPoints;
     private Instant createdAt;
     private Instant updatedAt;
@@ -31,17 +32,21 @@ public class UserAggregate {
         // Required by Axon
     }
 
+    // The password arrives already hashed by PasswordHashingService. The hash is stored beside
+    // the events rather than in them, in the same transaction
     @CommandHandler
-    public UserAggregate(CreateUserCommand command) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        String hashedPassword = encoder.encode(command.getPassword());
-        
+    public UserAggregate(CreateUserCommand command, UserCredentialsRepository credentialsRepository) {
         AggregateLifecycle.apply(new UserCreatedEvent(
             command.getUserId(),
             command.getName(),
             command.getEmail(),
-            Instant.now()
+            Instant.now(),
+            null,
+            normalizeTimeZone(command.getTimeZone())
         ));
+        if (command.getPasswordHash() != null) {
+            credentialsRepository.save(new UserCredentials(command.getUserId(), command.getPasswordHash()));
+        }
     }
 
     @CommandHandler
@@ -50,7 +55,8 @@ public class UserAggregate {
             command.getUserId(),
             command.getName(),
             command.getEmail(),
-            Instant.now()
+            Instant.now(),
+            normalizeTimeZone(command.getTimeZone())
         ));
     }
 
@@ -72,6 +78,7 @@ public class UserAggregate {
         this.userId = event.getUserId();
         this.name = event.getName();
         this.email = event.getEmail();
+        this.timeZone = event.getTimeZone();
         this.totalConsistencyPoints = 0;
         this.createdAt = event.getCreatedAt();
         this.updatedAt = event.getCreatedAt();
@@ -81,6 +88,9 @@ public class UserAggregate {
     public void on(UserProfileUpdatedEvent event) {
         this.name = event.getName();
         this.email = event.getEmail();
+        if (event.getTimeZone() != null) {
+            this.timeZone = event.getTimeZone();
+        }
         this.updatedAt = event.getUpdatedAt();
     }
 
@@ -89,10 +99,23 @@ public class UserAggregate {
         this.totalConsistencyPoints = event.getTotalPoints();
     }
 
+    // IANA ids such as Europe/Berlin, stored in their canonical form; blank means not set
+    private static String normalizeTimeZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return null;
+        }
+        try {
+            return ZoneId.of(timeZone.trim()).getId();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + timeZone, e);
+        }
+    }
+
     // Getters
     public String getUserId() { return userId; }
     public String getName() { return name; }
     public String getEmail() { return email; }
+    public String getTimeZone() { return timeZone; }
     public int getTotalConsistencyPoints() { return totalConsistencyPoints; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
@@ -0,0 +1,33 @@
+package com.achievesync.userservice.aggregate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A user's password hash, kept out of the events so it never reaches the event store, the
+ * replay log or the archive. Written by the command that creates the user, in the transaction
+ * that stores its events; projection rebuilds leave it alone.
+ */
+@Entity
+@Table(name = "user_credentials")
+public class UserCredentials {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "password_hash", nullable = false)
+    private String passwordHash;
+
+    public UserCredentials() {}
+
+    public UserCredentials(String userId, String passwordHash) {
+        this.userId = userId;
+        this.passwordHash = passwordHash;
+    }
+
+    public String getUserId() { return userId; }
+    public String getPasswordHash() { return passwordHash; }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.achievesync.userservice.aggregate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserCredentialsRepository extends JpaRepository<UserCredentials, String> {
+}
\ No newline at end of file
@@ -7,17 +7,24 @@ public class CreateUserCommand {
     private final String userId;
     private final String name;
     private final String email;
-    private final String password;
+    private final String passwordHash;
+    private final String timeZone;
 
-    public CreateUserCommand(String userId, String name, String email, String password) {
+    public CreateUserCommand(String userId, String name, String email, String passwordHash) {
+        this(userId, name, email, passwordHash, null);
+    }
+
+    public CreateUserCommand(String userId, String name, String email, String passwordHash, String timeZone) {
         this.userId = userId;
         this.name = name;
         this.email = email;
-        this.password = password;
+        this.passwordHash = passwordHash;
+        this.timeZone = timeZone;
     }
 
     public String getUserId() { return userId; }
     public String getName() { return name; }
     public String getEmail() { return email; }
-    public String getPassword() { return password; }
+    public String getPasswordHash() { return passwordHash; }
+    public String getTimeZone() { return timeZone; }
 }
\ No newline at end of file
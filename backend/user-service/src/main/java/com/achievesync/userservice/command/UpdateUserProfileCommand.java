@@ -7,14 +7,22 @@ public class UpdateUserProfileCommand {
     private final String userId;
     private final String name;
     private final String email;
+    private final String timeZone;
 
     public UpdateUserProfileCommand(String userId, String name, String email) {
+        this(userId, name, email, null);
+    }
+
+    // A null time zone leaves the current one in place
+    public UpdateUserProfileCommand(String userId, String name, String email, String timeZone) {
         this.userId = userId;
         this.name = name;
         this.email = email;
+        this.timeZone = timeZone;
     }
 
     public String getUserId() { return userId; }
     public String getName() { return name; }
     public String getEmail() { return email; }
+    public String getTimeZone() { return timeZone; }
 }
\ No newline at end of file
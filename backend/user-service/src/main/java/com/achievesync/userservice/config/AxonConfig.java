@@ -1,28 +1,70 @@
 package com.achievesync.userservice.config;
 
-import org.axonframework.eventhandling.EventBus;
-import org.axonframework.eventhandling.SimpleEventBus;
+import com.achievesync.eventstore.CaffeineCacheAdapter;
+import com.achievesync.eventstore.MeteredSnapshotTriggerDefinition;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.axonframework.common.caching.Cache;
+import org.axonframework.eventsourcing.EventCountSnapshotTriggerDefinition;
 import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.eventsourcing.SnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.Snapshotter;
 import org.axonframework.eventsourcing.eventstore.EventStore;
+import org.axonframework.messaging.annotation.ClasspathParameterResolverFactory;
+import org.axonframework.messaging.annotation.MultiParameterResolverFactory;
 import org.axonframework.modelling.command.Repository;
+import org.axonframework.spring.config.annotation.SpringBeanParameterResolverFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import com.achievesync.userservice.aggregate.UserAggregate;
 
+import java.time.Duration;
+
 @Configuration
 @Profile("!test")
 public class AxonConfig {
 
     @Bean
-    public Repository<UserAggregate> userAggregateRepository(EventStore eventStore) {
+    public SnapshotTriggerDefinition userSnapshotTriggerDefinition(Snapshotter snapshotter,
+                                                                   MeterRegistry meterRegistry,
+                                                                   @Value("${achievesync.snapshot.threshold:100}") int threshold) {
+        return new MeteredSnapshotTriggerDefinition(
+            new EventCountSnapshotTriggerDefinition(snapshotter, threshold),
+            meterRegistry,
+            UserAggregate.class
+        );
+    }
+
+    // Keeps recently used aggregates in memory; Axon evicts an entry when its unit of work
+    // rolls back, including on a concurrency conflict with another node
+    @Bean
+    public Cache userAggregateCache(MeterRegistry meterRegistry,
+                                    @Value("${achievesync.aggregate-cache.maximum-size:10000}") long maximumSize,
+                                    @Value("${achievesync.aggregate-cache.expire-after-access:30m}") Duration expireAfterAccess) {
+        CaffeineCacheAdapter cache = new CaffeineCacheAdapter(Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .recordStats());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), "userAggregateCache");
+        return cache;
+    }
+
+    @Bean
+    public Repository<UserAggregate> userAggregateRepository(EventStore eventStore,
+                                                            SnapshotTriggerDefinition userSnapshotTriggerDefinition,
+                                                            Cache userAggregateCache,
+                                                            ApplicationContext applicationContext) {
         return EventSourcingRepository.builder(UserAggregate.class)
                 .eventStore(eventStore)
+                .parameterResolverFactory(MultiParameterResolverFactory.ordered(
+                    ClasspathParameterResolverFactory.forClass(UserAggregate.class),
+                    new SpringBeanParameterResolverFactory(applicationContext)))
+                .snapshotTriggerDefinition(userSnapshotTriggerDefinition)
+                .cache(userAggregateCache)
                 .build();
     }
-    
-    @Bean
-    public EventBus eventBus() {
-        return SimpleEventBus.builder().build();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.achievesync.userservice.config;
+
+import com.achievesync.events.UserEventsProto.ConsistencyPointsAwarded;
+import com.achievesync.events.UserEventsProto.UserCreated;
+import com.achievesync.events.UserEventsProto.UserProfileUpdated;
+import com.achievesync.eventstore.ProtobufEventSerializer;
+import com.achievesync.userservice.event.ConsistencyPointsAwardedEvent;
+import com.achievesync.userservice.event.UserCreatedEvent;
+import com.achievesync.userservice.event.UserProfileUpdatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.Timestamp;
+import org.axonframework.serialization.RevisionResolver;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+
+/**
+ * Stores user events as protobuf (see user-events.proto under backend/shared) instead of JSON.
+ * Replaces the event serializer that axon.serializer.events would configure; the general and
+ * message serializers are unchanged.
+ */
+@Configuration
+public class EventSerializerConfig {
+
+    @Bean
+    @Qualifier("eventSerializer")
+    public Serializer eventSerializer(ObjectMapper objectMapper, RevisionResolver revisionResolver,
+                                      @Value("${achievesync.event-serializer.binary-writes:true}") boolean binaryWrites) {
+        return userEventSerializer(JacksonSerializer.builder()
+            .revisionResolver(revisionResolver)
+            .objectMapper(objectMapper)
+            .build(), binaryWrites);
+    }
+
+    public static ProtobufEventSerializer userEventSerializer(Serializer delegate, boolean binaryWrites) {
+        return ProtobufEventSerializer.builder()
+            .delegate(delegate)
+            .binaryWrites(binaryWrites)
+            .register(UserCreatedEvent.class, UserCreated.parser(),
+                EventSerializerConfig::toProto, EventSerializerConfig::fromProto)
+            .register(UserProfileUpdatedEvent.class, UserProfileUpdated.parser(),
+                EventSerializerConfig::toProto, EventSerializerConfig::fromProto)
+            .register(ConsistencyPointsAwardedEvent.class, ConsistencyPointsAwarded.parser(),
+                EventSerializerConfig::toProto, EventSerializerConfig::fromProto)
+            .build();
+    }
+
+    private static UserCreated toProto(UserCreatedEvent event) {
+        UserCreated.Builder builder = UserCreated.newBuilder();
+        if (event.getUserId() != null) {
+            builder.setUserId(event.getUserId());
+        }
+        if (event.getName() != null) {
+            builder.setName(event.getName());
+        }
+        if (event.getEmail() != null) {
+            builder.setEmail(event.getEmail());
+        }
+        if (event.getCreatedAt() != null) {
+            builder.setCreatedAt(toTimestamp(event.getCreatedAt()));
+        }
+        if (event.getPasswordHash() != null) {
+            builder.setPasswordHash(event.getPasswordHash());
+        }
+        if (event.getTimeZone() != null) {
+            builder.setTimeZone(event.getTimeZone());
+        }
+        return builder.build();
+    }
+
+    private static UserCreatedEvent fromProto(UserCreated message) {
+        return new UserCreatedEvent(
+            message.hasUserId() ? message.getUserId() : null,
+            message.hasName() ? message.getName() : null,
+            message.hasEmail() ? message.getEmail() : null,
+            message.hasCreatedAt() ? toInstant(message.getCreatedAt()) : null,
+            message.hasPasswordHash() ? message.getPasswordHash() : null,
+            message.hasTimeZone() ? message.getTimeZone() : null
+        );
+    }
+
+    private static UserProfileUpdated toProto(UserProfileUpdatedEvent event) {
+        UserProfileUpdated.Builder builder = UserProfileUpdated.newBuilder();
+        if (event.getUserId() != null) {
+            builder.setUserId(event.getUserId());
+        }
+        if (event.getName() != null) {
+            builder.setName(event.getName());
+        }
+        if (event.getEmail() != null) {
+            builder.setEmail(event.getEmail());
+        }
+        if (event.getUpdatedAt() != null) {
+            builder.setUpdatedAt(toTimestamp(event.getUpdatedAt()));
+        }
+        if (event.getTimeZone() != null) {
+            builder.setTimeZone(event.getTimeZone());
+        }
+        return builder.build();
+    }
+
+    private static UserProfileUpdatedEvent fromProto(UserProfileUpdated message) {
+        return new UserProfileUpdatedEvent(
+            message.hasUserId() ? message.getUserId() : null,
+            message.hasName() ? message.getName() : null,
+            message.hasEmail() ? message.getEmail() : null,
+            message.hasUpdatedAt() ? toInstant(message.getUpdatedAt()) : null,
+            message.hasTimeZone() ? message.getTimeZone() : null
+        );
+    }
+
+    private static ConsistencyPointsAwarded toProto(ConsistencyPointsAwardedEvent event) {
+        ConsistencyPointsAwarded.Builder builder = ConsistencyPointsAwarded.newBuilder()
+            .setPointsAwarded(event.getPointsAwarded())
+            .setTotalPoints(event.getTotalPoints());
+        if (event.getUserId() != null) {
+            builder.setUserId(event.getUserId());
+        }
+        if (event.getReason() != null) {
+            builder.setReason(event.getReason());
+        }
+        if (event.getAwardedAt() != null) {
+            builder.setAwardedAt(toTimestamp(event.getAwardedAt()));
+        }
+        return builder.build();
+    }
+
+    private static ConsistencyPointsAwardedEvent fromProto(ConsistencyPointsAwarded message) {
+        return new ConsistencyPointsAwardedEvent(
+            message.hasUserId() ? message.getUserId() : null,
+            message.getPointsAwarded(),
+            message.getTotalPoints(),
+            message.hasReason() ? message.getReason() : null,
+            message.hasAwardedAt() ? toInstant(message.getAwardedAt()) : null
+        );
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.achievesync.userservice.config;
+
+import com.achievesync.eventstore.EventStoreConfig;
+import com.achievesync.eventstore.ProjectionChangesConfig;
+import com.achievesync.eventstore.VirtualThreadConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * The configuration this service shares with the other one through the event-store module:
+ * the notified event store, projection change notifications and the virtual-thread mode.
+ */
+@Configuration
+@Import({EventStoreConfig.class, ProjectionChangesConfig.class, VirtualThreadConfig.class})
+public class EventStoreModuleConfig {
+}
\ No newline at end of file
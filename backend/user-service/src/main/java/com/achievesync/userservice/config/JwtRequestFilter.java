@@ -2,12 +2,18 @@ package com.achievesync.userservice.config;
 
 import com.achievesync.userservice.service.JwtUserDetailsService;
 import com.achievesync.userservice.service.JwtTokenUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +22,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -26,32 +33,61 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Value("${achievesync.jwt-cache.maximum-size:10000}")
+    private long tokenCacheMaximumSize;
+
+    @Value("${achievesync.jwt-cache.ttl:5m}")
+    private Duration tokenCacheTtl;
+
+    // Tokens that already passed signature and user checks. An entry lives until the token
+    // expires or the TTL runs out, whichever is first, so a changed or deleted user is
+    // picked up within the TTL.
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void initTokenCache() {
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(tokenCacheMaximumSize)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                    long untilExpiry = Math.max(verified.expiresAtMillis() - System.currentTimeMillis(), 0);
+                    return Math.min(Duration.ofMillis(untilExpiry).toNanos(), tokenCacheTtl.toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime,
+                                              long currentDuration) {
+                    return expireAfterCreate(token, verified, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String token, VerifiedToken verified, long currentTime,
+                                            long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
         String jwtToken = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException e) {
-                System.out.println("Unable to get JWT Token");
-            } catch (ExpiredJwtException e) {
-                System.out.println("JWT Token has expired");
-            }
         } else {
             logger.warn("JWT Token does not begin with Bearer String");
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.jwtUserDetailsService.loadUserByUsername(username);
+        if (jwtToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = authenticate(jwtToken);
 
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 usernamePasswordAuthenticationToken
@@ -61,4 +97,37 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    // A cached token costs no signature check and no user lookup; a new one costs one of each
+    private UserDetails authenticate(String jwtToken) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(jwtToken);
+        if (cached != null) {
+            return cached.userDetails();
+        }
+
+        Claims claims;
+        try {
+            claims = jwtTokenUtil.getAllClaimsFromToken(jwtToken);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unable to get JWT Token");
+            return null;
+        } catch (ExpiredJwtException e) {
+            logger.warn("JWT Token has expired");
+            return null;
+        }
+        if (claims == null || claims.getSubject() == null) {
+            return null;
+        }
+
+        UserDetails userDetails = this.jwtUserDetailsService.loadUserByUsername(claims.getSubject());
+        if (!Boolean.TRUE.equals(jwtTokenUtil.validateClaims(claims, userDetails))) {
+            return null;
+        }
+
+        verifiedTokens.put(jwtToken, new VerifiedToken(userDetails, claims.getExpiration().getTime()));
+        return userDetails;
+    }
+
+    private record VerifiedToken(UserDetails userDetails, long expiresAtMillis) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.achievesync.userservice.config;
+
+import com.achievesync.eventstore.replay.ReplayLog;
+import com.achievesync.eventstore.replay.ReplayLogEventStorageEngine;
+import com.achievesync.eventstore.replay.ReplayLogExporter;
+import org.axonframework.common.jpa.EntityManagerProvider;
+import org.axonframework.common.jdbc.PersistenceExceptionResolver;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.jpa.JpaEventStorageEngine;
+import org.axonframework.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+@Configuration
+@Import(ReplayLogExporter.class)
+public class ReplayLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplayLog replayLog(@Value("${achievesync.replay-log.directory:replay-log}") Path directory) {
+        return ReplayLog.open(directory);
+    }
+
+    // Replaces the engine Axon's JPA auto-configuration would create with the same engine behind
+    // the replay log, so processors far behind replay from the local log
+    @Bean
+    @Profile("!test")
+    public EventStorageEngine eventStorageEngine(Serializer defaultSerializer,
+                                                 @Qualifier("eventSerializer") Serializer eventSerializer,
+                                                 PersistenceExceptionResolver persistenceExceptionResolver,
+                                                 org.axonframework.config.Configuration configuration,
+                                                 EntityManagerProvider entityManagerProvider,
+                                                 TransactionManager transactionManager,
+                                                 ReplayLog replayLog,
+                                                 ReplayLogExporter replayLogExporter,
+                                                 @Value("${achievesync.replay-log.min-lag:10000}") long replayMinLag) {
+        JpaEventStorageEngine jpa = JpaEventStorageEngine.builder()
+            .snapshotSerializer(defaultSerializer)
+            .upcasterChain(configuration.upcasterChain())
+            .persistenceExceptionResolver(persistenceExceptionResolver)
+            .eventSerializer(eventSerializer)
+            .snapshotFilter(configuration.snapshotFilter())
+            .entityManagerProvider(entityManagerProvider)
+            .transactionManager(transactionManager)
+            .build();
+        return new ReplayLogEventStorageEngine(jpa, replayLog, replayLogExporter, eventSerializer,
+            configuration.upcasterChain(), replayMinLag);
+    }
+}
\ No newline at end of file
@@ -4,17 +4,25 @@ import com.achievesync.userservice.command.AwardConsistencyPointsCommand;
 import com.achievesync.userservice.command.CreateUserCommand;
 import com.achievesync.userservice.command.UpdateUserProfileCommand;
 import com.achievesync.userservice.projection.ConsistencyPointsProjection;
+import com.achievesync.userservice.projection.LeaderboardEntry;
 import com.achievesync.userservice.projection.UserProjection;
 import com.achievesync.userservice.query.FindUserQuery;
 import com.achievesync.userservice.query.GetConsistencyPointsQuery;
+import com.achievesync.userservice.query.GetLeaderboardQuery;
+import com.achievesync.userservice.query.GetUserRankQuery;
+import com.achievesync.userservice.service.PasswordHashingService;
 import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
 import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -23,23 +31,27 @@ public class UserController {
     
     private final CommandGateway commandGateway;
     private final QueryGateway queryGateway;
+    private final PasswordHashingService passwordHashingService;
 
-    public UserController(CommandGateway commandGateway, QueryGateway queryGateway) {
+    public UserController(CommandGateway commandGateway, QueryGateway queryGateway,
+                          PasswordHashingService passwordHashingService) {
         this.commandGateway = commandGateway;
         this.queryGateway = queryGateway;
+        this.passwordHashingService = passwordHashingService;
     }
 
     @PostMapping
     public CompletableFuture<ResponseEntity<String>> createUser(@RequestBody CreateUserRequest request) {
         String userId = UUID.randomUUID().toString();
-        CreateUserCommand command = new CreateUserCommand(
-            userId, 
-            request.getName(), 
-            request.getEmail(), 
-            request.getPassword()
-        );
-        
-        return commandGateway.send(command)
+
+        return passwordHashingService.hash(request.getPassword())
+            .thenCompose(passwordHash -> commandGateway.send(new CreateUserCommand(
+                userId,
+                request.getName(),
+                request.getEmail(),
+                passwordHash,
+                request.getTimeZone()
+            )))
             .thenApply(result -> ResponseEntity.status(HttpStatus.CREATED).body(userId));
     }
 
@@ -57,7 +69,8 @@ public class UserController {
         UpdateUserProfileCommand command = new UpdateUserProfileCommand(
             userId, 
             request.getName(), 
-            request.getEmail()
+            request.getEmail(),
+            request.getTimeZone()
         );
         
         return commandGateway.send(command)
@@ -85,11 +98,40 @@ public class UserController {
                 ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/leaderboard")
+    public CompletableFuture<List<LeaderboardEntry>> getLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+        return queryGateway.query(new GetLeaderboardQuery(limit),
+            ResponseTypes.multipleInstancesOf(LeaderboardEntry.class));
+    }
+
+    @GetMapping("/{userId}/rank")
+    public CompletableFuture<ResponseEntity<LeaderboardEntry>> getRank(@PathVariable String userId) {
+        return queryGateway.query(new GetUserRankQuery(userId), LeaderboardEntry.class)
+            .thenApply(entry -> entry != null ?
+                ResponseEntity.ok(entry) :
+                ResponseEntity.notFound().build());
+    }
+
+    // Signups beyond what the hashing queue holds are turned away rather than left waiting
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(e.getMessage());
+    }
+
+    // Unknown time zones rejected by the aggregate, leaderboard limits out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
     // Request DTOs
     public static class CreateUserRequest {
         private String name;
         private String email;
         private String password;
+        private String timeZone;
 
         public String getName() { return name; }
         public void setName(String name) { this.name = name; }
@@ -97,16 +139,21 @@ public class UserController {
         public void setEmail(String email) { this.email = email; }
         public String getPassword() { return password; }
         public void setPassword(String password) { this.password = password; }
+        public String getTimeZone() { return timeZone; }
+        public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
     }
 
     public static class UpdateUserRequest {
         private String name;
         private String email;
+        private String timeZone;
 
         public String getName() { return name; }
         public void setName(String name) { this.name = name; }
         public String getEmail() { return email; }
         public void setEmail(String email) { this.email = email; }
+        public String getTimeZone() { return timeZone; }
+        public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
     }
 
     public static class AwardPointsRequest {
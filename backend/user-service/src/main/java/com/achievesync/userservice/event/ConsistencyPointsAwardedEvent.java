@@ -1,5 +1,7 @@
 package com.achievesync.userservice.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 import java.time.Instant;
 
 public class ConsistencyPointsAwardedEvent {
@@ -9,6 +11,7 @@ public class ConsistencyPointsAwardedEvent {
     private final String reason;
     private final Instant awardedAt;
 
+    @JsonCreator
     public ConsistencyPointsAwardedEvent(String userId, int pointsAwarded, int totalPoints, String reason, Instant awardedAt) {
         this.userId = userId;
         this.pointsAwarded = pointsAwarded;
@@ -1,5 +1,7 @@
 package com.achievesync.userservice.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 import java.time.Instant;
 
 public class UserCreatedEvent {
@@ -7,16 +9,36 @@ public class UserCreatedEvent {
     private final String name;
     private final String email;
     private final Instant createdAt;
+    private final String passwordHash;
+    private final String timeZone;
 
     public UserCreatedEvent(String userId, String name, String email, Instant createdAt) {
+        this(userId, name, email, createdAt, null);
+    }
+
+    public UserCreatedEvent(String userId, String name, String email, Instant createdAt, String passwordHash) {
+        this(userId, name, email, createdAt, passwordHash, null);
+    }
+
+    @JsonCreator
+    public UserCreatedEvent(String userId, String name, String email, Instant createdAt, String passwordHash,
+                            String timeZone) {
         this.userId = userId;
         this.name = name;
         this.email = email;
         this.createdAt = createdAt;
+        this.passwordHash = passwordHash;
+        this.timeZone = timeZone;
     }
 
     public String getUserId() { return userId; }
     public String getName() { return name; }
     public String getEmail() { return email; }
     public Instant getCreatedAt() { return createdAt; }
+
+    // Only events written before the hash moved to user_credentials carry it; new ones leave it null
+    public String getPasswordHash() { return passwordHash; }
+
+    // Null when the user has not chosen one, including for users created before zones existed
+    public String getTimeZone() { return timeZone; }
 }
\ No newline at end of file
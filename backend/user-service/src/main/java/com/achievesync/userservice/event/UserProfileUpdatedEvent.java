@@ -1,5 +1,7 @@
 package com.achievesync.userservice.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 import java.time.Instant;
 
 public class UserProfileUpdatedEvent {
@@ -7,16 +9,26 @@ public class UserProfileUpdatedEvent {
     private final String name;
     private final String email;
     private final Instant updatedAt;
+    private final String timeZone;
 
     public UserProfileUpdatedEvent(String userId, String name, String email, Instant updatedAt) {
+        this(userId, name, email, updatedAt, null);
+    }
+
+    @JsonCreator
+    public UserProfileUpdatedEvent(String userId, String name, String email, Instant updatedAt, String timeZone) {
         this.userId = userId;
         this.name = name;
         this.email = email;
         this.updatedAt = updatedAt;
+        this.timeZone = timeZone;
     }
 
     public String getUserId() { return userId; }
     public String getName() { return name; }
     public String getEmail() { return email; }
     public Instant getUpdatedAt() { return updatedAt; }
+
+    // Null when the update left the time zone unchanged
+    public String getTimeZone() { return timeZone; }
 }
\ No newline at end of file
@@ -0,0 +1,323 @@
+package com.achievesync.userservice.grpc;
+
+import com.achievesync.grpc.UserServiceGrpc;
+import com.achievesync.grpc.UserServiceProto;
+import com.achievesync.grpc.UserServiceProto.AwardPointsRequest;
+import com.achievesync.grpc.UserServiceProto.AwardPointsResponse;
+import com.achievesync.grpc.UserServiceProto.GetLeaderboardRequest;
+import com.achievesync.grpc.UserServiceProto.GetPointsBatchRequest;
+import com.achievesync.grpc.UserServiceProto.GetPointsRequest;
+import com.achievesync.grpc.UserServiceProto.GetPointsResponse;
+import com.achievesync.grpc.UserServiceProto.GetUserByEmailRequest;
+import com.achievesync.grpc.UserServiceProto.GetUserRequest;
+import com.achievesync.grpc.UserServiceProto.GetUsersBatchRequest;
+import com.achievesync.grpc.UserServiceProto.LeaderboardResponse;
+import com.achievesync.grpc.UserServiceProto.PointsBatchResponse;
+import com.achievesync.grpc.UserServiceProto.RegisterUserRequest;
+import com.achievesync.grpc.UserServiceProto.UpdateProfileRequest;
+import com.achievesync.grpc.UserServiceProto.UserResponse;
+import com.achievesync.grpc.UserServiceProto.UsersBatchResponse;
+import com.achievesync.userservice.command.AwardConsistencyPointsCommand;
+import com.achievesync.userservice.command.CreateUserCommand;
+import com.achievesync.userservice.command.UpdateUserProfileCommand;
+import com.achievesync.userservice.projection.ConsistencyPointsProjection;
+import com.achievesync.userservice.projection.LeaderboardEntry;
+import com.achievesync.userservice.projection.UserProjection;
+import com.achievesync.userservice.query.FindUserByEmailQuery;
+import com.achievesync.userservice.query.FindUserQuery;
+import com.achievesync.userservice.query.FindUsersByIdsQuery;
+import com.achievesync.userservice.query.GetConsistencyPointsBatchQuery;
+import com.achievesync.userservice.query.GetConsistencyPointsQuery;
+import com.achievesync.userservice.query.GetLeaderboardQuery;
+import com.achievesync.userservice.query.GetUserRankQuery;
+import com.achievesync.userservice.service.PasswordHashingService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.modelling.command.AggregateNotFoundException;
+import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@GrpcService
+public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
+
+    private final CommandGateway commandGateway;
+    private final QueryGateway queryGateway;
+    private final PasswordHashingService passwordHashingService;
+    private final int maxBatchSize;
+
+    public UserGrpcService(CommandGateway commandGateway, QueryGateway queryGateway,
+                           PasswordHashingService passwordHashingService,
+                           @Value("${achievesync.grpc.max-batch-size:500}") int maxBatchSize) {
+        this.commandGateway = commandGateway;
+        this.queryGateway = queryGateway;
+        this.passwordHashingService = passwordHashingService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void registerUser(RegisterUserRequest request, StreamObserver<UserResponse> responseObserver) {
+        String userId = UUID.randomUUID().toString();
+        CompletableFuture<Object> registered = passwordHashingService.hash(request.getPassword())
+            .thenCompose(passwordHash -> commandGateway.send(new CreateUserCommand(
+                userId,
+                request.getName(),
+                request.getEmail(),
+                passwordHash,
+                request.getTimeZone()
+            )));
+
+        complete(registered, responseObserver, result -> UserResponse.newBuilder()
+            .setUserId(userId)
+            .setName(request.getName())
+            .setEmail(request.getEmail())
+            .setTimeZone(request.getTimeZone())
+            .build());
+    }
+
+    @Override
+    public void updateProfile(UpdateProfileRequest request, StreamObserver<UserResponse> responseObserver) {
+        UpdateUserProfileCommand command = new UpdateUserProfileCommand(
+            request.getUserId(),
+            request.getName(),
+            request.getEmail(),
+            request.getTimeZone()
+        );
+
+        complete(commandGateway.send(command), responseObserver, result -> UserResponse.newBuilder()
+            .setUserId(request.getUserId())
+            .setName(request.getName())
+            .setEmail(request.getEmail())
+            .setTimeZone(request.getTimeZone())
+            .build());
+    }
+
+    @Override
+    public void getUserProfile(GetUserRequest request, StreamObserver<UserResponse> responseObserver) {
+        getUser(request, responseObserver);
+    }
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<UserResponse> responseObserver) {
+        CompletableFuture<UserProjection> user = queryGateway.query(new FindUserQuery(request.getUserId()), UserProjection.class)
+            .thenApply(result -> requireFound(result, "User not found: " + request.getUserId()));
+        complete(user, responseObserver, UserGrpcService::toUserResponse);
+    }
+
+    @Override
+    public void getUserByEmail(GetUserByEmailRequest request, StreamObserver<UserResponse> responseObserver) {
+        CompletableFuture<UserProjection> user = queryGateway.query(new FindUserByEmailQuery(request.getEmail()), UserProjection.class)
+            .thenApply(result -> requireFound(result, "User not found: " + request.getEmail()));
+        complete(user, responseObserver, UserGrpcService::toUserResponse);
+    }
+
+    @Override
+    public void awardConsistencyPoints(AwardPointsRequest request, StreamObserver<AwardPointsResponse> responseObserver) {
+        AwardConsistencyPointsCommand command = new AwardConsistencyPointsCommand(
+            request.getUserId(),
+            request.getPoints(),
+            request.getReason()
+        );
+
+        complete(commandGateway.send(command), responseObserver, result -> AwardPointsResponse.newBuilder()
+            .setSuccess(true)
+            .setMessage("Points awarded")
+            .build());
+    }
+
+    @Override
+    public void getConsistencyPoints(GetPointsRequest request, StreamObserver<GetPointsResponse> responseObserver) {
+        CompletableFuture<ConsistencyPointsProjection> points =
+            queryGateway.query(new GetConsistencyPointsQuery(request.getUserId()), ConsistencyPointsProjection.class)
+                .thenApply(result -> requireFound(result, "User not found: " + request.getUserId()));
+        complete(points, responseObserver, UserGrpcService::toPointsResponse);
+    }
+
+    @Override
+    public void getUsersBatch(GetUsersBatchRequest request, StreamObserver<UsersBatchResponse> responseObserver) {
+        List<String> userIds = distinctIds(request.getUserIdsList(), responseObserver);
+        if (userIds == null) {
+            return;
+        }
+
+        CompletableFuture<List<UserProjection>> users = queryGateway.query(
+            new FindUsersByIdsQuery(userIds),
+            ResponseTypes.multipleInstancesOf(UserProjection.class)
+        );
+        complete(users, responseObserver, found -> {
+            Map<String, UserProjection> byId = found.stream()
+                .collect(Collectors.toMap(UserProjection::getUserId, Function.identity()));
+            UsersBatchResponse.Builder builder = UsersBatchResponse.newBuilder();
+            for (String userId : userIds) {
+                UserProjection user = byId.get(userId);
+                if (user != null) {
+                    builder.addUsers(toUserResponse(user));
+                } else {
+                    builder.addMissingUserIds(userId);
+                }
+            }
+            return builder.build();
+        });
+    }
+
+    @Override
+    public void getConsistencyPointsBatch(GetPointsBatchRequest request,
+                                          StreamObserver<PointsBatchResponse> responseObserver) {
+        List<String> userIds = distinctIds(request.getUserIdsList(), responseObserver);
+        if (userIds == null) {
+            return;
+        }
+
+        CompletableFuture<List<ConsistencyPointsProjection>> points = queryGateway.query(
+            new GetConsistencyPointsBatchQuery(userIds),
+            ResponseTypes.multipleInstancesOf(ConsistencyPointsProjection.class)
+        );
+        complete(points, responseObserver, found -> {
+            Map<String, ConsistencyPointsProjection> byId = found.stream()
+                .collect(Collectors.toMap(ConsistencyPointsProjection::getUserId, Function.identity()));
+            PointsBatchResponse.Builder builder = PointsBatchResponse.newBuilder();
+            for (String userId : userIds) {
+                ConsistencyPointsProjection userPoints = byId.get(userId);
+                if (userPoints != null) {
+                    builder.addPoints(toPointsResponse(userPoints));
+                } else {
+                    builder.addMissingUserIds(userId);
+                }
+            }
+            return builder.build();
+        });
+    }
+
+    @Override
+    public void getLeaderboard(GetLeaderboardRequest request, StreamObserver<LeaderboardResponse> responseObserver) {
+        int limit = request.getLimit() == 0 ? GetLeaderboardQuery.DEFAULT_LIMIT : request.getLimit();
+        GetLeaderboardQuery query;
+        try {
+            query = new GetLeaderboardQuery(limit);
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+
+        CompletableFuture<List<LeaderboardEntry>> entries =
+            queryGateway.query(query, ResponseTypes.multipleInstancesOf(LeaderboardEntry.class));
+        complete(entries, responseObserver, found -> LeaderboardResponse.newBuilder()
+            .addAllEntries(found.stream().map(UserGrpcService::toLeaderboardEntry).toList())
+            .build());
+    }
+
+    @Override
+    public void getUserRank(GetUserRequest request,
+                            StreamObserver<UserServiceProto.LeaderboardEntry> responseObserver) {
+        CompletableFuture<LeaderboardEntry> entry =
+            queryGateway.query(new GetUserRankQuery(request.getUserId()), LeaderboardEntry.class)
+                .thenApply(result -> requireFound(result, "User not found: " + request.getUserId()));
+        complete(entry, responseObserver, UserGrpcService::toLeaderboardEntry);
+    }
+
+    // Returns the requested ids in order without duplicates, or null after rejecting an oversized batch
+    private List<String> distinctIds(List<String> requestedIds, StreamObserver<?> responseObserver) {
+        List<String> userIds = new ArrayList<>(new LinkedHashSet<>(requestedIds));
+        if (userIds.size() > maxBatchSize) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                .withDescription("At most " + maxBatchSize + " user ids per batch, got " + userIds.size())
+                .asRuntimeException());
+            return null;
+        }
+        return userIds;
+    }
+
+    private static <T, R> void complete(CompletableFuture<T> future, StreamObserver<R> responseObserver,
+                                        Function<T, R> mapper) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                responseObserver.onError(toStatus(error));
+            } else {
+                responseObserver.onNext(mapper.apply(result));
+                responseObserver.onCompleted();
+            }
+        });
+    }
+
+    private static <T> T requireFound(T result, String message) {
+        if (result == null) {
+            throw new NotFoundException(message);
+        }
+        return result;
+    }
+
+    static Throwable toStatus(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof NotFoundException || cause instanceof AggregateNotFoundException) {
+            return Status.NOT_FOUND.withDescription(cause.getMessage()).asRuntimeException();
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(cause.getMessage()).asRuntimeException();
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return Status.RESOURCE_EXHAUSTED.withDescription(cause.getMessage()).asRuntimeException();
+        }
+        if (cause instanceof IllegalStateException) {
+            return Status.FAILED_PRECONDITION.withDescription(cause.getMessage()).asRuntimeException();
+        }
+        return Status.INTERNAL.withDescription(cause.getMessage()).withCause(cause).asRuntimeException();
+    }
+
+    static UserResponse toUserResponse(UserProjection user) {
+        UserResponse.Builder builder = UserResponse.newBuilder()
+            .setUserId(user.getUserId())
+            .setName(user.getName())
+            .setEmail(user.getEmail());
+        if (user.getCreatedAt() != null) {
+            builder.setCreatedAt(user.getCreatedAt().toString());
+        }
+        if (user.getUpdatedAt() != null) {
+            builder.setUpdatedAt(user.getUpdatedAt().toString());
+        }
+        if (user.getTimeZone() != null) {
+            builder.setTimeZone(user.getTimeZone());
+        }
+        return builder.build();
+    }
+
+    static GetPointsResponse toPointsResponse(ConsistencyPointsProjection points) {
+        GetPointsResponse.Builder builder = GetPointsResponse.newBuilder()
+            .setUserId(points.getUserId())
+            .setTotalPoints(points.getTotalPoints());
+        if (points.getLastUpdated() != null) {
+            builder.setLastUpdated(points.getLastUpdated().toString());
+        }
+        return builder.build();
+    }
+
+    static UserServiceProto.LeaderboardEntry toLeaderboardEntry(LeaderboardEntry entry) {
+        return UserServiceProto.LeaderboardEntry.newBuilder()
+            .setUserId(entry.getUserId())
+            .setTotalPoints(entry.getTotalPoints())
+            .setRank(entry.getRank())
+            .build();
+    }
+
+    static class NotFoundException extends RuntimeException {
+        NotFoundException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.achievesync.userservice.projection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Users ordered by total consistency points, highest first and by user id among equal totals.
+ * An order-statistic treap: each node counts the nodes below it, so updating a user, finding a
+ * user's rank and reaching the top of the board are O(log n) expected. Ranks are shared by
+ * equal totals (1, 2, 2, 4). Reads share a lock and updates take it exclusively.
+ */
+final class Leaderboard {
+
+    private final Map<String, Node> nodesByUser = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    void put(String userId, int totalPoints) {
+        lock.writeLock().lock();
+        try {
+            Node existing = nodesByUser.get(userId);
+            if (existing != null) {
+                if (existing.totalPoints == totalPoints) {
+                    return;
+                }
+                root = remove(root, existing);
+            }
+            Node node = new Node(userId, totalPoints, ThreadLocalRandom.current().nextInt());
+            root = insert(root, node);
+            nodesByUser.put(userId, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return nodesByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Null for a user the board has never seen
+    LeaderboardEntry rankOf(String userId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesByUser.get(userId);
+            if (node == null) {
+                return null;
+            }
+            return new LeaderboardEntry(userId, node.totalPoints, countAbove(node.totalPoints) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // In-order walk that stops after limit entries: O(log n + limit)
+    List<LeaderboardEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, nodesByUser.size()));
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            int rank = 0;
+            int previousPoints = 0;
+            while (entries.size() < limit && (node != null || !path.isEmpty())) {
+                while (node != null) {
+                    path.push(node);
+                    node = node.left;
+                }
+                node = path.pop();
+                if (entries.isEmpty() || node.totalPoints != previousPoints) {
+                    rank = entries.size() + 1;
+                    previousPoints = node.totalPoints;
+                }
+                entries.add(new LeaderboardEntry(node.userId, node.totalPoints, rank));
+                node = node.right;
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Users with more points than the given total, found along a single root-to-leaf path
+    private int countAbove(int totalPoints) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.totalPoints > totalPoints) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            node.resize();
+            return node;
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        tree.resize();
+        return tree;
+    }
+
+    private static Node remove(Node tree, Node node) {
+        if (tree == node) {
+            return merge(tree.left, tree.right);
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = remove(tree.left, node);
+        } else {
+            tree.right = remove(tree.right, node);
+        }
+        tree.resize();
+        return tree;
+    }
+
+    // Splits into the nodes ordered before key and those after it
+    private static Node[] split(Node tree, Node key) {
+        if (tree == null) {
+            return new Node[2];
+        }
+        if (compare(tree, key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            tree.resize();
+            parts[0] = tree;
+            return parts;
+        }
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        tree.resize();
+        parts[1] = tree;
+        return parts;
+    }
+
+    // Every node in before is ordered ahead of every node in after
+    private static Node merge(Node before, Node after) {
+        if (before == null) {
+            return after;
+        }
+        if (after == null) {
+            return before;
+        }
+        if (before.priority > after.priority) {
+            before.right = merge(before.right, after);
+            before.resize();
+            return before;
+        }
+        after.left = merge(before, after.left);
+        after.resize();
+        return after;
+    }
+
+    private static int compare(Node a, Node b) {
+        int byPoints = Integer.compare(b.totalPoints, a.totalPoints);
+        return byPoints != 0 ? byPoints : a.userId.compareTo(b.userId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        final String userId;
+        final int totalPoints;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(String userId, int totalPoints, int priority) {
+            this.userId = userId;
+            this.totalPoints = totalPoints;
+            this.priority = priority;
+        }
+
+        void resize() {
+            size = Leaderboard.size(left) + Leaderboard.size(right) + 1;
+        }
+    }
+}
\ No newline at end of file
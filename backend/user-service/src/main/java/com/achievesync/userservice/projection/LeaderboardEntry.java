@@ -0,0 +1,18 @@
+package com.achievesync.userservice.projection;
+
+public class LeaderboardEntry {
+    private final String userId;
+    private final int totalPoints;
+    // Users with equal totals share a rank
+    private final int rank;
+
+    public LeaderboardEntry(String userId, int totalPoints, int rank) {
+        this.userId = userId;
+        this.totalPoints = totalPoints;
+        this.rank = rank;
+    }
+
+    public String getUserId() { return userId; }
+    public int getTotalPoints() { return totalPoints; }
+    public int getRank() { return rank; }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.achievesync.userservice.projection;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.Instant;
 
@@ -23,9 +24,14 @@ public class UserProjection {
     @Column(name = "updated_at")
     private Instant updatedAt;
     
-    @Column(name = "password_hash", nullable = false)
+    // Not stored here: filled in from user_credentials for the credentials lookup only
+    @Transient
     private String passwordHash;
 
+    // IANA zone id; null until the user picks one
+    @Column(name = "time_zone")
+    private String timeZone;
+
     public UserProjection() {}
 
     public UserProjection(String userId, String name, String email, Instant createdAt) {
@@ -36,6 +42,14 @@ public class UserProjection {
         this.updatedAt = createdAt;
     }
 
+    // Copy for the query-side caches, which never hold the password hash
+    public UserProjection withoutPasswordHash() {
+        UserProjection copy = new UserProjection(userId, name, email, createdAt);
+        copy.setUpdatedAt(updatedAt);
+        copy.setTimeZone(timeZone);
+        return copy;
+    }
+
     // Getters and Setters
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
@@ -52,6 +66,10 @@ public class UserProjection {
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
     
+    @JsonIgnore
     public String getPasswordHash() { return passwordHash; }
     public void setPasswordHash(String passwordHash) { this.passwordHash = passwordHash; }
+    
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
 }
\ No newline at end of file
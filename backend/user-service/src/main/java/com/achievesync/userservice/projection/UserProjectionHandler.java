@@ -1,28 +1,124 @@
 package com.achievesync.userservice.projection;
 
+import com.achievesync.eventstore.ProjectionChanges;
+import com.achievesync.userservice.aggregate.UserCredentials;
+import com.achievesync.userservice.aggregate.UserCredentialsRepository;
 import com.achievesync.userservice.event.ConsistencyPointsAwardedEvent;
 import com.achievesync.userservice.event.UserCreatedEvent;
 import com.achievesync.userservice.event.UserProfileUpdatedEvent;
 import com.achievesync.userservice.query.FindUserByEmailQuery;
+import com.achievesync.userservice.query.FindUserCredentialsQuery;
 import com.achievesync.userservice.query.FindUserQuery;
+import com.achievesync.userservice.query.FindUsersByIdsQuery;
+import com.achievesync.userservice.query.GetConsistencyPointsBatchQuery;
 import com.achievesync.userservice.query.GetConsistencyPointsQuery;
+import com.achievesync.userservice.query.GetLeaderboardQuery;
+import com.achievesync.userservice.query.GetUserRankQuery;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.eventhandling.ResetHandler;
 import org.axonframework.queryhandling.QueryHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
+@ProcessingGroup(UserProjectionHandler.PROCESSING_GROUP)
 public class UserProjectionHandler {
+
+    public static final String PROCESSING_GROUP = "user-projection-processor";
+
+    // Users whose rows changed, by id and emails, or every user when empty; each instance evicts
+    // them from its caches once the change is committed
+    static final String USER_CHANGES = "user_projection_changed";
+
+    // Users' new point totals, by id and total, or every user when empty; each instance moves
+    // them on its leaderboard once the change is committed
+    static final String POINTS_CHANGES = "consistency_points_changed";
+
+    private static final int LEADERBOARD_LOAD_PAGE_SIZE = 10_000;
     
     private final UserRepository userRepository;
     private final ConsistencyPointsRepository consistencyPointsRepository;
+    private final UserCredentialsRepository credentialsRepository;
+    private final ProjectionChanges projectionChanges;
+
+    // Read-through caches for the user lookups behind every authenticated request. Unknown
+    // users are not cached, so a new user is found as soon as its row exists.
+    private final AsyncCache<String, UserProjection> usersById;
+    private final AsyncCache<String, UserProjection> usersByEmail;
+
+    // Ranks every user by consistency points from memory; rebuilt from consistency_points at
+    // startup and whenever changes may have been missed, and kept current from the changes of
+    // every instance
+    private volatile Leaderboard leaderboard = new Leaderboard();
 
     public UserProjectionHandler(UserRepository userRepository, 
-                               ConsistencyPointsRepository consistencyPointsRepository) {
+                               ConsistencyPointsRepository consistencyPointsRepository,
+                               UserCredentialsRepository credentialsRepository,
+                               ProjectionChanges projectionChanges,
+                               MeterRegistry meterRegistry,
+                               @Value("${achievesync.user-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${achievesync.user-cache.expire-after-write:10m}") Duration expireAfterWrite) {
         this.userRepository = userRepository;
         this.consistencyPointsRepository = consistencyPointsRepository;
+        this.credentialsRepository = credentialsRepository;
+        this.projectionChanges = projectionChanges;
+        this.usersById = userCache(maximumSize, expireAfterWrite);
+        this.usersByEmail = userCache(maximumSize, expireAfterWrite);
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById.synchronous(), "userByIdCache");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail.synchronous(), "userByEmailCache");
+        projectionChanges.subscribe(USER_CHANGES, this::evict, this::evictAll);
+        projectionChanges.subscribe(POINTS_CHANGES, this::movePoints, this::rebuildLeaderboard);
+    }
+
+    // Runs before the event processors start, so no event is applied ahead of the load. The new
+    // board replaces the old one only once complete, so ranks never come from half a board.
+    @PostConstruct
+    public void rebuildLeaderboard() {
+        Leaderboard rebuilt = new Leaderboard();
+        Pageable page = Pageable.ofSize(LEADERBOARD_LOAD_PAGE_SIZE);
+        String lastUserId = "";
+        List<ConsistencyPointsProjection> rows;
+        do {
+            rows = consistencyPointsRepository.findPageAfter(lastUserId, page);
+            for (ConsistencyPointsProjection row : rows) {
+                rebuilt.put(row.getUserId(), row.getTotalPoints());
+                lastUserId = row.getUserId();
+            }
+        } while (rows.size() == LEADERBOARD_LOAD_PAGE_SIZE);
+        leaderboard = rebuilt;
+    }
+
+    // Async only so that loads can run outside the cache's internal locks (see lookup); every
+    // load still runs on the calling thread
+    private static AsyncCache<String, UserProjection> userCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .executor(Runnable::run)
+            .recordStats()
+            .buildAsync();
     }
 
     @EventHandler
@@ -33,7 +129,13 @@ public class UserProjectionHandler {
             event.getEmail(),
             event.getCreatedAt()
         );
+        user.setTimeZone(event.getTimeZone());
         userRepository.save(user);
+        // Events from before the hash moved to user_credentials still carry it
+        if (event.getPasswordHash() != null && !credentialsRepository.existsById(event.getUserId())) {
+            credentialsRepository.save(new UserCredentials(event.getUserId(), event.getPasswordHash()));
+        }
+        usersChanged(event.getUserId(), event.getEmail());
 
         ConsistencyPointsProjection points = new ConsistencyPointsProjection(
             event.getUserId(),
@@ -41,6 +143,7 @@ public class UserProjectionHandler {
             event.getCreatedAt()
         );
         consistencyPointsRepository.save(points);
+        pointsChanged(event.getUserId(), 0);
     }
 
     @EventHandler
@@ -48,13 +151,41 @@ public class UserProjectionHandler {
         Optional<UserProjection> userOpt = userRepository.findById(event.getUserId());
         if (userOpt.isPresent()) {
             UserProjection user = userOpt.get();
+            String previousEmail = user.getEmail();
             user.setName(event.getName());
             user.setEmail(event.getEmail());
+            if (event.getTimeZone() != null) {
+                user.setTimeZone(event.getTimeZone());
+            }
             user.setUpdatedAt(event.getUpdatedAt());
             userRepository.save(user);
+            usersChanged(event.getUserId(), previousEmail, event.getEmail());
         }
     }
 
+    // Evicted once the change is committed, so a lookup that raced the update and cached the old
+    // row does not outlive it, on whichever instance cached it
+    private void usersChanged(String... userIdAndEmails) {
+        projectionChanges.publish(USER_CHANGES, Arrays.stream(userIdAndEmails)
+            .filter(Objects::nonNull)
+            .collect(Collectors.joining("\t")));
+    }
+
+    private void evict(String change) {
+        if (change.isEmpty()) {
+            evictAll();
+            return;
+        }
+        String[] userIdAndEmails = change.split("\t");
+        usersById.synchronous().invalidate(userIdAndEmails[0]);
+        usersByEmail.synchronous().invalidateAll(Arrays.asList(userIdAndEmails).subList(1, userIdAndEmails.length));
+    }
+
+    private void evictAll() {
+        usersById.synchronous().invalidateAll();
+        usersByEmail.synchronous().invalidateAll();
+    }
+
     @EventHandler
     public void on(ConsistencyPointsAwardedEvent event) {
         Optional<ConsistencyPointsProjection> pointsOpt = consistencyPointsRepository.findById(event.getUserId());
@@ -63,23 +194,109 @@ public class UserProjectionHandler {
             points.setTotalPoints(event.getTotalPoints());
             points.setLastUpdated(event.getAwardedAt());
             consistencyPointsRepository.save(points);
+            pointsChanged(event.getUserId(), event.getTotalPoints());
+        }
+    }
+
+    // A rolled-back event leaves every board as it was
+    private void pointsChanged(String userId, int totalPoints) {
+        projectionChanges.publish(POINTS_CHANGES, userId + "\t" + totalPoints);
+    }
+
+    private void movePoints(String change) {
+        if (change.isEmpty()) {
+            rebuildLeaderboard();
+            return;
         }
+        String[] userIdAndTotal = change.split("\t");
+        leaderboard.put(userIdAndTotal[0], Integer.parseInt(userIdAndTotal[1]));
+    }
+
+    // A reset replays every event, so the tables, the board and the caches start empty. Credentials
+    // are written by the command side and kept
+    @ResetHandler
+    public void reset() {
+        consistencyPointsRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        usersChanged();
+        projectionChanges.publish(POINTS_CHANGES, "");
     }
 
     @QueryHandler
     public UserProjection handle(FindUserQuery query) {
-        return userRepository.findById(query.getUserId()).orElse(null);
+        return lookup(usersById, query.getUserId(), userId -> userRepository.findById(userId)
+            .map(UserProjection::withoutPasswordHash).orElse(null));
     }
 
     @QueryHandler
     public UserProjection handle(FindUserByEmailQuery query) {
-        return userRepository.findByEmail(query.getEmail()).orElse(null);
+        return lookup(usersByEmail, query.getEmail(), email -> userRepository.findByEmail(email)
+            .map(UserProjection::withoutPasswordHash).orElse(null));
+    }
+
+    // The only lookup that returns the password hash, so it bypasses the caches
+    @QueryHandler
+    public UserProjection handle(FindUserCredentialsQuery query) {
+        return userRepository.findByEmail(query.getEmail()).map(user -> {
+            UserProjection withHash = user.withoutPasswordHash();
+            credentialsRepository.findById(user.getUserId())
+                .ifPresent(credentials -> withHash.setPasswordHash(credentials.getPasswordHash()));
+            return withHash;
+        }).orElse(null);
+    }
+
+    // The query runs after the cache has published a pending entry rather than inside its
+    // compute, which holds a monitor that a blocking JDBC call would pin a virtual thread to.
+    // Concurrent lookups of the same key still share one load, and an eviction during the
+    // load keeps its result out of the cache.
+    private static UserProjection lookup(AsyncCache<String, UserProjection> cache, String key,
+                                         Function<String, UserProjection> loader) {
+        CompletableFuture<UserProjection> load = new CompletableFuture<>();
+        CompletableFuture<UserProjection> entry = cache.get(key, (k, executor) -> load);
+        if (entry == load) {
+            try {
+                load.complete(loader.apply(key));
+            } catch (RuntimeException e) {
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
     }
 
     @QueryHandler
     public ConsistencyPointsProjection handle(GetConsistencyPointsQuery query) {
         return consistencyPointsRepository.findById(query.getUserId()).orElse(null);
     }
+
+    // Cached ids are served from memory; the rest resolve with a single IN query. Ids that
+    // don't exist are simply absent
+    @QueryHandler
+    public List<UserProjection> handle(FindUsersByIdsQuery query) {
+        Map<String, UserProjection> users = usersById.getAll(query.getUserIds(), missing ->
+            userRepository.findAllById(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(UserProjection::getUserId, UserProjection::withoutPasswordHash))).join();
+        return new ArrayList<>(users.values());
+    }
+
+    @QueryHandler
+    public List<ConsistencyPointsProjection> handle(GetConsistencyPointsBatchQuery query) {
+        return consistencyPointsRepository.findAllById(query.getUserIds());
+    }
+
+    @QueryHandler
+    public List<LeaderboardEntry> handle(GetLeaderboardQuery query) {
+        return leaderboard.top(query.getLimit());
+    }
+
+    @QueryHandler
+    public LeaderboardEntry handle(GetUserRankQuery query) {
+        return leaderboard.rankOf(query.getUserId());
+    }
 }
 
 interface UserRepository extends JpaRepository<UserProjection, String> {
@@ -87,4 +304,7 @@ interface UserRepository extends JpaRepository<UserProjection, String> {
 }
 
 interface ConsistencyPointsRepository extends JpaRepository<ConsistencyPointsProjection, String> {
+    // Keyset pages in user id order, for loading the leaderboard without one huge result
+    @Query("select p from ConsistencyPointsProjection p where p.userId > :after order by p.userId")
+    List<ConsistencyPointsProjection> findPageAfter(@Param("after") String after, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.achievesync.userservice.query;
+
+// Looks a user up by email including the password hash, which the cached queries leave out
+public class FindUserCredentialsQuery {
+    private final String email;
+
+    public FindUserCredentialsQuery(String email) {
+        this.email = email;
+    }
+
+    public String getEmail() { return email; }
+}
\ No newline at end of file
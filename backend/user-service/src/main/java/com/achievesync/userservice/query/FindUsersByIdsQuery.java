@@ -0,0 +1,13 @@
+package com.achievesync.userservice.query;
+
+import java.util.List;
+
+public class FindUsersByIdsQuery {
+    private final List<String> userIds;
+
+    public FindUsersByIdsQuery(List<String> userIds) {
+        this.userIds = userIds;
+    }
+
+    public List<String> getUserIds() { return userIds; }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.achievesync.userservice.query;
+
+import java.util.List;
+
+public class GetConsistencyPointsBatchQuery {
+    private final List<String> userIds;
+
+    public GetConsistencyPointsBatchQuery(List<String> userIds) {
+        this.userIds = userIds;
+    }
+
+    public List<String> getUserIds() { return userIds; }
+}
\ No newline at end of file
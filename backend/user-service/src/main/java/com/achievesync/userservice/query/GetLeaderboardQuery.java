@@ -0,0 +1,17 @@
+package com.achievesync.userservice.query;
+
+public class GetLeaderboardQuery {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private final int limit;
+
+    public GetLeaderboardQuery(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Leaderboard limit must be between 1 and " + MAX_LIMIT + ", got " + limit);
+        }
+        this.limit = limit;
+    }
+
+    public int getLimit() { return limit; }
+}
\ No newline at end of file
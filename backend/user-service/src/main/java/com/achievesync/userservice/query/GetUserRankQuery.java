@@ -0,0 +1,11 @@
+package com.achievesync.userservice.query;
+
+public class GetUserRankQuery {
+    private final String userId;
+
+    public GetUserRankQuery(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUserId() { return userId; }
+}
\ No newline at end of file
@@ -2,7 +2,7 @@ package com.achievesync.userservice.service;
 
 import com.achievesync.userservice.projection.UserProjection;
 import com.achievesync.userservice.projection.UserProjectionHandler;
-import com.achievesync.userservice.query.FindUserByEmailQuery;
+import com.achievesync.userservice.query.FindUserCredentialsQuery;
 import org.axonframework.queryhandling.QueryGateway;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.User;
@@ -24,7 +24,7 @@ public class JwtUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         try {
             CompletableFuture<UserProjection> userFuture = queryGateway.query(
-                new FindUserByEmailQuery(email), UserProjection.class);
+                new FindUserCredentialsQuery(email), UserProjection.class);
             
             UserProjection user = userFuture.get();
             
@@ -32,7 +32,9 @@ public class JwtUserDetailsService implements UserDetailsService {
                 throw new UsernameNotFoundException("User not found with email: " + email);
             }
             
-            return new User(user.getEmail(), user.getPasswordHash(), new ArrayList<>());
+            // Users created before events carried a hash have none, and an empty hash never matches
+            String passwordHash = user.getPasswordHash() != null ? user.getPasswordHash() : "";
+            return new User(user.getEmail(), passwordHash, new ArrayList<>());
         } catch (Exception e) {
             throw new UsernameNotFoundException("User not found with email: " + email, e);
         }
@@ -11,7 +11,6 @@ import com.achievesync.userservice.query.GetConsistencyPointsQuery;
 import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.axonframework.queryhandling.QueryGateway;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -27,14 +26,13 @@ public class UserService {
     private QueryGateway queryGateway;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     public CompletableFuture<String> createUser(String name, String email, String password) {
         String userId = UUID.randomUUID().toString();
-        String hashedPassword = passwordEncoder.encode(password);
-        CreateUserCommand command = new CreateUserCommand(userId, name, email, hashedPassword);
-        
-        return commandGateway.send(command).thenApply(result -> userId);
+        return passwordHashingService.hash(password)
+            .thenCompose(passwordHash -> commandGateway.send(new CreateUserCommand(userId, name, email, passwordHash)))
+            .thenApply(result -> userId);
     }
 
     public CompletableFuture<Void> updateUserProfile(String userId, String name, String email) {
@@ -59,7 +57,7 @@ public class UserService {
         return queryGateway.query(new GetConsistencyPointsQuery(userId), ConsistencyPointsProjection.class);
     }
 
-    public boolean validatePassword(String rawPassword, String hashedPassword) {
-        return passwordEncoder.matches(rawPassword, hashedPassword);
+    public CompletableFuture<Boolean> validatePassword(String rawPassword, String hashedPassword) {
+        return passwordHashingService.matches(rawPassword, hashedPassword);
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+-- Read models maintained by UserProjectionHandler
+
+create table users (
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    password_hash varchar(255) not null,
+    time_zone varchar(255),
+    user_id varchar(255) not null,
+    primary key (user_id)
+);
+
+create table consistency_points (
+    total_points integer not null,
+    last_updated timestamp(6) with time zone,
+    user_id varchar(255) not null,
+    primary key (user_id)
+);
\ No newline at end of file
@@ -0,0 +1,3 @@
+-- Users created before UserCreatedEvent carried the password hash replay without one
+
+alter table users alter column password_hash drop not null;
\ No newline at end of file
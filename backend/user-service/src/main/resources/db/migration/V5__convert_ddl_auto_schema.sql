@@ -0,0 +1,59 @@
+-- Converts the events of a database Hibernate created before Flyway (see beforeMigrate.sql) into
+-- the current event store, then drops the legacy schema; on any other database this does nothing.
+-- Events keep their global indexes and payloads, so JSON events still read. Snapshots, tokens and
+-- projection rows are not kept: aggregates load from their events, and the processors start from
+-- the first event again and rebuild the projections, whose tables have changed since.
+do $$
+declare
+    partition_size constant bigint := 10000000;
+    first_partition bigint;
+    last_partition bigint;
+    large_object record;
+begin
+    if to_regclass('legacy.domain_event_entry') is null then
+        return;
+    end if;
+
+    -- Global indexes below the sequence have no partition yet
+    select min(global_index) / partition_size, max(global_index) / partition_size
+    into first_partition, last_partition
+    from legacy.domain_event_entry;
+    if last_partition is not null then
+        for p in first_partition .. last_partition loop
+            if to_regclass('domain_event_entry_p' || p) is null then
+                execute format('create table %I partition of domain_event_entry for values from (%s) to (%s)',
+                    'domain_event_entry_p' || p, p * partition_size, (p + 1) * partition_size);
+            end if;
+        end loop;
+    end if;
+
+    -- Inserted in each aggregate's order, the events seed domain_event_aggregate through the
+    -- append trigger. Payloads and metadata were large objects and timestamps ISO-8601 strings.
+    insert into domain_event_entry (global_index, sequence_number, time_stamp, meta_data, payload,
+                                    aggregate_identifier, event_identifier, payload_revision, payload_type, type)
+    select global_index, sequence_number, time_stamp::timestamptz, lo_get(meta_data), lo_get(payload),
+           aggregate_identifier, event_identifier, payload_revision, payload_type, type
+    from legacy.domain_event_entry
+    order by aggregate_identifier, sequence_number;
+
+    -- Hibernate hands out the block of 50 global indexes below the value it draws, so the next
+    -- block starts past the last converted event
+    perform setval('domain_event_entry_seq', max(global_index) + 50)
+    from legacy.domain_event_entry
+    having max(global_index) is not null;
+    perform ensure_domain_event_partitions(2);
+
+    -- Hibernate stored @Lob columns (payloads, metadata, tokens, sagas) as large objects, which
+    -- dropping their tables does not remove. Only the objects these columns refer to are unlinked
+    for large_object in
+        select c.relname, a.attname from pg_attribute a
+        join pg_class c on c.oid = a.attrelid
+        where c.relnamespace = 'legacy'::regnamespace and c.relkind = 'r'
+          and a.atttypid = 'oid'::regtype and a.attnum > 0 and not a.attisdropped
+    loop
+        execute format('select lo_unlink(lo.oid) from pg_largeobject_metadata lo'
+            || ' where lo.oid in (select %I from legacy.%I)', large_object.attname, large_object.relname);
+    end loop;
+    drop schema legacy cascade;
+end;
+$$;
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- Password hashes move out of the users projection, which replays from events, into a table the
+-- create-user command writes; new UserCreatedEvents no longer carry the hash
+
+create table user_credentials (
+    user_id varchar(255) not null,
+    password_hash varchar(255) not null,
+    primary key (user_id)
+);
+
+insert into user_credentials (user_id, password_hash)
+select user_id, password_hash from users where password_hash is not null;
+
+alter table users drop column password_hash;
\ No newline at end of file
@@ -0,0 +1,25 @@
+-- A database Hibernate created before Flyway managed the schema (ddl-auto: update) is baselined at
+-- version 0 (see spring.flyway.baseline-on-migrate), and its tables are moved to the legacy
+-- schema here, so that V1 on creates the current ones beside them and V5 converts their rows.
+-- Its domain_event_entry is a plain table rather than a partitioned one; on any other database
+-- this does nothing.
+do $$
+declare
+    legacy record;
+begin
+    if not exists (select 1 from pg_class where oid = to_regclass('domain_event_entry') and relkind = 'r') then
+        return;
+    end if;
+    create schema legacy;
+    for legacy in
+        select c.relname, c.relkind from pg_class c
+        where c.relnamespace = current_schema()::regnamespace
+          and c.relkind in ('r', 'S')
+          and c.relname <> 'flyway_schema_history'
+          and not exists (select 1 from pg_depend d where d.objid = c.oid and d.deptype in ('a', 'i'))
+    loop
+        execute format('alter %s %I set schema legacy',
+            case legacy.relkind when 'S' then 'sequence' else 'table' end, legacy.relname);
+    end loop;
+end;
+$$;
\ No newline at end of file
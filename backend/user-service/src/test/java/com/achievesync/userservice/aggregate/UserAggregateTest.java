@@ -13,13 +13,21 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
 class UserAggregateTest {
 
     private FixtureConfiguration<UserAggregate> fixture;
+    private UserCredentialsRepository credentialsRepository;
 
     @BeforeEach
     void setUp() {
+        credentialsRepository = mock(UserCredentialsRepository.class);
         fixture = new AggregateTestFixture<>(UserAggregate.class);
+        fixture.registerInjectableResource(credentialsRepository);
     }
 
     @Test
@@ -27,14 +35,16 @@ class UserAggregateTest {
         String userId = "user123";
         String name = "John Doe";
         String email = "john.doe@example.com";
-        String password = "securePassword123";
+        String passwordHash = "$2a$10$N9qo8uLOickgx2ZMRZoMye1YzFtYicqABKQQWGZ6vwkZgJIiW6u1i";
 
-        CreateUserCommand command = new CreateUserCommand(userId, name, email, password);
+        CreateUserCommand command = new CreateUserCommand(userId, name, email, passwordHash);
 
         fixture.givenNoPriorActivity()
                 .when(command)
                 .expectSuccessfulHandlerExecution()
                 .expectEvents(new UserCreatedEvent(userId, name, email, Instant.now()));
+        verify(credentialsRepository).save(argThat(credentials ->
+            credentials.getUserId().equals(userId) && credentials.getPasswordHash().equals(passwordHash)));
     }
 
     @Test
@@ -54,6 +64,53 @@ class UserAggregateTest {
                 .expectEvents(new UserProfileUpdatedEvent(userId, updatedName, updatedEmail, Instant.now()));
     }
 
+    @Test
+    void testCreateUser_RecordsCanonicalTimeZone() {
+        CreateUserCommand command = new CreateUserCommand("user123", "John Doe", "john.doe@example.com",
+            "$2a$10$hash", " America/New_York ");
+
+        fixture.givenNoPriorActivity()
+                .when(command)
+                .expectSuccessfulHandlerExecution()
+                .expectState(user -> assertEquals("America/New_York", user.getTimeZone()));
+    }
+
+    @Test
+    void testCreateUser_UnknownTimeZoneRejected() {
+        CreateUserCommand command = new CreateUserCommand("user123", "John Doe", "john.doe@example.com",
+            "$2a$10$hash", "Mars/Olympus_Mons");
+
+        fixture.givenNoPriorActivity()
+                .when(command)
+                .expectException(IllegalArgumentException.class)
+                .expectNoEvents();
+    }
+
+    @Test
+    void testUpdateUserProfile_ChangesTimeZone() {
+        UserCreatedEvent createdEvent = new UserCreatedEvent("user123", "John Doe", "john.doe@example.com",
+            Instant.now(), "$2a$10$hash", "Europe/London");
+        UpdateUserProfileCommand command = new UpdateUserProfileCommand("user123", "John Doe",
+            "john.doe@example.com", "Asia/Tokyo");
+
+        fixture.given(createdEvent)
+                .when(command)
+                .expectSuccessfulHandlerExecution()
+                .expectState(user -> assertEquals("Asia/Tokyo", user.getTimeZone()));
+    }
+
+    @Test
+    void testUpdateUserProfile_WithoutTimeZoneKeepsCurrentOne() {
+        UserCreatedEvent createdEvent = new UserCreatedEvent("user123", "John Doe", "john.doe@example.com",
+            Instant.now(), "$2a$10$hash", "Europe/London");
+        UpdateUserProfileCommand command = new UpdateUserProfileCommand("user123", "John Smith", "john.doe@example.com");
+
+        fixture.given(createdEvent)
+                .when(command)
+                .expectSuccessfulHandlerExecution()
+                .expectState(user -> assertEquals("Europe/London", user.getTimeZone()));
+    }
+
     @Test
     void testAwardConsistencyPoints() {
         String userId = "user123";
@@ -0,0 +1,92 @@
+package com.achievesync.userservice.config;
+
+import com.achievesync.userservice.service.JwtTokenUtil;
+import com.achievesync.userservice.service.JwtUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtRequestFilterTest {
+
+    private JwtRequestFilter filter;
+    private JwtTokenUtil jwtTokenUtil;
+    private JwtUserDetailsService jwtUserDetailsService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = spy(new JwtTokenUtil());
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", "test-secret-key-that-is-long-enough-for-hmac512-algorithm");
+        jwtUserDetailsService = mock(JwtUserDetailsService.class);
+        userDetails = new User("test@example.com", "hash", new ArrayList<>());
+        when(jwtUserDetailsService.loadUserByUsername("test@example.com")).thenReturn(userDetails);
+
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "jwtTokenUtil", jwtTokenUtil);
+        ReflectionTestUtils.setField(filter, "jwtUserDetailsService", jwtUserDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenCacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(filter, "tokenCacheTtl", Duration.ofMinutes(5));
+        filter.initTokenCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRepeatedTokenSkipsParsingAndUserLookup() throws Exception {
+        String token = jwtTokenUtil.generateToken(userDetails);
+
+        for (int i = 0; i < 3; i++) {
+            Authentication authentication = authenticate(token);
+            assertNotNull(authentication);
+            assertEquals(userDetails, authentication.getPrincipal());
+        }
+
+        verify(jwtTokenUtil, times(1)).getAllClaimsFromToken(token);
+        verify(jwtUserDetailsService, times(1)).loadUserByUsername("test@example.com");
+    }
+
+    @Test
+    void testTokenForAnotherUserIsRejectedAndNotCached() throws Exception {
+        String token = jwtTokenUtil.generateToken(new User("other@example.com", "hash", new ArrayList<>()));
+        when(jwtUserDetailsService.loadUserByUsername("other@example.com")).thenReturn(userDetails);
+
+        assertNull(authenticate(token));
+        assertNull(authenticate(token));
+
+        verify(jwtTokenUtil, times(2)).getAllClaimsFromToken(token);
+    }
+
+    @Test
+    void testMissingHeaderLeavesRequestUnauthenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(jwtUserDetailsService);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.achievesync.userservice.config;
+
+import com.achievesync.eventstore.ProtobufEventSerializer;
+import com.achievesync.userservice.event.ConsistencyPointsAwardedEvent;
+import com.achievesync.userservice.event.UserCreatedEvent;
+import com.achievesync.userservice.event.UserProfileUpdatedEvent;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtobufEventSerializerTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-15T10:15:30.123456Z");
+
+    private final JacksonSerializer jackson = JacksonSerializer.builder()
+        .objectMapper(Jackson2ObjectMapperBuilder.json().build())
+        .build();
+    private final ProtobufEventSerializer serializer = EventSerializerConfig.userEventSerializer(jackson, true);
+
+    @Test
+    void userEventsRoundTripThroughProtobuf() {
+        SerializedObject<byte[]> created = serializer.serialize(
+            new UserCreatedEvent("user1", "Jane", "jane@example.com", NOW, "hash", "Europe/Berlin"), byte[].class);
+        UserCreatedEvent readCreated = serializer.deserialize(created);
+        UserProfileUpdatedEvent readUpdated = serializer.deserialize(serializer.serialize(
+            new UserProfileUpdatedEvent("user1", "Jane Doe", "jane@example.com", NOW), byte[].class));
+
+        assertEquals(ProtobufEventSerializer.REVISION, created.getType().getRevision());
+        assertEquals("hash", readCreated.getPasswordHash());
+        assertEquals("Europe/Berlin", readCreated.getTimeZone());
+        assertEquals(NOW, readCreated.getCreatedAt());
+        assertEquals("Jane Doe", readUpdated.getName());
+        assertNull(readUpdated.getTimeZone());
+    }
+
+    @Test
+    void pointsAwardedRoundTripsAndShrinks() {
+        ConsistencyPointsAwardedEvent event = new ConsistencyPointsAwardedEvent(
+            "8d2e4f61-1b3a-4c5d-9e7f-0a1b2c3d4e5f", 10, 250, "7 day streak", NOW);
+
+        SerializedObject<byte[]> binary = serializer.serialize(event, byte[].class);
+        ConsistencyPointsAwardedEvent read = serializer.deserialize(binary);
+
+        assertEquals(10, read.getPointsAwarded());
+        assertEquals(250, read.getTotalPoints());
+        assertEquals("7 day streak", read.getReason());
+        assertEquals(NOW, read.getAwardedAt());
+        int json = jackson.serialize(event, byte[].class).getData().length;
+        assertTrue(binary.getData().length * 3 < json * 2,
+            "protobuf " + binary.getData().length + " bytes, JSON " + json + " bytes");
+    }
+
+    @Test
+    void eventsStoredAsJsonStillRead() {
+        SerializedObject<byte[]> stored = jackson.serialize(
+            new ConsistencyPointsAwardedEvent("user1", 5, 15, "streak", NOW), byte[].class);
+
+        ConsistencyPointsAwardedEvent read = serializer.deserialize(stored);
+
+        assertEquals(15, read.getTotalPoints());
+        assertEquals(NOW, read.getAwardedAt());
+    }
+}
\ No newline at end of file
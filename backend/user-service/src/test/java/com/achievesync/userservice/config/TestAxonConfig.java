@@ -5,8 +5,12 @@ import org.axonframework.eventsourcing.EventSourcingRepository;
 import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
 import org.axonframework.eventsourcing.eventstore.EventStore;
 import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.axonframework.messaging.annotation.ClasspathParameterResolverFactory;
+import org.axonframework.messaging.annotation.MultiParameterResolverFactory;
 import org.axonframework.modelling.command.Repository;
+import org.axonframework.spring.config.annotation.SpringBeanParameterResolverFactory;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 
@@ -22,9 +26,13 @@ public class TestAxonConfig {
     }
 
     @Bean
-    public Repository<UserAggregate> userAggregateRepository(EventStore eventStore) {
+    public Repository<UserAggregate> userAggregateRepository(EventStore eventStore,
+                                                            ApplicationContext applicationContext) {
         return EventSourcingRepository.builder(UserAggregate.class)
                 .eventStore(eventStore)
+                .parameterResolverFactory(MultiParameterResolverFactory.ordered(
+                    ClasspathParameterResolverFactory.forClass(UserAggregate.class),
+                    new SpringBeanParameterResolverFactory(applicationContext)))
                 .build();
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.achievesync.userservice.query.FindUserQuery;
 import com.achievesync.userservice.query.GetConsistencyPointsQuery;
 import com.achievesync.userservice.service.JwtTokenUtil;
 import com.achievesync.userservice.service.JwtUserDetailsService;
+import com.achievesync.userservice.service.PasswordHashingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.axonframework.queryhandling.QueryGateway;
@@ -48,8 +49,12 @@ class UserControllerTest {
     @MockBean
     private JwtTokenUtil jwtTokenUtil;
 
+    @MockBean
+    private PasswordHashingService passwordHashingService;
+
     @Test
     void testCreateUser() throws Exception {
+        when(passwordHashingService.hash("securePassword123")).thenReturn(CompletableFuture.completedFuture("hashed"));
         when(commandGateway.send(any())).thenReturn(CompletableFuture.completedFuture(null));
 
         UserController.CreateUserRequest request = new UserController.CreateUserRequest();
@@ -0,0 +1,224 @@
+package com.achievesync.userservice.grpc;
+
+import com.achievesync.grpc.UserServiceProto;
+import com.achievesync.grpc.UserServiceProto.GetLeaderboardRequest;
+import com.achievesync.grpc.UserServiceProto.GetPointsBatchRequest;
+import com.achievesync.grpc.UserServiceProto.GetUserRequest;
+import com.achievesync.grpc.UserServiceProto.GetUsersBatchRequest;
+import com.achievesync.grpc.UserServiceProto.LeaderboardResponse;
+import com.achievesync.grpc.UserServiceProto.PointsBatchResponse;
+import com.achievesync.grpc.UserServiceProto.RegisterUserRequest;
+import com.achievesync.grpc.UserServiceProto.UserResponse;
+import com.achievesync.grpc.UserServiceProto.UsersBatchResponse;
+import com.achievesync.userservice.TestDataFactory;
+import com.achievesync.userservice.command.CreateUserCommand;
+import com.achievesync.userservice.projection.LeaderboardEntry;
+import com.achievesync.userservice.projection.UserProjection;
+import com.achievesync.userservice.query.FindUserQuery;
+import com.achievesync.userservice.query.FindUsersByIdsQuery;
+import com.achievesync.userservice.query.GetConsistencyPointsBatchQuery;
+import com.achievesync.userservice.query.GetLeaderboardQuery;
+import com.achievesync.userservice.query.GetUserRankQuery;
+import com.achievesync.userservice.service.PasswordHashingService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.axonframework.messaging.responsetypes.ResponseType;
+import org.axonframework.queryhandling.QueryGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserGrpcServiceTest {
+
+    @Mock
+    private CommandGateway commandGateway;
+
+    @Mock
+    private QueryGateway queryGateway;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    private UserGrpcService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserGrpcService(commandGateway, queryGateway, passwordHashingService, 3);
+    }
+
+    @Test
+    void testGetUser() {
+        UserProjection user = TestDataFactory.userProjection("user123", "John Doe", "john@example.com");
+        when(queryGateway.query(any(FindUserQuery.class), eq(UserProjection.class)))
+            .thenReturn(CompletableFuture.completedFuture(user));
+
+        RecordingObserver<UserResponse> observer = new RecordingObserver<>();
+        service.getUser(GetUserRequest.newBuilder().setUserId("user123").build(), observer);
+
+        assertTrue(observer.completed);
+        assertEquals("user123", observer.values.get(0).getUserId());
+        assertEquals("john@example.com", observer.values.get(0).getEmail());
+    }
+
+    @Test
+    void testGetUser_NotFound() {
+        when(queryGateway.query(any(FindUserQuery.class), eq(UserProjection.class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        RecordingObserver<UserResponse> observer = new RecordingObserver<>();
+        service.getUser(GetUserRequest.newBuilder().setUserId("missing").build(), observer);
+
+        assertEquals(Status.Code.NOT_FOUND, ((StatusRuntimeException) observer.error).getStatus().getCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetUsersBatch_SingleQueryInRequestOrder() {
+        when(queryGateway.query(any(FindUsersByIdsQuery.class), any(ResponseType.class)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(
+                TestDataFactory.userProjection("user2", "Jane", "jane@example.com"),
+                TestDataFactory.userProjection("user1", "John", "john@example.com")
+            )));
+
+        RecordingObserver<UsersBatchResponse> observer = new RecordingObserver<>();
+        service.getUsersBatch(GetUsersBatchRequest.newBuilder()
+            .addUserIds("user1").addUserIds("missing").addUserIds("user2").addUserIds("user1")
+            .build(), observer);
+
+        verify(queryGateway, times(1)).query(
+            argThat((Object query) -> query instanceof FindUsersByIdsQuery
+                && ((FindUsersByIdsQuery) query).getUserIds().equals(List.of("user1", "missing", "user2"))),
+            any(ResponseType.class));
+        UsersBatchResponse response = observer.values.get(0);
+        assertEquals(List.of("user1", "user2"), response.getUsersList().stream().map(UserResponse::getUserId).toList());
+        assertEquals(List.of("missing"), response.getMissingUserIdsList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetConsistencyPointsBatch() {
+        when(queryGateway.query(any(GetConsistencyPointsBatchQuery.class), any(ResponseType.class)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(
+                TestDataFactory.consistencyPointsProjection("user1", 40),
+                TestDataFactory.consistencyPointsProjection("user2", 15)
+            )));
+
+        RecordingObserver<PointsBatchResponse> observer = new RecordingObserver<>();
+        service.getConsistencyPointsBatch(GetPointsBatchRequest.newBuilder()
+            .addUserIds("user1").addUserIds("user2").build(), observer);
+
+        PointsBatchResponse response = observer.values.get(0);
+        assertEquals(2, response.getPointsCount());
+        assertEquals(40, response.getPoints(0).getTotalPoints());
+        assertEquals(15, response.getPoints(1).getTotalPoints());
+    }
+
+    @Test
+    void testGetUsersBatch_RejectsOversizedBatch() {
+        RecordingObserver<UsersBatchResponse> observer = new RecordingObserver<>();
+        service.getUsersBatch(GetUsersBatchRequest.newBuilder()
+            .addUserIds("a").addUserIds("b").addUserIds("c").addUserIds("d")
+            .build(), observer);
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, ((StatusRuntimeException) observer.error).getStatus().getCode());
+        verifyNoInteractions(queryGateway);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetLeaderboard_DefaultLimit() {
+        when(queryGateway.query(any(GetLeaderboardQuery.class), any(ResponseType.class)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(
+                new LeaderboardEntry("user1", 40, 1),
+                new LeaderboardEntry("user2", 15, 2)
+            )));
+
+        RecordingObserver<LeaderboardResponse> observer = new RecordingObserver<>();
+        service.getLeaderboard(GetLeaderboardRequest.getDefaultInstance(), observer);
+
+        verify(queryGateway).query(argThat((Object query) -> query instanceof GetLeaderboardQuery
+            && ((GetLeaderboardQuery) query).getLimit() == GetLeaderboardQuery.DEFAULT_LIMIT), any(ResponseType.class));
+        LeaderboardResponse response = observer.values.get(0);
+        assertEquals(List.of("user1", "user2"),
+            response.getEntriesList().stream().map(UserServiceProto.LeaderboardEntry::getUserId).toList());
+        assertEquals(2, response.getEntries(1).getRank());
+    }
+
+    @Test
+    void testGetLeaderboard_RejectsLimitAboveMaximum() {
+        RecordingObserver<LeaderboardResponse> observer = new RecordingObserver<>();
+        service.getLeaderboard(GetLeaderboardRequest.newBuilder().setLimit(1_000).build(), observer);
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, ((StatusRuntimeException) observer.error).getStatus().getCode());
+        verifyNoInteractions(queryGateway);
+    }
+
+    @Test
+    void testGetUserRank_NotFound() {
+        when(queryGateway.query(any(GetUserRankQuery.class), eq(LeaderboardEntry.class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        RecordingObserver<UserServiceProto.LeaderboardEntry> observer = new RecordingObserver<>();
+        service.getUserRank(GetUserRequest.newBuilder().setUserId("missing").build(), observer);
+
+        assertEquals(Status.Code.NOT_FOUND, ((StatusRuntimeException) observer.error).getStatus().getCode());
+    }
+
+    @Test
+    void testRegisterUser_SendsHashedPassword() {
+        when(passwordHashingService.hash("secret")).thenReturn(CompletableFuture.completedFuture("hashed"));
+        when(commandGateway.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        RecordingObserver<UserResponse> observer = new RecordingObserver<>();
+        service.registerUser(RegisterUserRequest.newBuilder()
+            .setName("John Doe").setEmail("john@example.com").setPassword("secret").build(), observer);
+
+        verify(commandGateway).send(argThat((Object command) -> command instanceof CreateUserCommand
+            && "hashed".equals(((CreateUserCommand) command).getPasswordHash())));
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    void testRegisterUser_HashingQueueFull() {
+        when(passwordHashingService.hash("secret"))
+            .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("queue full")));
+
+        RecordingObserver<UserResponse> observer = new RecordingObserver<>();
+        service.registerUser(RegisterUserRequest.newBuilder()
+            .setName("John Doe").setEmail("john@example.com").setPassword("secret").build(), observer);
+
+        verifyNoInteractions(commandGateway);
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, ((StatusRuntimeException) observer.error).getStatus().getCode());
+    }
+
+    private static class RecordingObserver<T> implements StreamObserver<T> {
+        private final List<T> values = new ArrayList<>();
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onNext(T value) { values.add(value); }
+
+        @Override
+        public void onError(Throwable t) { error = t; }
+
+        @Override
+        public void onCompleted() { completed = true; }
+    }
+}
\ No newline at end of file
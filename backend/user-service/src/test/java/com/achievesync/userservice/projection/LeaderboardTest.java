@@ -0,0 +1,91 @@
+package com.achievesync.userservice.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    @Test
+    void topIsOrderedByPointsThenUserId() {
+        leaderboard.put("carol", 20);
+        leaderboard.put("alice", 50);
+        leaderboard.put("bob", 20);
+        leaderboard.put("dave", 5);
+
+        List<LeaderboardEntry> top = leaderboard.top(3);
+
+        assertEquals(List.of("alice", "bob", "carol"), top.stream().map(LeaderboardEntry::getUserId).toList());
+        assertEquals(List.of(1, 2, 2), top.stream().map(LeaderboardEntry::getRank).toList());
+    }
+
+    @Test
+    void equalTotalsShareARankAndTheNextRankSkips() {
+        leaderboard.put("alice", 50);
+        leaderboard.put("bob", 20);
+        leaderboard.put("carol", 20);
+        leaderboard.put("dave", 5);
+
+        assertEquals(2, leaderboard.rankOf("bob").getRank());
+        assertEquals(2, leaderboard.rankOf("carol").getRank());
+        assertEquals(4, leaderboard.rankOf("dave").getRank());
+        assertNull(leaderboard.rankOf("erin"));
+    }
+
+    @Test
+    void updatingAUserMovesItsEntry() {
+        leaderboard.put("alice", 50);
+        leaderboard.put("bob", 20);
+
+        leaderboard.put("bob", 70);
+
+        assertEquals(1, leaderboard.rankOf("bob").getRank());
+        assertEquals(70, leaderboard.rankOf("bob").getTotalPoints());
+        assertEquals(2, leaderboard.rankOf("alice").getRank());
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void topStopsAtTheBoardSize() {
+        leaderboard.put("alice", 50);
+
+        assertEquals(1, leaderboard.top(10).size());
+        assertTrue(new Leaderboard().top(10).isEmpty());
+    }
+
+    @Test
+    void ranksMatchAFullSortAfterManyUpdates() {
+        Random random = new Random(42);
+        Map<String, Integer> points = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            String userId = "user" + random.nextInt(1_000);
+            int total = random.nextInt(200);
+            points.put(userId, total);
+            leaderboard.put(userId, total);
+        }
+
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(points.entrySet());
+        sorted.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        List<LeaderboardEntry> top = leaderboard.top(sorted.size());
+
+        assertEquals(points.size(), leaderboard.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            String userId = sorted.get(i).getKey();
+            int total = sorted.get(i).getValue();
+            long expectedRank = points.values().stream().filter(other -> other > total).count() + 1;
+            assertEquals(userId, top.get(i).getUserId());
+            assertEquals(expectedRank, top.get(i).getRank());
+            assertEquals(expectedRank, leaderboard.rankOf(userId).getRank());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.achievesync.userservice.projection;
+
+import com.achievesync.eventstore.ProjectionChanges;
+import com.achievesync.userservice.aggregate.UserCredentials;
+import com.achievesync.userservice.aggregate.UserCredentialsRepository;
+import com.achievesync.userservice.event.ConsistencyPointsAwardedEvent;
+import com.achievesync.userservice.event.UserCreatedEvent;
+import com.achievesync.userservice.event.UserProfileUpdatedEvent;
+import com.achievesync.userservice.query.FindUserByEmailQuery;
+import com.achievesync.userservice.query.FindUserCredentialsQuery;
+import com.achievesync.userservice.query.FindUserQuery;
+import com.achievesync.userservice.query.FindUsersByIdsQuery;
+import com.achievesync.userservice.query.GetLeaderboardQuery;
+import com.achievesync.userservice.query.GetUserRankQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProjectionHandlerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ConsistencyPointsRepository consistencyPointsRepository;
+
+    @Mock
+    private UserCredentialsRepository credentialsRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserProjectionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new UserProjectionHandler(userRepository, consistencyPointsRepository, credentialsRepository,
+            new ProjectionChanges(null, meterRegistry, false), meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testFindUserByEmailIsCached() {
+        UserProjection user = user("user123", "test@example.com");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        UserProjection found = handler.handle(new FindUserByEmailQuery("test@example.com"));
+        assertEquals("user123", found.getUserId());
+        assertSame(found, handler.handle(new FindUserByEmailQuery("test@example.com")));
+
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userByEmailCache").tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    void testCachedLookupsLeaveOutThePasswordHash() {
+        UserProjection user = user("user123", "test@example.com");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(credentialsRepository.findById("user123")).thenReturn(Optional.of(new UserCredentials("user123", "hash")));
+
+        assertEquals("hash", handler.handle(new FindUserCredentialsQuery("test@example.com")).getPasswordHash());
+        assertNull(handler.handle(new FindUserByEmailQuery("test@example.com")).getPasswordHash());
+        assertNull(handler.handle(new FindUserQuery("user123")).getPasswordHash());
+        assertNull(user.getPasswordHash());
+    }
+
+    @Test
+    void testUserCreatedWithoutPasswordHash() {
+        handler.on(new UserCreatedEvent("user123", "New User", "new@example.com", Instant.now(), null));
+
+        verify(userRepository).save(any(UserProjection.class));
+        verifyNoInteractions(credentialsRepository);
+    }
+
+    @Test
+    void testUserCreatedByAnOldEventKeepsItsPasswordHash() {
+        when(credentialsRepository.existsById("user123")).thenReturn(false);
+
+        handler.on(new UserCreatedEvent("user123", "Old User", "old@example.com", Instant.now(), "hash"));
+
+        verify(credentialsRepository).save(argThat(credentials ->
+            credentials.getUserId().equals("user123") && credentials.getPasswordHash().equals("hash")));
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        when(userRepository.findById("missing")).thenReturn(Optional.empty());
+
+        assertNull(handler.handle(new FindUserQuery("missing")));
+        assertNull(handler.handle(new FindUserQuery("missing")));
+
+        verify(userRepository, times(2)).findById("missing");
+    }
+
+    @Test
+    void testProfileUpdateEvictsOldAndNewEmail() {
+        UserProjection before = user("user123", "old@example.com");
+        when(userRepository.findByEmail("old@example.com")).thenReturn(Optional.of(before));
+        when(userRepository.findById("user123")).thenReturn(Optional.of(before));
+        handler.handle(new FindUserByEmailQuery("old@example.com"));
+        handler.handle(new FindUserQuery("user123"));
+
+        handler.on(new UserProfileUpdatedEvent("user123", "Renamed", "new@example.com", Instant.now()));
+
+        when(userRepository.findByEmail("old@example.com")).thenReturn(Optional.empty());
+        assertNull(handler.handle(new FindUserByEmailQuery("old@example.com")));
+        assertEquals("new@example.com", handler.handle(new FindUserQuery("user123")).getEmail());
+        verify(userRepository, times(2)).findByEmail("old@example.com");
+    }
+
+    @Test
+    void testEvictionDuringLoadKeepsStaleRowOut() {
+        UserProjection stale = user("user123", "old@example.com");
+        when(userRepository.findById("user123")).thenAnswer(invocation -> {
+            // The profile update commits while this lookup is still reading the old row
+            handler.on(new UserProfileUpdatedEvent("user123", "Renamed", "new@example.com", Instant.now()));
+            return Optional.of(stale);
+        }).thenReturn(Optional.of(user("user123", "new@example.com")));
+
+        assertEquals("old@example.com", handler.handle(new FindUserQuery("user123")).getEmail());
+        assertEquals("new@example.com", handler.handle(new FindUserQuery("user123")).getEmail());
+    }
+
+    @Test
+    void testUpdateHandledByAnotherInstanceEvictsThisOne() {
+        // Both instances receive each committed change, as they would through Postgres
+        ProjectionChanges changes = new ProjectionChanges(null, meterRegistry, false);
+        UserProjectionHandler thisInstance = new UserProjectionHandler(userRepository, consistencyPointsRepository, credentialsRepository,
+            changes, meterRegistry, 100, Duration.ofMinutes(10));
+        UserProjectionHandler otherInstance = new UserProjectionHandler(userRepository, consistencyPointsRepository, credentialsRepository,
+            changes, meterRegistry, 100, Duration.ofMinutes(10));
+        when(userRepository.findById("user123")).thenReturn(Optional.of(user("user123", "old@example.com")));
+        thisInstance.handle(new FindUserQuery("user123"));
+
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        otherInstance.on(new UserProfileUpdatedEvent("user123", "Renamed", "new@example.com", Instant.now()));
+        when(userRepository.findById("user123")).thenReturn(Optional.of(user("user123", "new@example.com")));
+        assertEquals("old@example.com", thisInstance.handle(new FindUserQuery("user123")).getEmail());
+
+        unitOfWork.commit();
+        assertEquals("new@example.com", thisInstance.handle(new FindUserQuery("user123")).getEmail());
+    }
+
+    @Test
+    void testFindUsersByIdsOnlyLoadsMisses() {
+        UserProjection cached = user("user1", "one@example.com");
+        UserProjection loaded = user("user2", "two@example.com");
+        when(userRepository.findById("user1")).thenReturn(Optional.of(cached));
+        handler.handle(new FindUserQuery("user1"));
+        when(userRepository.findAllById(argThat(ids -> Set.copyOf((List<String>) ids).equals(Set.of("user2", "user3")))))
+            .thenReturn(List.of(loaded));
+
+        List<UserProjection> users = handler.handle(new FindUsersByIdsQuery(List.of("user1", "user2", "user3")));
+
+        assertEquals(2, users.size());
+        assertEquals(Set.of("user1", "user2"),
+            users.stream().map(UserProjection::getUserId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testLeaderboardIsRebuiltFromTheTableAndFollowsAwards() {
+        when(consistencyPointsRepository.findPageAfter(eq(""), any())).thenReturn(List.of(
+            new ConsistencyPointsProjection("user1", 30, Instant.now()),
+            new ConsistencyPointsProjection("user2", 10, Instant.now())));
+        handler.rebuildLeaderboard();
+
+        handler.on(new UserCreatedEvent("user3", "New User", "new@example.com", Instant.now(), "hash"));
+        when(consistencyPointsRepository.findById("user2"))
+            .thenReturn(Optional.of(new ConsistencyPointsProjection("user2", 10, Instant.now())));
+        handler.on(new ConsistencyPointsAwardedEvent("user2", 40, 50, "streak", Instant.now()));
+
+        List<LeaderboardEntry> top = handler.handle(new GetLeaderboardQuery(3));
+        assertEquals(List.of("user2", "user1", "user3"), top.stream().map(LeaderboardEntry::getUserId).toList());
+        assertEquals(3, handler.handle(new GetUserRankQuery("user3")).getRank());
+        assertNull(handler.handle(new GetUserRankQuery("missing")));
+    }
+
+    @Test
+    void testAwardHandledByAnotherInstanceMovesThisOnesBoard() {
+        ProjectionChanges changes = new ProjectionChanges(null, meterRegistry, false);
+        UserProjectionHandler thisInstance = new UserProjectionHandler(userRepository, consistencyPointsRepository, credentialsRepository,
+            changes, meterRegistry, 100, Duration.ofMinutes(10));
+        UserProjectionHandler otherInstance = new UserProjectionHandler(userRepository, consistencyPointsRepository, credentialsRepository,
+            changes, meterRegistry, 100, Duration.ofMinutes(10));
+        otherInstance.on(new UserCreatedEvent("user1", "First", "first@example.com", Instant.now(), "hash"));
+        otherInstance.on(new UserCreatedEvent("user2", "Second", "second@example.com", Instant.now(), "hash"));
+        when(consistencyPointsRepository.findById("user2"))
+            .thenReturn(Optional.of(new ConsistencyPointsProjection("user2", 0, Instant.now())));
+
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        otherInstance.on(new ConsistencyPointsAwardedEvent("user2", 25, 25, "streak", Instant.now()));
+        assertEquals(1, thisInstance.handle(new GetUserRankQuery("user2")).getRank());
+        assertEquals(0, thisInstance.handle(new GetUserRankQuery("user2")).getTotalPoints());
+
+        unitOfWork.commit();
+        assertEquals(List.of("user2", "user1"), thisInstance.handle(new GetLeaderboardQuery(2)).stream()
+            .map(LeaderboardEntry::getUserId).toList());
+        assertEquals(2, thisInstance.handle(new GetUserRankQuery("user1")).getRank());
+    }
+
+    @Test
+    void testResetClearsTablesBoardAndCaches() {
+        UserProjection user = user("user123", "test@example.com");
+        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        handler.handle(new FindUserQuery("user123"));
+        handler.on(new UserCreatedEvent("user456", "New User", "new@example.com", Instant.now(), "hash"));
+
+        handler.reset();
+
+        verify(consistencyPointsRepository).deleteAllInBatch();
+        verify(userRepository).deleteAllInBatch();
+        assertNull(handler.handle(new GetUserRankQuery("user456")));
+        handler.handle(new FindUserQuery("user123"));
+        verify(userRepository, times(2)).findById("user123");
+    }
+
+    @Test
+    void testLeaderboardLimitIsBounded() {
+        assertThrows(IllegalArgumentException.class, () -> new GetLeaderboardQuery(0));
+        assertThrows(IllegalArgumentException.class, () -> new GetLeaderboardQuery(GetLeaderboardQuery.MAX_LIMIT + 1));
+    }
+
+    private static UserProjection user(String userId, String email) {
+        return new UserProjection(userId, "Test User", email, Instant.now());
+    }
+}
\ No newline at end of file
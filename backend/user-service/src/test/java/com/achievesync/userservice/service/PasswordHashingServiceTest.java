@@ -0,0 +1,81 @@
+package com.achievesync.userservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHashingServiceTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testHashRunsOnHashingPool() {
+        when(passwordEncoder.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+
+        String hash = service.hash("secret").join();
+
+        assertTrue(hash.startsWith("password-hashing-"));
+    }
+
+    @Test
+    void testMatchesDelegatesToEncoder() {
+        when(passwordEncoder.matches("secret", "hashed")).thenReturn(true);
+
+        assertTrue(service.matches("secret", "hashed").join());
+    }
+
+    @Test
+    void testFullQueueFailsFast() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hashed";
+        });
+
+        CompletableFuture<String> running = service.hash("first");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = service.hash("second");
+        CompletableFuture<String> rejected = service.hash("third");
+
+        assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value());
+        CompletionException error = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+
+        release.countDown();
+        assertEquals("hashed", running.join());
+        assertEquals("hashed", queued.join());
+    }
+}
\ No newline at end of file
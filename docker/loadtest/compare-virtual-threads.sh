@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Runs virtual-threads.js against the compose stack twice, once with platform threads and
+# once with spring.threads.virtual.enabled, both on the same Java 21 image, then prints
+# throughput and p99 latency for each mode.
+#
+#   ./compare-virtual-threads.sh            # VUS, DURATION and SIGNUP_RATE pass through to k6
+set -euo pipefail
+
+cd "$(dirname "$0")"
+RESULTS="$PWD/results"
+mkdir -p "$RESULTS"
+export JAVA_IMAGE="${JAVA_IMAGE:-eclipse-temurin:21-jre}"
+
+wait_for() {
+  for _ in $(seq 1 90); do
+    if [ "$(curl -s -o /dev/null -w '%{http_code}' "$1")" != "000" ]; then
+      return 0
+    fi
+    sleep 2
+  done
+  echo "Timed out waiting for $1" >&2
+  exit 1
+}
+
+for mode in false true; do
+  echo "== spring.threads.virtual.enabled=$mode =="
+  VIRTUAL_THREADS=$mode docker compose -f ../docker-compose.yml up -d --build postgres user-service goal-service
+  wait_for http://localhost:8082/actuator/health
+  wait_for http://localhost:8081/api/users
+  docker run --rm --network host -v "$PWD:/scripts" \
+    -e VUS -e DURATION -e SIGNUP_RATE \
+    grafana/k6 run --summary-export "/scripts/results/virtual-$mode.json" /scripts/virtual-threads.js
+  docker compose -f ../docker-compose.yml stop user-service goal-service
+done
+
+printf '\n%-10s %12s %12s %12s\n' "virtual" "req/s" "p99 (ms)" "failed"
+for mode in false true; do
+  jq -r --arg mode "$mode" '[$mode,
+      (.metrics.http_reqs.rate | floor),
+      (.metrics.http_req_duration["p(99)"] | . * 10 | floor / 10),
+      (.metrics.http_req_failed.value * 100 | floor | tostring + "%")] | @tsv' \
+    "$RESULTS/virtual-$mode.json" | awk -F'\t' '{ printf "%-10s %12s %12s %12s\n", $1, $2, $3, $4 }'
+done
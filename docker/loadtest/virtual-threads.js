@@ -0,0 +1,77 @@
+// Load profile for comparing platform-thread and virtual-thread mode; run it through
+// compare-virtual-threads.sh so both modes see the same JVM, data and load.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const GOALS = __ENV.GOALS_URL || 'http://localhost:8082/api/goals';
+const USERS = __ENV.USERS_URL || 'http://localhost:8081/api/users';
+const USER_COUNT = 50;
+const GOALS_PER_USER = 5;
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+  summaryTrendStats: ['avg', 'p(95)', 'p(99)', 'max'],
+  scenarios: {
+    // Closed model: as many requests as the service can answer with VUS callers in flight
+    goals: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 400),
+      duration: __ENV.DURATION || '2m',
+      exec: 'goals',
+    },
+    // A steady trickle of signups so BCrypt work competes with the reads
+    signups: {
+      executor: 'constant-arrival-rate',
+      rate: Number(__ENV.SIGNUP_RATE || 20),
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '2m',
+      preAllocatedVUs: 50,
+      exec: 'signup',
+    },
+  },
+};
+
+export function setup() {
+  const targetDate = new Date(Date.now() + 30 * 86400000).toISOString().slice(0, 10);
+  const users = [];
+  for (let u = 0; u < USER_COUNT; u++) {
+    const userId = `loadtest-user-${u}`;
+    const goalIds = [];
+    for (let g = 0; g < GOALS_PER_USER; g++) {
+      const res = http.post(GOALS, JSON.stringify({
+        userId, description: `Load test goal ${g}`, targetDate,
+      }), JSON_HEADERS);
+      if (res.status === 201 || res.status === 200) {
+        goalIds.push(res.body);
+      }
+    }
+    users.push({ userId, goalIds });
+  }
+  return { users };
+}
+
+// 70% goal listings, 20% progress history, 10% progress writes
+export function goals(data) {
+  const user = data.users[Math.floor(Math.random() * data.users.length)];
+  const goalId = user.goalIds[Math.floor(Math.random() * user.goalIds.length)];
+  const roll = Math.random();
+  let res;
+  if (roll < 0.7) {
+    res = http.get(`${GOALS}/user/${user.userId}?limit=50`, { tags: { name: 'listGoals' } });
+  } else if (roll < 0.9) {
+    res = http.get(`${GOALS}/${goalId}/progress?days=30`, { tags: { name: 'progressHistory' } });
+  } else {
+    res = http.put(`${GOALS}/${goalId}/progress`, JSON.stringify({
+      progressPercentage: Math.floor(Math.random() * 90), notes: 'load test',
+    }), Object.assign({ tags: { name: 'updateProgress' } }, JSON_HEADERS));
+  }
+  check(res, { 'status is 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
+
+export function signup() {
+  const id = `${__VU}-${__ITER}-${Date.now()}`;
+  const res = http.post(USERS, JSON.stringify({
+    name: `Load Test ${id}`, email: `loadtest-${id}@example.com`, password: 'LoadTest123!',
+  }), Object.assign({ tags: { name: 'signup' } }, JSON_HEADERS));
+  check(res, { 'signup accepted': (r) => r.status === 201 || r.status === 503 });
+}
@@ -1,3 +1,4 @@
+import 'dart:async';
 import 'package:flutter/material.dart';
 import '../models/goal.dart';
 import '../services/api_service.dart';
@@ -8,6 +9,8 @@ class GoalProvider with ChangeNotifier {
   List<Goal> _goals = [];
   Goal? _selectedGoal;
   bool _isLoading = false;
+  StreamSubscription<List<Goal>>? _goalStream;
+  String? _streamedUserId;
 
   List<Goal> get goals => _goals;
   Goal? get selectedGoal => _selectedGoal;
@@ -19,7 +22,34 @@ class GoalProvider with ChangeNotifier {
   List<Goal> get completedGoals => _goals.where((goal) => 
     goal.status == GoalStatus.completed).toList();
 
+  // Subscribes to the user's live goal stream, so changes made anywhere show up without
+  // reloading. Falls back to a one-shot fetch if the stream cannot be opened.
   Future<void> loadUserGoals(String userId) async {
+    if (_goalStream != null && _streamedUserId == userId) {
+      return;
+    }
+    await _goalStream?.cancel();
+    _streamedUserId = userId;
+    _isLoading = true;
+    notifyListeners();
+
+    _goalStream = _apiService.watchUserGoals(userId).listen(
+      (goals) {
+        _goals = goals;
+        _isLoading = false;
+        notifyListeners();
+      },
+      onError: (e) async {
+        print('Error streaming goals: $e');
+        _goalStream = null;
+        await _fetchUserGoals(userId);
+      },
+      // The server closes streams after a while; the next load reconnects
+      onDone: () => _goalStream = null,
+    );
+  }
+
+  Future<void> _fetchUserGoals(String userId) async {
     _isLoading = true;
     notifyListeners();
 
@@ -103,4 +133,10 @@ class GoalProvider with ChangeNotifier {
       return false;
     }
   }
+
+  @override
+  void dispose() {
+    _goalStream?.cancel();
+    super.dispose();
+  }
 }
\ No newline at end of file
@@ -1,3 +1,4 @@
+import 'dart:async';
 import 'dart:convert';
 import 'package:http/http.dart' as http;
 import '../models/user.dart';
@@ -93,6 +94,49 @@ class ApiService {
     }
   }
 
+  // Live goal list: the server sends a "goals" snapshot, then one "goal" event per change.
+  // Each event yields the whole merged list; the stream ends when the server closes it.
+  Stream<List<Goal>> watchUserGoals(String userId) async* {
+    final client = http.Client();
+    try {
+      final request = http.Request('GET', Uri.parse('$baseGoalUrl/goals/user/$userId/stream'));
+      request.headers['Accept'] = 'text/event-stream';
+      final response = await client.send(request);
+      if (response.statusCode != 200) {
+        throw http.ClientException('Goal stream failed: ${response.statusCode}', request.url);
+      }
+
+      final goals = <String, Map<String, dynamic>>{};
+      String? event;
+      final data = StringBuffer();
+      await for (final line in response.stream.transform(utf8.decoder).transform(const LineSplitter())) {
+        if (line.startsWith('event:')) {
+          event = line.substring(6).trim();
+        } else if (line.startsWith('data:')) {
+          data.write(line.substring(5).trim());
+        } else if (line.isEmpty && data.isNotEmpty) {
+          final payload = json.decode(data.toString());
+          if (event == 'goals') {
+            goals.clear();
+            for (final goal in payload as List<dynamic>) {
+              goals[goal['goalId']] = Map<String, dynamic>.from(goal);
+            }
+          } else if (event == 'goal') {
+            final update = Map<String, dynamic>.from(payload);
+            // Updates leave tags out unless they changed
+            update['tags'] ??= goals[update['goalId']]?['tags'] ?? <dynamic>[];
+            goals[update['goalId']] = update;
+          }
+          event = null;
+          data.clear();
+          yield goals.values.map((json) => Goal.fromJson(json)).toList();
+        }
+      }
+    } finally {
+      client.close();
+    }
+  }
+
   Future<Goal?> getGoal(String goalId) async {
     try {
       final response = await http.get(
@@ -49,5 +49,6 @@ class ConfigService {
   // API Configuration
   int get apiTimeout => 30000; // 30 seconds
   int get maxRetries => 3;
+  int get bulkProgressMaxEntries => 500; // matches achievesync.bulk-progress.max-entries
   Duration get retryDelay => const Duration(seconds: 2);
 }
\ No newline at end of file
@@ -363,7 +363,20 @@ class EnhancedApiService {
     final actions = await _storage.getOfflineActions();
     if (actions.isEmpty) return;
 
+    // Consecutive progress updates are sent together in bulk requests; the batch is
+    // flushed before any other action so the server sees everything in queue order
+    final pendingProgress = <Map<String, dynamic>>[];
+    final unapplied = <Map<String, dynamic>>[];
+
     for (final action in actions) {
+      if (action['type'] == 'update_goal_progress') {
+        pendingProgress.add(action);
+        continue;
+      }
+
+      unapplied.addAll(await _syncProgressBatch(pendingProgress));
+      pendingProgress.clear();
+
       try {
         switch (action['type']) {
           case 'create_user':
@@ -380,14 +393,6 @@ class EnhancedApiService {
               tags: data['tags']?.cast<String>(),
             );
             break;
-          case 'update_goal_progress':
-            final data = action['data'];
-            await updateGoalProgress(
-              action['goalId'],
-              data['progressPercentage'],
-              data['notes'],
-            );
-            break;
           case 'complete_goal':
             await completeGoal(action['goalId']);
             break;
@@ -399,7 +404,60 @@ class EnhancedApiService {
       }
     }
 
-    await _storage.clearOfflineActions();
+    unapplied.addAll(await _syncProgressBatch(pendingProgress));
+
+    // Keep what the server did not apply, followed by anything queued while syncing
+    final latest = await _storage.getOfflineActions();
+    await _storage.saveOfflineActions([...unapplied, ...latest.skip(actions.length)]);
+  }
+
+  // Sends the progress actions in chunks the server accepts and returns the ones that were
+  // not applied: whole chunks that failed, and entries the server reports as retryable
+  Future<List<Map<String, dynamic>>> _syncProgressBatch(List<Map<String, dynamic>> actions) async {
+    final unapplied = <Map<String, dynamic>>[];
+    final chunkSize = _config.bulkProgressMaxEntries;
+
+    for (var start = 0; start < actions.length; start += chunkSize) {
+      final end = start + chunkSize < actions.length ? start + chunkSize : actions.length;
+      final chunk = actions.sublist(start, end);
+
+      try {
+        final response = await _makeRequest(
+          'POST',
+          '${_config.goalServiceUrl}/goals/progress/bulk',
+          body: {
+            'entries': chunk.map((action) => {
+              'goalId': action['goalId'],
+              'progressPercentage': action['data']['progressPercentage'],
+              'notes': action['data']['notes'],
+              // Queued timestamps are local time without an offset; the server wants an instant
+              'recordedAt': DateTime.parse(action['timestamp']).toUtc().toIso8601String(),
+            }).toList(),
+          },
+        );
+
+        if (response.statusCode != 200) {
+          unapplied.addAll(chunk);
+          continue;
+        }
+
+        final List<dynamic> results = json.decode(response.body);
+        for (final result in results.where((result) => result['success'] != true)) {
+          if (result['retryable'] == true) {
+            unapplied.add(chunk[result['index']]);
+          }
+          if (_config.enableDebugLogging) {
+            print('Progress update for goal ${result['goalId']} was rejected: ${result['error']}');
+          }
+        }
+      } catch (e) {
+        unapplied.addAll(chunk);
+        if (_config.enableDebugLogging) {
+          print('Error syncing offline progress: $e');
+        }
+      }
+    }
+    return unapplied;
   }
 }
 
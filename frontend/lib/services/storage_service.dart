@@ -89,7 +89,7 @@ class StorageService {
   Future<void> addOfflineAction(Map<String, dynamic> action) async {
     final actions = await getOfflineActions();
     actions.add(action);
-    await _saveOfflineActions(actions);
+    await saveOfflineActions(actions);
   }
 
   Future<List<Map<String, dynamic>>> getOfflineActions() async {
@@ -102,7 +102,7 @@ class StorageService {
     return [];
   }
 
-  Future<void> _saveOfflineActions(List<Map<String, dynamic>> actions) async {
+  Future<void> saveOfflineActions(List<Map<String, dynamic>> actions) async {
     final p = await prefs;
     await p.setString(_offlineActionsKey, json.encode(actions));
   }